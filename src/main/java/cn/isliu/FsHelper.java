@@ -14,10 +14,10 @@ import cn.isliu.core.enums.ErrorCode;
 import cn.isliu.core.enums.FileType;
 import cn.isliu.core.logging.FsLogger;
 import cn.isliu.core.pojo.FieldProperty;
+import cn.isliu.core.pojo.TableSchema;
 import cn.isliu.core.service.CustomCellService;
 import cn.isliu.core.service.CustomValueService;
 import cn.isliu.core.utils.*;
-import com.google.gson.JsonObject;
 
 import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -47,23 +47,24 @@ public class FsHelper {
      * @return 创建成功返回工作表ID
      */
     public static <T> String create(String sheetName, String spreadsheetToken, Class<T> clazz) {
-        Map<String, FieldProperty> fieldsMap = PropertyUtil.getTablePropertyFieldsMap(clazz);
-        List<String> headers = PropertyUtil.getHeaders(fieldsMap);
+        TableSchema tableSchema = PropertyUtil.getTableSchema(clazz);
+        Map<String, FieldProperty> fieldsMap = tableSchema.getFieldsMap();
+        List<String> headers = tableSchema.getHeaders();
 
-        TableConf tableConf = PropertyUtil.getTableConf(clazz);
+        TableConf tableConf = tableSchema.getTableConf();
 
         FeishuClient client = FsClient.getInstance().getClient();
         // 1、创建sheet
         String sheetId = FsApiUtil.createSheet(sheetName, client, spreadsheetToken);
 
         // 2 添加表头数据
-        FsApiUtil.putValues(spreadsheetToken, FsTableUtil.getHeadTemplateBuilder(sheetId, headers, fieldsMap, tableConf), client);
+        FsApiUtil.putValues(spreadsheetToken, FsTableUtil.getHeadTemplateBuilder(sheetId, headers, fieldsMap, tableSchema.getMaxLevel(), tableConf, null), client);
 
         // 3 设置表格样式
-        FsApiUtil.setTableStyle(FsTableUtil.getDefaultTableStyle(sheetId, fieldsMap, tableConf), client, spreadsheetToken);
+        FsApiUtil.setTableStyle(FsTableUtil.getDefaultTableStyle(sheetId, fieldsMap, tableSchema.getMaxLevel(), tableConf), client, spreadsheetToken);
 
         // 4 合并单元格
-        List<CustomCellService.CellRequest> mergeCell = FsTableUtil.getMergeCell(sheetId, fieldsMap);
+        List<CustomCellService.CellRequest> mergeCell = FsTableUtil.getMergeCell(sheetId, fieldsMap, tableSchema.getMaxLevel());
         if (!mergeCell.isEmpty()) {
             mergeCell.forEach(cell ->  FsApiUtil.mergeCells(cell, client, spreadsheetToken));
         }
@@ -76,7 +77,7 @@ public class FsHelper {
 
         try {
             // 5 设置表格下拉
-            FsTableUtil.setTableOptions(spreadsheetToken, headers, fieldsMap, sheetId, tableConf.enableDesc());
+            FsTableUtil.setTableOptions(spreadsheetToken, headers, fieldsMap, tableSchema.getMaxLevel(), sheetId, tableConf.enableDesc(), null);
         } catch (Exception e) {
             Logger.getLogger(SheetBuilder.class.getName()).log(Level.SEVERE,"【表格构建器】设置表格下拉异常！sheetId:" + sheetId + ", 错误信息：{}", e.getMessage());
         }
@@ -192,33 +193,38 @@ public class FsHelper {
      * @return 映射后的实体类对象列表
      */
     public static <T> List<T> read(String sheetId, String spreadsheetToken, Class<T> clazz) {
-        List<T> results = new ArrayList<>();
         FeishuClient client = FsClient.getInstance().getClient();
         Sheet sheet = FsApiUtil.getSheetMetadata(sheetId, client, spreadsheetToken);
-        TableConf tableConf = PropertyUtil.getTableConf(clazz);
+        TableSchema tableSchema = PropertyUtil.getTableSchema(clazz);
+        TableConf tableConf = tableSchema.getTableConf();
 
-        Map<String, FieldProperty> fieldsMap = PropertyUtil.getTablePropertyFieldsMap(clazz);
-        List<FsTableData> fsTableDataList = FsTableUtil.getFsTableData(sheet, spreadsheetToken, tableConf, fieldsMap);
+        Map<String, FieldProperty> fieldsMap = tableSchema.getFieldsMap();
+        List<FsTableData> fsTableDataList = FsTableUtil.getFsTableData(sheet, spreadsheetToken, tableConf, new ArrayList<>(), tableSchema.getUniKeyNames());
 
-        List<String> fieldPathList = fieldsMap.values().stream().map(FieldProperty::getField).collect(Collectors.toList());
+        List<String> fieldPathList = tableSchema.getFieldPaths();
 
+        List<FsTableData> tableDataList = new ArrayList<>();
+        List<Map<String, Object>> rows = new ArrayList<>();
         fsTableDataList.forEach(tableData -> {
             Object data = tableData.getData();
             if (data instanceof HashMap) {
-                Map<String, Object> rowData = (HashMap<String, Object>) data;
-                JsonObject jsonObject = JSONUtil.convertMapToJsonObject(rowData);
-                Map<String, Object> dataMap = ConvertFieldUtil.convertPositionToField(jsonObject, fieldsMap);
-                T t = GenerateUtil.generateInstance(fieldPathList, clazz, dataMap);
-                if (t instanceof BaseEntity) {
-                    BaseEntity baseEntity = (BaseEntity) t;
-                    baseEntity.setUniqueId(tableData.getUniqueId());
-                    baseEntity.setRow(tableData.getRow());
-                    baseEntity.setRowData(rowData);
-                }
-                results.add(t);
+                tableDataList.add(tableData);
+                rows.add((HashMap<String, Object>) data);
             }
         });
-        return  results;
+
+        List<T> results = GenerateUtil.generateInstances(fieldPathList, clazz, rows, fieldsMap);
+        for (int i = 0; i < results.size(); i++) {
+            T t = results.get(i);
+            if (t instanceof BaseEntity) {
+                FsTableData tableData = tableDataList.get(i);
+                BaseEntity baseEntity = (BaseEntity) t;
+                baseEntity.setUniqueId(tableData.getUniqueId());
+                baseEntity.setRow(tableData.getRow());
+                baseEntity.setRowData(rows.get(i));
+            }
+        }
+        return results;
     }
 
     /**
@@ -254,12 +260,13 @@ public class FsHelper {
         }
 
         Class<?> aClass = dataList.get(0).getClass();
-        Map<String, FieldProperty> fieldsMap = PropertyUtil.getTablePropertyFieldsMap(aClass);
-        TableConf tableConf = PropertyUtil.getTableConf(aClass);
+        TableSchema tableSchema = PropertyUtil.getTableSchema(aClass);
+        Map<String, FieldProperty> fieldsMap = tableSchema.getFieldsMap();
+        TableConf tableConf = tableSchema.getTableConf();
 
         FeishuClient client = FsClient.getInstance().getClient();
         Sheet sheet = FsApiUtil.getSheetMetadata(sheetId, client, spreadsheetToken);
-        List<FsTableData> fsTableDataList = FsTableUtil.getFsTableData(sheet, spreadsheetToken, tableConf, fieldsMap);
+        List<FsTableData> fsTableDataList = FsTableUtil.getFsTableData(sheet, spreadsheetToken, tableConf, new ArrayList<>(), tableSchema.getUniKeyNames());
 
         Map<String, Integer> currTableRowMap = fsTableDataList.stream()
                 .collect(Collectors.toMap(
@@ -318,7 +325,7 @@ public class FsHelper {
                     }
 
                     if (tableConf.enableCover() || fieldValue != null) {
-                        resultValuesBuilder.addRange(sheetId, position + rowNum.get(), position + rowNum.get())
+                        resultValuesBuilder.addRange(CellRefUtil.range(sheetId, position, rowNum.get()))
                                 .addRow(GenerateUtil.getRowData(fieldValue));
                     }
                 });
@@ -340,7 +347,7 @@ public class FsHelper {
                     }
 
                     if (tableConf.enableCover() || fieldValue != null) {
-                        resultValuesBuilder.addRange(sheetId, position + rowCou, position + rowCou)
+                        resultValuesBuilder.addRange(CellRefUtil.range(sheetId, position, rowCou))
                                 .addRow(GenerateUtil.getRowData(fieldValue));
                     }
                 });
@@ -0,0 +1,164 @@
+package cn.isliu.core;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link ValueRange} 的 JSON 读写
+ *
+ * 直接从 JsonReader 读取单元格，不经过反射和中间 JsonElement。
+ * 单元格的取值与 Gson 默认的 Object 解析一致：数字为 Double，对象为 Map，数组为 List。
+ */
+public class ValueRangeTypeAdapter extends TypeAdapter<ValueRange> {
+
+    @Override
+    public ValueRange read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        ValueRange valueRange = new ValueRange();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "majorDimension":
+                    valueRange.setMajorDimension(in.nextString());
+                    break;
+                case "range":
+                    valueRange.setRange(in.nextString());
+                    break;
+                case "revision":
+                    valueRange.setRevision(in.nextInt());
+                    break;
+                case "values":
+                    valueRange.setValues(readRows(in));
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return valueRange;
+    }
+
+    @Override
+    public void write(JsonWriter out, ValueRange value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("majorDimension").value(value.getMajorDimension());
+        out.name("range").value(value.getRange());
+        out.name("revision").value(value.getRevision());
+        out.name("values");
+        writeRows(out, value.getValues());
+        out.endObject();
+    }
+
+    private static List<List<Object>> readRows(JsonReader in) throws IOException {
+        List<List<Object>> rows = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                rows.add(null);
+                continue;
+            }
+            List<Object> row = new ArrayList<>();
+            in.beginArray();
+            while (in.hasNext()) {
+                row.add(readCell(in));
+            }
+            in.endArray();
+            rows.add(row);
+        }
+        in.endArray();
+        return rows;
+    }
+
+    private static Object readCell(JsonReader in) throws IOException {
+        switch (in.peek()) {
+            case STRING:
+                return in.nextString();
+            case NUMBER:
+                return in.nextDouble();
+            case BOOLEAN:
+                return in.nextBoolean();
+            case NULL:
+                in.nextNull();
+                return null;
+            case BEGIN_ARRAY:
+                List<Object> list = new ArrayList<>();
+                in.beginArray();
+                while (in.hasNext()) {
+                    list.add(readCell(in));
+                }
+                in.endArray();
+                return list;
+            case BEGIN_OBJECT:
+                Map<String, Object> map = new LinkedHashMap<>();
+                in.beginObject();
+                while (in.hasNext()) {
+                    map.put(in.nextName(), readCell(in));
+                }
+                in.endObject();
+                return map;
+            default:
+                throw new IllegalStateException("Unexpected token: " + in.peek());
+        }
+    }
+
+    private static void writeRows(JsonWriter out, List<List<Object>> rows) throws IOException {
+        if (rows == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginArray();
+        for (List<Object> row : rows) {
+            writeCell(out, row);
+        }
+        out.endArray();
+    }
+
+    private static void writeCell(JsonWriter out, Object value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+        } else if (value instanceof String) {
+            out.value((String) value);
+        } else if (value instanceof Number) {
+            out.value((Number) value);
+        } else if (value instanceof Boolean) {
+            out.value((Boolean) value);
+        } else if (value instanceof List) {
+            out.beginArray();
+            for (Object item : (List<?>) value) {
+                writeCell(out, item);
+            }
+            out.endArray();
+        } else if (value instanceof Map) {
+            out.beginObject();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                out.name(String.valueOf(entry.getKey()));
+                writeCell(out, entry.getValue());
+            }
+            out.endObject();
+        } else {
+            out.value(String.valueOf(value));
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package cn.isliu.core;
 
+import com.google.gson.annotations.JsonAdapter;
+
 import java.util.List;
 import java.util.Objects;
 
+@JsonAdapter(ValuesBatchTypeAdapter.class)
 public class ValuesBatch {
     private int revision;
     private String spreadsheetToken;
@@ -0,0 +1,83 @@
+package cn.isliu.core;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link ValuesBatch} 的 JSON 读写，各范围的数据交给 {@link ValueRangeTypeAdapter} 处理
+ */
+public class ValuesBatchTypeAdapter extends TypeAdapter<ValuesBatch> {
+
+    private final ValueRangeTypeAdapter valueRangeAdapter = new ValueRangeTypeAdapter();
+
+    @Override
+    public ValuesBatch read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        ValuesBatch valuesBatch = new ValuesBatch();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "revision":
+                    valuesBatch.setRevision(in.nextInt());
+                    break;
+                case "spreadsheetToken":
+                    valuesBatch.setSpreadsheetToken(in.nextString());
+                    break;
+                case "totalCells":
+                    valuesBatch.setTotalCells(in.nextInt());
+                    break;
+                case "valueRanges":
+                    List<ValueRange> valueRanges = new ArrayList<>();
+                    in.beginArray();
+                    while (in.hasNext()) {
+                        valueRanges.add(valueRangeAdapter.read(in));
+                    }
+                    in.endArray();
+                    valuesBatch.setValueRanges(valueRanges);
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return valuesBatch;
+    }
+
+    @Override
+    public void write(JsonWriter out, ValuesBatch value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("revision").value(value.getRevision());
+        out.name("spreadsheetToken").value(value.getSpreadsheetToken());
+        out.name("totalCells").value(value.getTotalCells());
+        out.name("valueRanges");
+        if (value.getValueRanges() == null) {
+            out.nullValue();
+        } else {
+            out.beginArray();
+            for (ValueRange valueRange : value.getValueRanges()) {
+                valueRangeAdapter.write(out, valueRange);
+            }
+            out.endArray();
+        }
+        out.endObject();
+    }
+}
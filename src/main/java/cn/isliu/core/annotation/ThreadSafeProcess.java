@@ -0,0 +1,15 @@
+package cn.isliu.core.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 线程安全处理类注解
+ *
+ * 标记在 FieldValueProcess 或 OptionsValueProcess 实现类上，表示该类的实例可以被多个线程共享。
+ * 被标记的处理类全局只创建一个实例；未标记的处理类每个线程各创建一个实例并重复使用。
+ */
+@Target({ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ThreadSafeProcess {
+}
@@ -5,9 +5,12 @@ import cn.isliu.core.client.FeishuClient;
 import cn.isliu.core.client.FsClient;
 import cn.isliu.core.config.MapTableConfig;
 import cn.isliu.core.logging.FsLogger;
+import cn.isliu.core.ratelimit.ApiCallContext;
+import cn.isliu.core.ratelimit.ApiPriority;
 import cn.isliu.core.utils.FsApiUtil;
 import cn.isliu.core.utils.MapDataUtil;
 
+import java.time.Duration;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -26,6 +29,8 @@ public class MapReadBuilder {
     private final String sheetId;
     private final String spreadsheetToken;
     private MapTableConfig config;
+    private ApiPriority priority;
+    private Duration deadline;
     
     /**
      * 构造函数
@@ -94,6 +99,34 @@ public class MapReadBuilder {
         return this;
     }
     
+    /**
+     * 设置本次读取中API调用的优先级
+     *
+     * 等待限流许可时按优先级加权公平排队，交互式读取可以设置为 {@link ApiPriority#INTERACTIVE}，
+     * 不必排在大批量写入之后。默认值为 {@link ApiPriority#DEFAULT}。
+     *
+     * @param priority 优先级
+     * @return MapReadBuilder实例，支持链式调用
+     */
+    public MapReadBuilder priority(ApiPriority priority) {
+        this.priority = priority;
+        return this;
+    }
+
+    /**
+     * 设置本次读取的截止时间
+     *
+     * 从调用 build 开始计时，读取过程中的API调用在截止时间前无法获取限流许可时立即失败，
+     * 抛出错误码为 CLIENT_TIMEOUT 的 FsHelperException。默认不限制。
+     *
+     * @param deadline 从开始读取算起的最长等待时间
+     * @return MapReadBuilder实例，支持链式调用
+     */
+    public MapReadBuilder deadline(Duration deadline) {
+        this.deadline = deadline;
+        return this;
+    }
+
     /**
      * 执行数据读取
      *
@@ -104,6 +137,10 @@ public class MapReadBuilder {
      * @return Map数据列表
      */
     public List<Map<String, Object>> build() {
+        return ApiCallContext.call(priority, deadline, this::doBuild);
+    }
+
+    private List<Map<String, Object>> doBuild() {
         FeishuClient client = FsClient.getInstance().getClient();
         Sheet sheet = FsApiUtil.getSheetMetadata(sheetId, client, spreadsheetToken);
         
@@ -128,6 +165,10 @@ public class MapReadBuilder {
      * @return 按分组字段组织的Map数据
      */
     public Map<String, List<Map<String, Object>>> groupBuild() {
+        return ApiCallContext.call(priority, deadline, this::doGroupBuild);
+    }
+
+    private Map<String, List<Map<String, Object>>> doGroupBuild() {
         FeishuClient client = FsClient.getInstance().getClient();
         Sheet sheet = FsApiUtil.getSheetMetadata(sheetId, client, spreadsheetToken);
         
@@ -11,12 +11,15 @@ import cn.isliu.core.converters.OptionsValueProcess;
 import cn.isliu.core.enums.BaseEnum;
 import cn.isliu.core.enums.TypeEnum;
 import cn.isliu.core.pojo.FieldProperty;
+import cn.isliu.core.ratelimit.ApiCallContext;
+import cn.isliu.core.ratelimit.ApiPriority;
 import cn.isliu.core.service.CustomCellService;
 import cn.isliu.core.utils.FsApiUtil;
 import cn.isliu.core.utils.FsTableUtil;
 import cn.isliu.core.utils.MapOptionsUtil;
 
 import java.lang.annotation.Annotation;
+import java.time.Duration;
 import java.util.*;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -35,6 +38,8 @@ public class MapSheetBuilder {
     private final String sheetName;
     private final String spreadsheetToken;
     private MapSheetConfig config;
+    private ApiPriority priority;
+    private Duration deadline;
 
     /**
      * 构造函数
@@ -205,12 +210,44 @@ public class MapSheetBuilder {
         return this;
     }
 
+    /**
+     * 设置本次建表中API调用的优先级
+     *
+     * 等待限流许可时按优先级加权公平排队，批量建表可以设置为 {@link ApiPriority#BULK}，
+     * 避免影响交互式读取。默认值为 {@link ApiPriority#DEFAULT}。
+     *
+     * @param priority 优先级
+     * @return MapSheetBuilder实例，支持链式调用
+     */
+    public MapSheetBuilder priority(ApiPriority priority) {
+        this.priority = priority;
+        return this;
+    }
+
+    /**
+     * 设置本次建表的截止时间
+     *
+     * 从调用 build 开始计时，建表过程中的API调用在截止时间前无法获取限流许可时立即失败，
+     * 抛出错误码为 CLIENT_TIMEOUT 的 FsHelperException。默认不限制。
+     *
+     * @param deadline 从开始建表算起的最长等待时间
+     * @return MapSheetBuilder实例，支持链式调用
+     */
+    public MapSheetBuilder deadline(Duration deadline) {
+        this.deadline = deadline;
+        return this;
+    }
+
     /**
      * 构建表格并返回工作表ID
      *
      * @return 创建成功返回工作表ID
      */
     public String build() {
+        return ApiCallContext.call(priority, deadline, this::doBuild);
+    }
+
+    private String doBuild() {
         // 检查字段列表
         if (config.getFields().isEmpty()) {
             throw new IllegalArgumentException("字段定义列表不能为空");
@@ -230,6 +267,7 @@ public class MapSheetBuilder {
     private String buildNormalSheet() {
         // 转换字段定义为 FieldProperty
         Map<String, FieldProperty> fieldsMap = convertToFieldsMap(config.getFields());
+        int maxLevel = FsTableUtil.getMaxLevel(fieldsMap);
 
         // 生成表头
         List<String> headers = config.getFields().stream()
@@ -249,7 +287,7 @@ public class MapSheetBuilder {
         // 2、添加表头数据
         Map<String, String> fieldDescriptions = buildFieldDescriptions();
         FsApiUtil.putValues(spreadsheetToken,
-                FsTableUtil.getHeadTemplateBuilder(sheetId, headers, fieldsMap, tableConf, fieldDescriptions),
+                FsTableUtil.getHeadTemplateBuilder(sheetId, headers, fieldsMap, maxLevel, tableConf, fieldDescriptions),
                 client);
 
         // 3、设置单元格为文本格式
@@ -260,11 +298,11 @@ public class MapSheetBuilder {
 
         // 4、设置表格样式
         FsApiUtil.setTableStyle(
-                FsTableUtil.getDefaultTableStyle(sheetId, fieldsMap, tableConf),
+                FsTableUtil.getDefaultTableStyle(sheetId, fieldsMap, maxLevel, tableConf),
                 client, spreadsheetToken);
 
         // 5、合并单元格
-        List<CustomCellService.CellRequest> mergeCell = FsTableUtil.getMergeCell(sheetId, fieldsMap);
+        List<CustomCellService.CellRequest> mergeCell = FsTableUtil.getMergeCell(sheetId, fieldsMap, maxLevel);
         if (!mergeCell.isEmpty()) {
             mergeCell.forEach(cell -> FsApiUtil.mergeCells(cell, client, spreadsheetToken));
         }
@@ -273,7 +311,7 @@ public class MapSheetBuilder {
         try {
             // 准备自定义属性，包含字段的 options 配置
             Map<String, Object> customProps = prepareCustomProperties(fieldsMap);
-            FsTableUtil.setTableOptions(spreadsheetToken, headers, fieldsMap, sheetId,
+            FsTableUtil.setTableOptions(spreadsheetToken, headers, fieldsMap, maxLevel, sheetId,
                     config.isEnableDesc(), customProps);
         } catch (Exception e) {
             Logger.getLogger(MapSheetBuilder.class.getName()).log(Level.SEVERE,
@@ -289,6 +327,7 @@ public class MapSheetBuilder {
     private String buildGroupSheet() {
         // 转换字段定义为 FieldProperty
         Map<String, FieldProperty> fieldsMap = convertToFieldsMap(config.getFields());
+        int maxLevel = FsTableUtil.getMaxLevel(fieldsMap);
 
         // 生成表头
         List<String> headers = config.getFields().stream()
@@ -337,7 +376,7 @@ public class MapSheetBuilder {
             String[] headerWithColumnIdentifiers = FsTableUtil.generateHeaderWithColumnIdentifiers(headers, groupFieldList);
             // 准备自定义属性，包含字段的 options 配置
             Map<String, Object> customProps = prepareCustomProperties(fieldsMap);
-            FsTableUtil.setTableOptions(spreadsheetToken, headerWithColumnIdentifiers, fieldsMap,
+            FsTableUtil.setTableOptions(spreadsheetToken, headerWithColumnIdentifiers, fieldsMap, maxLevel,
                     sheetId, config.isEnableDesc(), customProps);
         } catch (Exception e) {
             Logger.getLogger(MapSheetBuilder.class.getName()).log(Level.SEVERE,
@@ -8,10 +8,13 @@ import cn.isliu.core.config.MapTableConfig;
 import cn.isliu.core.enums.ErrorCode;
 import cn.isliu.core.enums.FileType;
 import cn.isliu.core.logging.FsLogger;
+import cn.isliu.core.ratelimit.ApiCallContext;
+import cn.isliu.core.ratelimit.ApiPriority;
 import cn.isliu.core.service.CustomValueService;
 import cn.isliu.core.utils.*;
 import org.jetbrains.annotations.NotNull;
 
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
@@ -34,6 +37,8 @@ public class MapWriteBuilder {
     private final List<Map<String, Object>> dataList;
     private MapTableConfig config;
     private String groupField;
+    private ApiPriority priority;
+    private Duration deadline;
 
     /**
      * 构造函数
@@ -154,12 +159,44 @@ public class MapWriteBuilder {
         return this;
     }
 
+    /**
+     * 设置本次写入中API调用的优先级
+     *
+     * 等待限流许可时按优先级加权公平排队，大批量写入可以设置为 {@link ApiPriority#BULK}，
+     * 避免影响交互式读取。默认值为 {@link ApiPriority#DEFAULT}。
+     *
+     * @param priority 优先级
+     * @return MapWriteBuilder实例，支持链式调用
+     */
+    public MapWriteBuilder priority(ApiPriority priority) {
+        this.priority = priority;
+        return this;
+    }
+
+    /**
+     * 设置本次写入的截止时间
+     *
+     * 从调用 build 开始计时，写入过程中的API调用在截止时间前无法获取限流许可时立即失败，
+     * 抛出错误码为 CLIENT_TIMEOUT 的 FsHelperException。默认不限制。
+     *
+     * @param deadline 从开始写入算起的最长等待时间
+     * @return MapWriteBuilder实例，支持链式调用
+     */
+    public MapWriteBuilder deadline(Duration deadline) {
+        this.deadline = deadline;
+        return this;
+    }
+
     /**
      * 执行数据写入
      *
      * @return 写入操作结果
      */
     public Object build() {
+        return ApiCallContext.call(priority, deadline, this::doBuild);
+    }
+
+    private Object doBuild() {
         if (dataList.isEmpty()) {
             FsLogger.warn("【Map写入】数据列表为空，跳过写入操作");
             return null;
@@ -339,6 +376,12 @@ public class MapWriteBuilder {
      * @param groupField 分组字段名称，如果为null则读取全部数据
      */
     private List<FsTableData> readExistingData(Sheet sheet, FeishuClient client, String groupField) {
+        if (groupField != null && !groupField.isEmpty()) {
+            // 有分组：只读取并处理目标分组所在的列区间
+            return FsTableUtil.getGroupFsTableData(sheet, spreadsheetToken, createTempTableConf(),
+                    new ArrayList<>(), Collections.<String>emptySet(), groupField);
+        }
+
         int totalRow = sheet.getGridProperties().getRowCount();
         int colCount = sheet.getGridProperties().getColumnCount();
         int startOffset = 1;
@@ -371,23 +414,7 @@ public class MapWriteBuilder {
 
         // 处理表格数据
         TableData tableData = processSheetData(sheet, values);
-
-        // 根据是否有分组字段，选择不同的处理方式
-        List<FsTableData> dataList;
-        if (groupField == null || groupField.isEmpty()) {
-            // 无分组：读取全部数据
-            dataList = getFsTableData(tableData, new ArrayList<>());
-        } else {
-            // 有分组：需要重新调用完整的分组读取方法
-            // 创建临时的 TableConf 用于分组读取
-            TableConf tempTableConf = createTempTableConf();
-            Map<String, List<FsTableData>> groupDataMap = FsTableUtil.getGroupFsTableData(
-                    sheet, spreadsheetToken, tempTableConf, new ArrayList<>(), new HashMap<>()
-            );
-            dataList = groupDataMap.getOrDefault(groupField, new ArrayList<>());
-        }
-
-        return dataList;
+        return getFsTableData(tableData, new ArrayList<>());
     }
 
     /**
@@ -412,6 +439,12 @@ public class MapWriteBuilder {
      * @param groupField 分组字段名称，如果为null则读取全部数据
      */
     private List<FsTableData> readMaxRowNumber(Sheet sheet, FeishuClient client, String groupField) {
+        if (groupField != null && !groupField.isEmpty()) {
+            // 有分组：只读取并处理目标分组所在的列区间
+            return FsTableUtil.getGroupFsTableData(sheet, spreadsheetToken, createTempTableConf(),
+                    new ArrayList<>(), Collections.<String>emptySet(), groupField);
+        }
+
         int totalRow = sheet.getGridProperties().getRowCount();
         int colCount = sheet.getGridProperties().getColumnCount();
         int startOffset = 1;
@@ -444,23 +477,7 @@ public class MapWriteBuilder {
 
         // 处理表格数据
         TableData tableData = processSheetData(sheet, values);
-
-        // 根据是否有分组字段，选择不同的处理方式
-        List<FsTableData> dataList;
-        if (groupField == null || groupField.isEmpty()) {
-            // 无分组：读取全部数据
-            dataList = getFsTableData(tableData, new ArrayList<>());
-        } else {
-            // 有分组：需要重新调用完整的分组读取方法
-            // 创建临时的 TableConf 用于分组读取
-            TableConf tempTableConf = createTempTableConf();
-            Map<String, List<FsTableData>> groupDataMap = FsTableUtil.getGroupFsTableData(
-                    sheet, spreadsheetToken, tempTableConf, new ArrayList<>(), new HashMap<>()
-            );
-            dataList = groupDataMap.getOrDefault(groupField, new ArrayList<>());
-        }
-
-        return dataList;
+        return getFsTableData(tableData, new ArrayList<>());
     }
 
     /**
@@ -547,7 +564,7 @@ public class MapWriteBuilder {
 
             // 添加到批量写入
             if (enableCover || (fieldValue != null && !(fieldValue instanceof FileData))) {
-                resultValuesBuilder.addRange(sheetId, position + rowNum, position + rowNum)
+                resultValuesBuilder.addRange(CellRefUtil.range(sheetId, position, rowNum))
                         .addRow(GenerateUtil.getRowData(fieldValue));
             }
         });
@@ -7,9 +7,12 @@ import cn.isliu.core.annotation.TableConf;
 import cn.isliu.core.client.FeishuClient;
 import cn.isliu.core.client.FsClient;
 import cn.isliu.core.pojo.FieldProperty;
+import cn.isliu.core.pojo.TableSchema;
+import cn.isliu.core.ratelimit.ApiCallContext;
+import cn.isliu.core.ratelimit.ApiPriority;
 import cn.isliu.core.utils.*;
-import com.google.gson.JsonObject;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -27,6 +30,9 @@ public class ReadBuilder<T> {
     private final String spreadsheetToken;
     private final Class<T> clazz;
     private List<String> ignoreUniqueFields;
+    private boolean compiledMapping;
+    private ApiPriority priority;
+    private Duration deadline;
 
     /**
      * 构造函数
@@ -55,6 +61,48 @@ public class ReadBuilder<T> {
         return this;
     }
 
+    /**
+     * 设置是否使用预编译的实体映射器
+     *
+     * 启用后使用按实体类缓存的 {@link EntityMapper}：表头与字段的绑定关系只解析一次，
+     * 整批数据按列解码后直接写入实体字段。映射结果与默认方式一致，默认值为false。
+     *
+     * @param compiledMapping 是否使用预编译的实体映射器
+     * @return ReadBuilder实例，支持链式调用
+     */
+    public ReadBuilder<T> compiledMapping(boolean compiledMapping) {
+        this.compiledMapping = compiledMapping;
+        return this;
+    }
+
+    /**
+     * 设置本次读取中API调用的优先级
+     *
+     * 等待限流许可时按优先级加权公平排队，交互式读取可以设置为 {@link ApiPriority#INTERACTIVE}，
+     * 不必排在大批量写入之后。默认值为 {@link ApiPriority#DEFAULT}。
+     *
+     * @param priority 优先级
+     * @return ReadBuilder实例，支持链式调用
+     */
+    public ReadBuilder<T> priority(ApiPriority priority) {
+        this.priority = priority;
+        return this;
+    }
+
+    /**
+     * 设置本次读取的截止时间
+     *
+     * 从调用 build 开始计时，读取过程中的API调用在截止时间前无法获取限流许可时立即失败，
+     * 抛出错误码为 CLIENT_TIMEOUT 的 FsHelperException。默认不限制。
+     *
+     * @param deadline 从开始读取算起的最长等待时间
+     * @return ReadBuilder实例，支持链式调用
+     */
+    public ReadBuilder<T> deadline(Duration deadline) {
+        this.deadline = deadline;
+        return this;
+    }
+
     /**
      * 执行数据读取并返回实体类对象列表
      *
@@ -63,77 +111,122 @@ public class ReadBuilder<T> {
      * @return 映射后的实体类对象列表
      */
     public List<T> build() {
-        List<T> results = new ArrayList<>();
+        return ApiCallContext.call(priority, deadline, this::doBuild);
+    }
+
+    public Map<String, List<T>> groupBuild() {
+        return ApiCallContext.call(priority, deadline, this::doGroupBuild);
+    }
+
+    /**
+     * 执行指定分组的数据读取
+     *
+     * 先根据分组行定位分组所在的列区间，只读取并映射该分组的数据，
+     * 适用于只关心单个分组的场景，避免处理其他分组的数据。
+     *
+     * @param groupField 分组名称
+     * @return 该分组映射后的实体类对象列表，分组不存在时返回空列表
+     */
+    public List<T> groupBuild(String groupField) {
+        return ApiCallContext.call(priority, deadline, () -> doGroupBuild(groupField));
+    }
+
+    private List<T> doBuild() {
         FeishuClient client = FsClient.getInstance().getClient();
         Sheet sheet = FsApiUtil.getSheetMetadata(sheetId, client, spreadsheetToken);
-        TableConf tableConf = PropertyUtil.getTableConf(clazz);
+        TableSchema tableSchema = PropertyUtil.getTableSchema(clazz);
+        TableConf tableConf = tableSchema.getTableConf();
 
-        Map<String, FieldProperty> fieldsMap = PropertyUtil.getTablePropertyFieldsMap(clazz);
+        Map<String, FieldProperty> fieldsMap = tableSchema.getFieldsMap();
 
         // 处理忽略字段名称映射
         List<String> processedIgnoreFields = processIgnoreFields(fieldsMap);
 
         // 使用支持忽略字段的方法获取表格数据
-        List<FsTableData> fsTableDataList = FsTableUtil.getFsTableData(sheet, spreadsheetToken, tableConf, processedIgnoreFields, fieldsMap);
+        List<FsTableData> fsTableDataList = FsTableUtil.getFsTableData(sheet, spreadsheetToken, tableConf, processedIgnoreFields, tableSchema.getUniKeyNames());
 
-        List<String> fieldPathList = fieldsMap.values().stream().map(FieldProperty::getField).collect(Collectors.toList());
-
-        fsTableDataList.forEach(tableData -> {
-            Object data = tableData.getData();
-            if (data instanceof HashMap) {
-                Map<String, Object> rowData = (HashMap<String, Object>) data;
-                JsonObject jsonObject = JSONUtil.convertMapToJsonObject(rowData);
-                Map<String, Object> dataMap = ConvertFieldUtil.convertPositionToField(jsonObject, fieldsMap);
-                T t = GenerateUtil.generateInstance(fieldPathList, clazz, dataMap);
-                if (t instanceof BaseEntity) {
-                    BaseEntity baseEntity = (BaseEntity) t;
-                    baseEntity.setUniqueId(tableData.getUniqueId());
-                    baseEntity.setRow(tableData.getRow());
-                    baseEntity.setRowData(rowData);
-                }
-                results.add(t);
-            }
-        });
-        return results;
+        List<String> fieldPathList = tableSchema.getFieldPaths();
+        return toEntities(fsTableDataList, fieldsMap, fieldPathList);
     }
 
-    public Map<String, List<T>> groupBuild() {
+    private Map<String, List<T>> doGroupBuild() {
         Map<String, List<T>> results = new HashMap<>();
         FeishuClient client = FsClient.getInstance().getClient();
         Sheet sheet = FsApiUtil.getSheetMetadata(sheetId, client, spreadsheetToken);
-        TableConf tableConf = PropertyUtil.getTableConf(clazz);
+        TableSchema tableSchema = PropertyUtil.getTableSchema(clazz);
+        TableConf tableConf = tableSchema.getTableConf();
 
-        Map<String, FieldProperty> fieldsMap = PropertyUtil.getTablePropertyFieldsMap(clazz);
+        Map<String, FieldProperty> fieldsMap = tableSchema.getFieldsMap();
 
         // 处理忽略字段名称映射
         List<String> processedIgnoreFields = processIgnoreFields(fieldsMap);
 
         // 使用支持忽略字段的方法获取表格数据
-        Map<String, List<FsTableData>> fsTableDataMap = FsTableUtil.getGroupFsTableData(sheet, spreadsheetToken, tableConf, processedIgnoreFields, fieldsMap);
-
-        List<String> fieldPathList = fieldsMap.values().stream().map(FieldProperty::getField).collect(Collectors.toList());
-
-        fsTableDataMap.forEach((key, fsTableDataList) -> {
-            List<T> groupResults = new ArrayList<>();
-            fsTableDataList.stream().filter(tableData -> tableData.getRow() >= tableConf.headLine()).forEach(tableData -> {
-                Object data = tableData.getData();
-                if (data instanceof HashMap) {
-                    Map<String, Object> rowData = (HashMap<String, Object>) data;
-                    JsonObject jsonObject = JSONUtil.convertMapToJsonObject(rowData);
-                    Map<String, Object> dataMap = ConvertFieldUtil.convertPositionToField(jsonObject, fieldsMap);
-                    T t = GenerateUtil.generateInstance(fieldPathList, clazz, dataMap);
-                    if (t instanceof BaseEntity) {
-                        BaseEntity baseEntity = (BaseEntity) t;
-                        baseEntity.setUniqueId(tableData.getUniqueId());
-                        baseEntity.setRow(tableData.getRow());
-                        baseEntity.setRowData(rowData);
-                    }
-                    groupResults.add(t);
-                }
-            });
-            results.put(key, groupResults);
-        });
+        Map<String, List<FsTableData>> fsTableDataMap = FsTableUtil.getGroupFsTableData(sheet, spreadsheetToken, tableConf, processedIgnoreFields, tableSchema.getUniKeyNames());
+
+        List<String> fieldPathList = tableSchema.getFieldPaths();
+
+        fsTableDataMap.forEach((key, fsTableDataList) ->
+                results.put(key, toGroupResults(fsTableDataList, fieldsMap, fieldPathList, tableConf)));
+
+        return results;
+    }
+
+    private List<T> doGroupBuild(String groupField) {
+        FeishuClient client = FsClient.getInstance().getClient();
+        Sheet sheet = FsApiUtil.getSheetMetadata(sheetId, client, spreadsheetToken);
+        TableSchema tableSchema = PropertyUtil.getTableSchema(clazz);
+        TableConf tableConf = tableSchema.getTableConf();
+
+        Map<String, FieldProperty> fieldsMap = tableSchema.getFieldsMap();
+
+        // 处理忽略字段名称映射
+        List<String> processedIgnoreFields = processIgnoreFields(fieldsMap);
+
+        List<FsTableData> fsTableDataList = FsTableUtil.getGroupFsTableData(sheet, spreadsheetToken, tableConf, processedIgnoreFields, tableSchema.getUniKeyNames(), groupField);
 
+        List<String> fieldPathList = tableSchema.getFieldPaths();
+        return toGroupResults(fsTableDataList, fieldsMap, fieldPathList, tableConf);
+    }
+
+    private List<T> toGroupResults(List<FsTableData> fsTableDataList, Map<String, FieldProperty> fieldsMap,
+                                   List<String> fieldPathList, TableConf tableConf) {
+        List<FsTableData> dataRows = fsTableDataList.stream()
+                .filter(tableData -> tableData.getRow() >= tableConf.headLine())
+                .collect(Collectors.toList());
+        return toEntities(dataRows, fieldsMap, fieldPathList);
+    }
+
+    /**
+     * 将表格数据行映射为实体对象，整批按列解码
+     *
+     * 启用预编译映射时使用按类缓存的映射器，否则每次按字段映射关系解析。
+     */
+    private List<T> toEntities(List<FsTableData> fsTableDataList, Map<String, FieldProperty> fieldsMap,
+                               List<String> fieldPathList) {
+        List<FsTableData> tableDataList = new ArrayList<>();
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (FsTableData tableData : fsTableDataList) {
+            Object data = tableData.getData();
+            if (data instanceof HashMap) {
+                tableDataList.add(tableData);
+                rows.add((HashMap<String, Object>) data);
+            }
+        }
+
+        List<T> results = compiledMapping ? EntityMapper.of(clazz).mapAll(rows)
+                : GenerateUtil.generateInstances(fieldPathList, clazz, rows, fieldsMap);
+
+        for (int i = 0; i < results.size(); i++) {
+            T t = results.get(i);
+            if (t instanceof BaseEntity) {
+                FsTableData tableData = tableDataList.get(i);
+                BaseEntity baseEntity = (BaseEntity) t;
+                baseEntity.setUniqueId(tableData.getUniqueId());
+                baseEntity.setRow(tableData.getRow());
+                baseEntity.setRowData(rows.get(i));
+            }
+        }
         return results;
     }
 
@@ -4,12 +4,16 @@ import cn.isliu.core.annotation.TableConf;
 import cn.isliu.core.client.FeishuClient;
 import cn.isliu.core.client.FsClient;
 import cn.isliu.core.pojo.FieldProperty;
+import cn.isliu.core.pojo.TableSchema;
+import cn.isliu.core.ratelimit.ApiCallContext;
+import cn.isliu.core.ratelimit.ApiPriority;
 import cn.isliu.core.service.CustomCellService;
 import cn.isliu.core.utils.FsApiUtil;
 import cn.isliu.core.utils.FsTableUtil;
 import cn.isliu.core.utils.PropertyUtil;
 import cn.isliu.core.utils.StringUtil;
 
+import java.time.Duration;
 import java.util.*;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -28,6 +32,8 @@ public class SheetBuilder<T> {
     private List<String> includeFields;
     private final Map<String, Object> customProperties = new HashMap<>();
     private final Map<String, String> fieldDescriptions = new HashMap<>();
+    private ApiPriority priority;
+    private Duration deadline;
 
     /**
      * 构造函数
@@ -142,6 +148,34 @@ public class SheetBuilder<T> {
         return new HashMap<>(this.fieldDescriptions);
     }
 
+    /**
+     * 设置本次建表中API调用的优先级
+     *
+     * 等待限流许可时按优先级加权公平排队，批量建表可以设置为 {@link ApiPriority#BULK}，
+     * 避免影响交互式读取。默认值为 {@link ApiPriority#DEFAULT}。
+     *
+     * @param priority 优先级
+     * @return SheetBuilder实例，支持链式调用
+     */
+    public SheetBuilder<T> priority(ApiPriority priority) {
+        this.priority = priority;
+        return this;
+    }
+
+    /**
+     * 设置本次建表的截止时间
+     *
+     * 从调用 build 开始计时，建表过程中的API调用在截止时间前无法获取限流许可时立即失败，
+     * 抛出错误码为 CLIENT_TIMEOUT 的 FsHelperException。默认不限制。
+     *
+     * @param deadline 从开始建表算起的最长等待时间
+     * @return SheetBuilder实例，支持链式调用
+     */
+    public SheetBuilder<T> deadline(Duration deadline) {
+        this.deadline = deadline;
+        return this;
+    }
+
     /**
      * 构建表格并返回工作表ID
      *
@@ -150,17 +184,23 @@ public class SheetBuilder<T> {
      * @return 创建成功返回工作表ID
      */
     public String build() {
+        return ApiCallContext.call(priority, deadline, this::doBuild);
+    }
+
+    private String doBuild() {
         // 获取所有字段映射
-        Map<String, FieldProperty> allFieldsMap = PropertyUtil.getTablePropertyFieldsMap(clazz);
+        TableSchema tableSchema = PropertyUtil.getTableSchema(clazz);
+        Map<String, FieldProperty> allFieldsMap = tableSchema.getFieldsMap();
 
-        // 根据includeFields过滤字段映射
+        // 根据includeFields过滤字段映射，未过滤时直接使用缓存的表头层级数
         Map<String, FieldProperty> fieldsMap = filterFieldsMap(allFieldsMap);
+        int maxLevel = fieldsMap == allFieldsMap ? tableSchema.getMaxLevel() : FsTableUtil.getMaxLevel(fieldsMap);
 
         // 生成表头
         List<String> headers = PropertyUtil.getHeaders(fieldsMap, includeFields);
 
         // 获取表格配置
-        TableConf tableConf = PropertyUtil.getTableConf(clazz);
+        TableConf tableConf = tableSchema.getTableConf();
 
         // 创建飞书客户端
         FeishuClient client = FsClient.getInstance().getClient();
@@ -169,7 +209,7 @@ public class SheetBuilder<T> {
         String sheetId = FsApiUtil.createSheet(sheetName, client, spreadsheetToken);
 
         // 2、添加表头数据
-        FsApiUtil.putValues(spreadsheetToken, FsTableUtil.getHeadTemplateBuilder(sheetId, headers, fieldsMap, tableConf, fieldDescriptions), client);
+        FsApiUtil.putValues(spreadsheetToken, FsTableUtil.getHeadTemplateBuilder(sheetId, headers, fieldsMap, maxLevel, tableConf, fieldDescriptions), client);
 
         // 3、设置单元格为文本格式
         if (tableConf.isText()) {
@@ -178,17 +218,17 @@ public class SheetBuilder<T> {
         }
 
         // 4、设置表格样式
-        FsApiUtil.setTableStyle(FsTableUtil.getDefaultTableStyle(sheetId, fieldsMap, tableConf), client, spreadsheetToken);
+        FsApiUtil.setTableStyle(FsTableUtil.getDefaultTableStyle(sheetId, fieldsMap, maxLevel, tableConf), client, spreadsheetToken);
 
         // 5、合并单元格
-        List<CustomCellService.CellRequest> mergeCell = FsTableUtil.getMergeCell(sheetId, fieldsMap);
+        List<CustomCellService.CellRequest> mergeCell = FsTableUtil.getMergeCell(sheetId, fieldsMap, maxLevel);
         if (!mergeCell.isEmpty()) {
             mergeCell.forEach(cell -> FsApiUtil.mergeCells(cell, client, spreadsheetToken));
         }
 
         // 6、设置表格下拉
         try {
-            FsTableUtil.setTableOptions(spreadsheetToken, headers, fieldsMap, sheetId, tableConf.enableDesc(), customProperties);
+            FsTableUtil.setTableOptions(spreadsheetToken, headers, fieldsMap, maxLevel, sheetId, tableConf.enableDesc(), customProperties);
         } catch (Exception e) {
             Logger.getLogger(SheetBuilder.class.getName()).log(Level.SEVERE,"【表格构建器】设置表格下拉异常！sheetId:" + sheetId + ", 错误信息：{}", e.getMessage());
         }
@@ -197,17 +237,23 @@ public class SheetBuilder<T> {
     }
 
     public String groupBuild(String ...groupFields) {
+        return ApiCallContext.call(priority, deadline, () -> doGroupBuild(groupFields));
+    }
+
+    private String doGroupBuild(String ...groupFields) {
         // 获取所有字段映射
-        Map<String, FieldProperty> allFieldsMap = PropertyUtil.getTablePropertyFieldsMap(clazz);
+        TableSchema tableSchema = PropertyUtil.getTableSchema(clazz);
+        Map<String, FieldProperty> allFieldsMap = tableSchema.getFieldsMap();
 
-        // 根据includeFields过滤字段映射
+        // 根据includeFields过滤字段映射，未过滤时直接使用缓存的表头层级数
         Map<String, FieldProperty> fieldsMap = filterFieldsMap(allFieldsMap);
+        int maxLevel = fieldsMap == allFieldsMap ? tableSchema.getMaxLevel() : FsTableUtil.getMaxLevel(fieldsMap);
 
         // 生成表头
         List<String> headers = PropertyUtil.getHeaders(fieldsMap, includeFields);
 
         // 获取表格配置
-        TableConf tableConf = PropertyUtil.getTableConf(clazz);
+        TableConf tableConf = tableSchema.getTableConf();
 
         // 创建飞书客户端
         FeishuClient client = FsClient.getInstance().getClient();
@@ -239,7 +285,7 @@ public class SheetBuilder<T> {
         // 6、设置表格下拉
         try {
             String[] headerWithColumnIdentifiers = FsTableUtil.generateHeaderWithColumnIdentifiers(headers, groupFieldList);
-            FsTableUtil.setTableOptions(spreadsheetToken, headerWithColumnIdentifiers, fieldsMap, sheetId, tableConf.enableDesc(), customProperties);
+            FsTableUtil.setTableOptions(spreadsheetToken, headerWithColumnIdentifiers, fieldsMap, maxLevel, sheetId, tableConf.enableDesc(), customProperties);
         } catch (Exception e) {
             Logger.getLogger(SheetBuilder.class.getName()).log(Level.SEVERE,"【表格构建器】设置表格下拉异常！sheetId:" + sheetId + ", 错误信息：{}", e.getMessage());
         }
@@ -10,9 +10,12 @@ import cn.isliu.core.enums.ErrorCode;
 import cn.isliu.core.enums.FileType;
 import cn.isliu.core.logging.FsLogger;
 import cn.isliu.core.pojo.FieldProperty;
+import cn.isliu.core.ratelimit.ApiCallContext;
+import cn.isliu.core.ratelimit.ApiPriority;
 import cn.isliu.core.service.CustomValueService;
 import cn.isliu.core.utils.*;
 
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
@@ -33,6 +36,9 @@ public class WriteBuilder<T> {
     private boolean ignoreNotFound;
     private String groupField;
     private Boolean upsert;
+    private boolean compiledMapping;
+    private ApiPriority priority;
+    private Duration deadline;
 
     /**
      * 构造函数
@@ -123,6 +129,48 @@ public class WriteBuilder<T> {
         return this;
     }
 
+    /**
+     * 设置是否使用预编译的实体映射器
+     *
+     * 启用后通过按实体类缓存的 {@link EntityMapper} 读取实体字段值，表头与字段的绑定关系只解析一次，
+     * 结果与默认方式一致，默认值为false。
+     *
+     * @param compiledMapping 是否使用预编译的实体映射器
+     * @return WriteBuilder实例，支持链式调用
+     */
+    public WriteBuilder<T> compiledMapping(boolean compiledMapping) {
+        this.compiledMapping = compiledMapping;
+        return this;
+    }
+
+    /**
+     * 设置本次写入中API调用的优先级
+     *
+     * 等待限流许可时按优先级加权公平排队，大批量写入可以设置为 {@link ApiPriority#BULK}，
+     * 避免影响交互式读取。默认值为 {@link ApiPriority#DEFAULT}。
+     *
+     * @param priority 优先级
+     * @return WriteBuilder实例，支持链式调用
+     */
+    public WriteBuilder<T> priority(ApiPriority priority) {
+        this.priority = priority;
+        return this;
+    }
+
+    /**
+     * 设置本次写入的截止时间
+     *
+     * 从调用 build 开始计时，写入过程中的API调用在截止时间前无法获取限流许可时立即失败，
+     * 抛出错误码为 CLIENT_TIMEOUT 的 FsHelperException。默认不限制。
+     *
+     * @param deadline 从开始写入算起的最长等待时间
+     * @return WriteBuilder实例，支持链式调用
+     */
+    public WriteBuilder<T> deadline(Duration deadline) {
+        this.deadline = deadline;
+        return this;
+    }
+
     /**
      * 执行数据写入并返回操作结果
      *
@@ -131,6 +179,10 @@ public class WriteBuilder<T> {
      * @return 写入操作结果
      */
     public Object build() {
+        return ApiCallContext.call(priority, deadline, this::doBuild);
+    }
+
+    private Object doBuild() {
         if (dataList.isEmpty()) {
             return null;
         }
@@ -150,6 +202,10 @@ public class WriteBuilder<T> {
         Sheet sheet = FsApiUtil.getSheetMetadata(sheetId, client, spreadsheetToken);
 
         TableConf tableConf = aClass != null ? PropertyUtil.getTableConf(aClass) : PropertyUtil.getTableConf(sourceClass);
+        // 表格配置与字段映射来自同一实体类时直接使用缓存的唯一键列名
+        Set<String> uniKeyNames = aClass == null || aClass.equals(sourceClass)
+                ? PropertyUtil.getTableSchema(sourceClass).getUniKeyNames()
+                : PropertyUtil.getUniKeyNames(fieldsMap, tableConf.uniKeys());
 
         // 确定最终的 upsert 值：Builder 方法参数优先，否则使用注解配置
         boolean finalUpsert = (this.upsert != null) ? this.upsert : tableConf.upsert();
@@ -169,10 +225,10 @@ public class WriteBuilder<T> {
         // 使用支持忽略字段的方法获取表格数据
         List<FsTableData> fsTableDataList;
         if (groupField == null) {
-            fsTableDataList = FsTableUtil.getFsTableData(sheet, spreadsheetToken, tableConf, processedIgnoreFields, fieldsMap);
+            fsTableDataList = FsTableUtil.getFsTableData(sheet, spreadsheetToken, tableConf, processedIgnoreFields, uniKeyNames);
         } else {
-            Map<String, List<FsTableData>> groupFsTableData = FsTableUtil.getGroupFsTableData(sheet, spreadsheetToken, tableConf, processedIgnoreFields, fieldsMap);
-            fsTableDataList = groupFsTableData.get(groupField);
+            // 只读取并处理目标分组所在的列区间
+            fsTableDataList = FsTableUtil.getGroupFsTableData(sheet, spreadsheetToken, tableConf, processedIgnoreFields, uniKeyNames, groupField);
         }
 
         if (!fsTableDataList.isEmpty()) {
@@ -212,7 +268,7 @@ public class WriteBuilder<T> {
         if (finalUpsert) {
             // Upsert 模式：计算 uniqueId 并匹配更新或追加
             for (T data : dataList) {
-                Map<String, Object> values = GenerateUtil.getFieldValue(data, fieldMap);
+                Map<String, Object> values = getFieldValue(data, fieldMap);
 
                 // 计算唯一标识：如果data类型与aClass相同，使用忽略字段逻辑；否则直接从data获取uniqueId
                 String uniqueId;
@@ -242,7 +298,7 @@ public class WriteBuilder<T> {
                             }
                         }
                         if (tableConf.enableCover() || fieldValue != null) {
-                            resultValuesBuilder.addRange(sheetId, position + rowNum.get(), position + rowNum.get())
+                            resultValuesBuilder.addRange(CellRefUtil.range(sheetId, position, rowNum.get()))
                                     .addRow(GenerateUtil.getRowData(fieldValue));
                         }
                     });
@@ -262,7 +318,7 @@ public class WriteBuilder<T> {
                         }
 
                         if (tableConf.enableCover() || fieldValue != null) {
-                            resultValuesBuilder.addRange(sheetId, position + rowCou, position + rowCou)
+                            resultValuesBuilder.addRange(CellRefUtil.range(sheetId, position, rowCou))
                                     .addRow(GenerateUtil.getRowData(fieldValue));
                         }
                     });
@@ -272,7 +328,7 @@ public class WriteBuilder<T> {
         } else {
             // 纯追加模式：不计算 uniqueId，所有数据直接追加到表格末尾
             for (T data : dataList) {
-                Map<String, Object> values = GenerateUtil.getFieldValue(data, fieldMap);
+                Map<String, Object> values = getFieldValue(data, fieldMap);
 
                 int rowCou = rowCount.incrementAndGet();
                 Map<String, String> finalTitlePostionMap = titlePostionMap;
@@ -288,7 +344,7 @@ public class WriteBuilder<T> {
                     }
 
                     if (tableConf.enableCover() || fieldValue != null) {
-                        resultValuesBuilder.addRange(sheetId, position + rowCou, position + rowCou)
+                        resultValuesBuilder.addRange(CellRefUtil.range(sheetId, position, rowCou))
                                 .addRow(GenerateUtil.getRowData(fieldValue));
                     }
                 });
@@ -318,6 +374,14 @@ public class WriteBuilder<T> {
         return null;
     }
 
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> getFieldValue(T data, Map<String, String> fieldMap) {
+        if (compiledMapping) {
+            return EntityMapper.of((Class<T>) data.getClass()).getFieldValue(data, fieldMap);
+        }
+        return GenerateUtil.getFieldValue(data, fieldMap);
+    }
+
     /**
      * 处理忽略字段名称映射
      *
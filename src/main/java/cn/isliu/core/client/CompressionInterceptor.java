@@ -0,0 +1,277 @@
+package cn.isliu.core.client;
+
+import cn.isliu.core.logging.FsLogger;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.GzipSink;
+import okio.Okio;
+import okio.Source;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 压缩拦截器
+ *
+ * 请求：开启后，超过阈值的请求体使用 gzip 压缩并添加 Content-Encoding 头；
+ * 服务端明确拒绝该编码时（415，或 400 且响应头、错误信息指明不支持请求体编码）以未压缩的请求体重发一次，
+ * 重发成功则该主机后续不再压缩。其他 400 为普通业务错误，直接返回给调用方，不重发。
+ *
+ * 响应：OkHttp 在调用方未指定 Accept-Encoding 时自动协商 gzip 并透明解压，
+ * 网络拦截器校验该协商仍然生效，并统计网络传输字节数与解压后的字节数。
+ */
+public class CompressionInterceptor implements Interceptor {
+
+    /** 默认压缩阈值（字节） */
+    public static final long DEFAULT_THRESHOLD = 8 * 1024;
+
+    private static final String CONTENT_ENCODING = "Content-Encoding";
+    private static final String GZIP = "gzip";
+
+    /** 判断 400 是否由请求体编码导致时读取的错误信息最大字节数 */
+    private static final long ERROR_PEEK_BYTES = 4 * 1024;
+
+    private final boolean compressRequests;
+    private final long threshold;
+    private final Set<String> unsupportedHosts = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean negotiationWarned = new AtomicBoolean();
+
+    private final LongAdder requestBytesOriginal = new LongAdder();
+    private final LongAdder requestBytesSent = new LongAdder();
+    private final LongAdder responseBytesWire = new LongAdder();
+    private final LongAdder responseBytesDecoded = new LongAdder();
+    private final LongAdder compressedRequests = new LongAdder();
+    private final LongAdder compressedResponses = new LongAdder();
+    private final LongAdder uncompressedRetries = new LongAdder();
+
+    /**
+     * 构造函数
+     *
+     * @param compressRequests 是否压缩请求体
+     * @param threshold 压缩阈值（字节），小于该大小的请求体不压缩
+     */
+    public CompressionInterceptor(boolean compressRequests, long threshold) {
+        this.compressRequests = compressRequests;
+        this.threshold = Math.max(0L, threshold);
+    }
+
+    /**
+     * 获取统计响应网络传输字节数的网络拦截器，需通过 addNetworkInterceptor 注册
+     *
+     * @return 网络拦截器
+     */
+    public Interceptor networkInterceptor() {
+        return this::interceptNetwork;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        RequestBody body = request.body();
+        Response response;
+
+        if (shouldCompress(request, body)) {
+            Buffer compressed = gzip(body);
+            long originalLength = body.contentLength();
+            Request gzipRequest = request.newBuilder()
+                .header(CONTENT_ENCODING, GZIP)
+                .method(request.method(), RequestBody.create(compressed.readByteString(), body.contentType()))
+                .build();
+            response = chain.proceed(gzipRequest);
+
+            if (isEncodingRejected(response)) {
+                response.close();
+                uncompressedRetries.increment();
+                response = chain.proceed(request);
+                if (response.isSuccessful()) {
+                    unsupportedHosts.add(request.url().host());
+                    FsLogger.warn("服务端不支持压缩的请求体，后续不再压缩：host={}", request.url().host());
+                }
+            } else {
+                long sentLength = gzipRequest.body().contentLength();
+                requestBytesOriginal.add(originalLength);
+                requestBytesSent.add(sentLength);
+                compressedRequests.increment();
+            }
+        } else {
+            response = chain.proceed(request);
+        }
+
+        return countDecoded(response);
+    }
+
+    /**
+     * 获取请求体压缩节省的字节数
+     *
+     * @return 节省的字节数
+     */
+    public long getRequestBytesSaved() {
+        return requestBytesOriginal.sum() - requestBytesSent.sum();
+    }
+
+    /**
+     * 获取响应压缩节省的字节数（解压后字节数 - 网络传输字节数）
+     *
+     * @return 节省的字节数
+     */
+    public long getResponseBytesSaved() {
+        return responseBytesDecoded.sum() - responseBytesWire.sum();
+    }
+
+    public long getCompressedRequests() {
+        return compressedRequests.sum();
+    }
+
+    public long getCompressedResponses() {
+        return compressedResponses.sum();
+    }
+
+    /**
+     * 获取因服务端不支持压缩而以未压缩请求体重发的次数
+     *
+     * @return 重发次数
+     */
+    public long getUncompressedRetries() {
+        return uncompressedRetries.sum();
+    }
+
+    public long getRequestBytesOriginal() {
+        return requestBytesOriginal.sum();
+    }
+
+    public long getRequestBytesSent() {
+        return requestBytesSent.sum();
+    }
+
+    public long getResponseBytesWire() {
+        return responseBytesWire.sum();
+    }
+
+    public long getResponseBytesDecoded() {
+        return responseBytesDecoded.sum();
+    }
+
+    private boolean shouldCompress(Request request, RequestBody body) throws IOException {
+        if (!compressRequests || body == null || request.header(CONTENT_ENCODING) != null) {
+            return false;
+        }
+        if (unsupportedHosts.contains(request.url().host())) {
+            return false;
+        }
+        long length = body.contentLength();
+        return length >= threshold && !body.isOneShot();
+    }
+
+    /**
+     * 判断服务端是否因请求体编码拒绝了请求：415，或 400 且 Accept-Encoding 响应头不包含 gzip、
+     * 错误信息提到 gzip 或 Content-Encoding
+     */
+    private static boolean isEncodingRejected(Response response) throws IOException {
+        if (response.code() == 415) {
+            return true;
+        }
+        if (response.code() != 400) {
+            return false;
+        }
+        String acceptEncoding = response.header("Accept-Encoding");
+        if (acceptEncoding != null && !acceptEncoding.toLowerCase(Locale.ROOT).contains(GZIP)) {
+            return true;
+        }
+        String error = response.peekBody(ERROR_PEEK_BYTES).string().toLowerCase(Locale.ROOT);
+        return error.contains(GZIP) || error.contains("content-encoding");
+    }
+
+    private static Buffer gzip(RequestBody body) throws IOException {
+        Buffer buffer = new Buffer();
+        try (BufferedSink sink = Okio.buffer(new GzipSink(buffer))) {
+            body.writeTo(sink);
+        }
+        return buffer;
+    }
+
+    /**
+     * 网络层：校验 gzip 协商，统计 gzip 响应在网络上传输的字节数
+     */
+    private Response interceptNetwork(Chain chain) throws IOException {
+        Request request = chain.request();
+        String acceptEncoding = request.header("Accept-Encoding");
+        if ((acceptEncoding == null || !acceptEncoding.contains(GZIP)) && negotiationWarned.compareAndSet(false, true)) {
+            FsLogger.warn("请求未协商 gzip 响应压缩，Accept-Encoding={}，请勿手动设置该请求头", acceptEncoding);
+        }
+
+        Response response = chain.proceed(request);
+        ResponseBody body = response.body();
+        if (body == null || !GZIP.equalsIgnoreCase(response.header(CONTENT_ENCODING))) {
+            return response;
+        }
+        compressedResponses.increment();
+        return response.newBuilder()
+            .body(new CountingResponseBody(body, responseBytesWire))
+            .build();
+    }
+
+    /**
+     * 应用层：统计 gzip 响应解压后的字节数
+     */
+    private Response countDecoded(Response response) {
+        Response networkResponse = response.networkResponse();
+        ResponseBody body = response.body();
+        if (body == null || networkResponse == null
+                || !GZIP.equalsIgnoreCase(networkResponse.header(CONTENT_ENCODING))) {
+            return response;
+        }
+        return response.newBuilder()
+            .body(new CountingResponseBody(body, responseBytesDecoded))
+            .build();
+    }
+
+    /**
+     * 读取时累计字节数的响应体
+     */
+    private static final class CountingResponseBody extends ResponseBody {
+        private final ResponseBody delegate;
+        private final BufferedSource source;
+
+        private CountingResponseBody(ResponseBody delegate, LongAdder counter) {
+            this.delegate = delegate;
+            Source counting = new ForwardingSource(delegate.source()) {
+                @Override
+                public long read(Buffer sink, long byteCount) throws IOException {
+                    long read = super.read(sink, byteCount);
+                    if (read > 0) {
+                        counter.add(read);
+                    }
+                    return read;
+                }
+            };
+            this.source = Okio.buffer(counting);
+        }
+
+        @Override
+        public MediaType contentType() {
+            return delegate.contentType();
+        }
+
+        @Override
+        public long contentLength() {
+            return delegate.contentLength();
+        }
+
+        @Override
+        public BufferedSource source() {
+            return source;
+        }
+    }
+}
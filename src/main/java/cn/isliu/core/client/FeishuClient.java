@@ -4,13 +4,25 @@ import com.lark.oapi.Client;
 import com.lark.oapi.core.enums.AppType;
 import com.lark.oapi.service.drive.DriveService;
 import com.lark.oapi.service.sheets.SheetsService;
+import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
 
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
+import cn.isliu.core.ratelimit.ApiOperation;
+import cn.isliu.core.ratelimit.CircuitBreaker;
+import cn.isliu.core.ratelimit.CircuitBreakerConfig;
 import cn.isliu.core.ratelimit.DocumentLockRegistry;
 import cn.isliu.core.ratelimit.FeishuApiExecutor;
 import cn.isliu.core.ratelimit.FeishuRateLimiterManager;
+import cn.isliu.core.ratelimit.LimiterType;
+import cn.isliu.core.ratelimit.OperationTelemetry;
+import cn.isliu.core.ratelimit.QuotaStore;
+import cn.isliu.core.ratelimit.RetryPolicy;
+import cn.isliu.core.ratelimit.SingleFlight;
 import cn.isliu.core.service.*;
 
 /**
@@ -28,6 +40,8 @@ public class FeishuClient {
     private final FeishuRateLimiterManager rateLimiterManager;
     private final DocumentLockRegistry documentLockRegistry;
     private final FeishuApiExecutor apiExecutor;
+    private final SingleFlight readSingleFlight;
+    private final CompressionInterceptor compression;
 
     // 自定义服务，处理官方SDK未覆盖的API
     private volatile CustomSheetService customSheetService;
@@ -43,14 +57,21 @@ public class FeishuClient {
     }
 
     private FeishuClient(String appId, String appSecret, Client officialClient, OkHttpClient httpClient, boolean closeOfficialPool) {
-        this.appId = appId;
-        this.appSecret = appSecret;
+        this(new Builder(appId, appSecret).closeOfficialPool(closeOfficialPool), officialClient, httpClient);
+    }
+
+    private FeishuClient(Builder builder, Client officialClient, OkHttpClient httpClient) {
+        this.appId = builder.appId;
+        this.appSecret = builder.appSecret;
         this.officialClient = officialClient;
         this.httpClient = httpClient;
-        this.closeOfficialPool = closeOfficialPool;
-        this.rateLimiterManager = new FeishuRateLimiterManager();
+        this.closeOfficialPool = builder.closeOfficialPool;
+        this.rateLimiterManager = new FeishuRateLimiterManager(builder.limiterTypes, builder.quotaStore);
         this.documentLockRegistry = new DocumentLockRegistry();
-        this.apiExecutor = new FeishuApiExecutor(rateLimiterManager, documentLockRegistry);
+        this.apiExecutor = new FeishuApiExecutor(rateLimiterManager, documentLockRegistry, appId,
+                builder.retryPolicy, builder.circuitBreakerConfig);
+        this.readSingleFlight = builder.readCoalescing ? new SingleFlight(builder.readResultTtl) : null;
+        this.compression = findCompression(httpClient);
     }
 
 
@@ -248,6 +269,54 @@ public class FeishuClient {
         return rateLimiterManager;
     }
 
+    /**
+     * 获取读请求合并器
+     *
+     * @return 读请求合并器，未启用时返回 null
+     */
+    public SingleFlight readSingleFlight() {
+        return readSingleFlight;
+    }
+
+    /**
+     * 获取压缩拦截器，可查看请求、响应压缩节省的字节数
+     *
+     * @return 压缩拦截器，HTTP客户端未注册时返回 null
+     */
+    public CompressionInterceptor compression() {
+        return compression;
+    }
+
+    private static CompressionInterceptor findCompression(OkHttpClient httpClient) {
+        for (Interceptor interceptor : httpClient.interceptors()) {
+            if (interceptor instanceof CompressionInterceptor) {
+                return (CompressionInterceptor) interceptor;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 获取各操作、各电子表格熔断器的状态快照
+     *
+     * @return 熔断器名称到状态快照的映射
+     */
+    public Map<String, CircuitBreaker.Snapshot> circuitBreakerSnapshot() {
+        return apiExecutor.circuitBreakers().snapshot();
+    }
+
+    /**
+     * 获取各租户、各操作的调用统计快照
+     *
+     * 包括等待限流许可、文档串行队列、重试等待以及接口调用的耗时直方图，和调用、失败、重试、429 次数，
+     * 可用于判断同步变慢是受配额限制还是网络延迟。
+     *
+     * @return 租户标识到操作统计快照的映射
+     */
+    public Map<String, Map<ApiOperation, OperationTelemetry.Snapshot>> telemetrySnapshot() {
+        return rateLimiterManager.telemetrySnapshot();
+    }
+
     public DocumentLockRegistry documentLockRegistry() {
         return documentLockRegistry;
     }
@@ -260,21 +329,29 @@ public class FeishuClient {
         private final String appSecret;
         private boolean closeOfficialPool = false;
         private OkHttpClient.Builder httpClientBuilder;
+        private OptimizedHttpClientFactory.ClientConfig httpClientConfig = OptimizedHttpClientFactory.ClientConfig.feishuDefaults();
+        private int maxConcurrency;
         private AppType appType = AppType.SELF_BUILT;
         private boolean logReqAtDebug = false;
+        private final Map<ApiOperation, LimiterType> limiterTypes = new EnumMap<>(ApiOperation.class);
+        private QuotaStore quotaStore;
+        private boolean readCoalescing = false;
+        private Duration readResultTtl;
+        private RetryPolicy retryPolicy = RetryPolicy.defaults();
+        private CircuitBreakerConfig circuitBreakerConfig = CircuitBreakerConfig.defaults();
+        private boolean requestCompression = false;
+        private long compressionThreshold = CompressionInterceptor.DEFAULT_THRESHOLD;
 
         private Builder(String appId, String appSecret) {
             this.appId = appId;
             this.appSecret = appSecret;
-            // 默认OkHttp配置
-            this.httpClientBuilder =
-                    new OkHttpClient.Builder().connectTimeout(10, TimeUnit.MINUTES).readTimeout(10, TimeUnit.MINUTES)
-                            .writeTimeout(10, TimeUnit.MINUTES).callTimeout(30, TimeUnit.MINUTES);
         }
 
         /**
          * 配置HTTP客户端
          *
+         * 设置后不再使用默认的HTTP配置（{@link #httpClientConfig}、{@link #maxConcurrency}）。
+         *
          * @param builder OkHttp客户端构建器
          * @return 当前构建器
          */
@@ -283,6 +360,38 @@ public class FeishuClient {
             return this;
         }
 
+        /**
+         * 设置默认HTTP客户端的配置
+         *
+         * 默认使用 {@link OptimizedHttpClientFactory.ClientConfig#feishuDefaults()}：
+         * 连接池和单主机并发数按并发度设置，优先使用 HTTP/2，连接超时10秒，读写超时60秒，整体调用超时180秒。
+         *
+         * 该配置只作用于自定义服务使用的 HTTP 客户端。官方SDK的 {@link Client}（{@link FeishuClient#sheets()}、{@link FeishuClient#drive()}）
+         * 使用SDK自带的 HTTP 传输层和默认连接池，只同步整体调用超时，连接池、并发数和 HTTP/2 设置不会传递给它。
+         *
+         * @param config HTTP客户端配置
+         * @return 当前构建器
+         */
+        public Builder httpClientConfig(OptimizedHttpClientFactory.ClientConfig config) {
+            if (config != null) {
+                this.httpClientConfig = config;
+            }
+            return this;
+        }
+
+        /**
+         * 设置并发度，用于确定连接池大小和单主机最大并发请求数，默认32
+         *
+         * 构建时应用到 HTTP 客户端配置的副本上，不修改传入的配置对象，与 {@link #httpClientConfig} 的调用顺序无关。
+         *
+         * @param maxConcurrency 并发度
+         * @return 当前构建器
+         */
+        public Builder maxConcurrency(int maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+            return this;
+        }
+
         /**
          * 设置应用类型
          *
@@ -310,20 +419,154 @@ public class FeishuClient {
             return this;
         }
 
+        /**
+         * 设置指定操作使用的限流器类型
+         *
+         * 默认按分钟计算配额的操作使用滑动窗口限流，按秒计算的操作使用平滑限流。
+         *
+         * @param operation API 操作
+         * @param limiterType 限流器类型
+         * @return 当前构建器
+         */
+        public Builder limiterType(ApiOperation operation, LimiterType limiterType) {
+            if (operation != null && limiterType != null) {
+                this.limiterTypes.put(operation, limiterType);
+            }
+            return this;
+        }
+
+        /**
+         * 设置频控配额存储
+         *
+         * 默认每个客户端在进程内独立限流。同一主机上多个进程使用同一应用时，
+         * 可以使用 {@link cn.isliu.core.ratelimit.MappedFileQuotaStore} 共享配额。
+         *
+         * @param quotaStore 配额存储
+         * @return 当前构建器
+         */
+        public Builder quotaStore(QuotaStore quotaStore) {
+            this.quotaStore = quotaStore;
+            return this;
+        }
+
+        /**
+         * 是否合并相同的并发读请求
+         *
+         * 启用后获取表格信息、读取单个范围、读取多个范围时，执行中的相同请求只调用一次接口，
+         * 结果共享给所有等待的调用方。默认关闭。
+         *
+         * 合并的读请求可能在同一表格的写入完成之前就已发出，写入后立即发起的读取加入该请求时会得到写入前的数据，
+         * 因此只适合读多写少、可以接受短暂旧数据的场景。
+         *
+         * @param readCoalescing 是否合并
+         * @return 当前构建器
+         */
+        public Builder readCoalescing(boolean readCoalescing) {
+            this.readCoalescing = readCoalescing;
+            return this;
+        }
+
+        /**
+         * 设置合并读请求结果的有效期
+         *
+         * 有效期内的相同读请求直接返回上次的结果，适合短时间内大量重复读取的场景。
+         * 默认不缓存结果，只合并执行中的请求。
+         *
+         * @param readResultTtl 结果有效期
+         * @return 当前构建器
+         */
+        public Builder readResultTtl(Duration readResultTtl) {
+            this.readResultTtl = readResultTtl;
+            return this;
+        }
+
+        /**
+         * 设置接口调用失败时的重试策略
+         *
+         * 默认最多重试3次，使用全抖动的指数退避，并限制客户端整体的重试速率。
+         * 连接异常和 5xx 只对读取以及按绝对范围写入的操作重试。
+         *
+         * @param retryPolicy 重试策略
+         * @return 当前构建器
+         */
+        public Builder retryPolicy(RetryPolicy retryPolicy) {
+            if (retryPolicy != null) {
+                this.retryPolicy = retryPolicy;
+            }
+            return this;
+        }
+
+        /**
+         * 设置熔断配置
+         *
+         * 按操作和电子表格统计失败率与慢调用率，超过阈值时快速失败（{@code ErrorCode.API_CIRCUIT_OPEN}），
+         * 一段时间后放行少量试探调用。传入 {@link CircuitBreakerConfig#disabled()} 关闭熔断。
+         *
+         * @param circuitBreakerConfig 熔断配置
+         * @return 当前构建器
+         */
+        public Builder circuitBreaker(CircuitBreakerConfig circuitBreakerConfig) {
+            if (circuitBreakerConfig != null) {
+                this.circuitBreakerConfig = circuitBreakerConfig;
+            }
+            return this;
+        }
+
+        /**
+         * 是否使用 gzip 压缩较大的请求体
+         *
+         * 开启后超过阈值的请求体（如大批量写入）压缩后发送；服务端拒绝压缩的请求体时自动改为未压缩重发，
+         * 之后该主机不再压缩。默认关闭。响应的 gzip 解压始终开启。
+         *
+         * @param requestCompression 是否压缩
+         * @return 当前构建器
+         */
+        public Builder requestCompression(boolean requestCompression) {
+            this.requestCompression = requestCompression;
+            return this;
+        }
+
+        /**
+         * 设置请求体压缩阈值，默认8KB
+         *
+         * @param bytes 阈值（字节）
+         * @return 当前构建器
+         */
+        public Builder compressionThreshold(long bytes) {
+            if (bytes >= 0) {
+                this.compressionThreshold = bytes;
+            }
+            return this;
+        }
+
         /**
          * 构建FeishuClient实例
          *
          * @return FeishuClient实例
          */
         public FeishuClient build() {
-            // 构建官方Client
-            Client officialClient =
-                    Client.newBuilder(appId, appSecret).appType(appType).logReqAtDebug(logReqAtDebug).build();
+            // 构建官方Client，使用默认HTTP配置时请求超时与自定义服务保持一致；
+            // 官方Client使用SDK自带的传输层和默认连接池，下面的连接池、并发数和HTTP/2配置只作用于自定义服务
+            Client.Builder officialBuilder =
+                    Client.newBuilder(appId, appSecret).appType(appType).logReqAtDebug(logReqAtDebug);
+            if (httpClientBuilder == null) {
+                officialBuilder.requestTimeout(httpClientConfig.callTimeout, TimeUnit.SECONDS);
+            }
+            Client officialClient = officialBuilder.build();
 
             // 构建OkHttpClient
-            OkHttpClient httpClient = httpClientBuilder.build();
-
-            return new FeishuClient(appId, appSecret, officialClient, httpClient, closeOfficialPool);
+            OptimizedHttpClientFactory.ClientConfig config = httpClientConfig;
+            if (maxConcurrency > 0) {
+                config = httpClientConfig.copy().maxConcurrency(maxConcurrency);
+            }
+            OkHttpClient.Builder clientBuilder = httpClientBuilder != null ? httpClientBuilder.build().newBuilder()
+                    : OptimizedHttpClientFactory.createOptimizedClientBuilder(config);
+            CompressionInterceptor compression = new CompressionInterceptor(requestCompression, compressionThreshold);
+            OkHttpClient httpClient = clientBuilder.addInterceptor(compression)
+                    .addNetworkInterceptor(compression.networkInterceptor())
+                    .build();
+
+            return new FeishuClient(this, officialClient, httpClient);
         }
     }
 }
\ No newline at end of file
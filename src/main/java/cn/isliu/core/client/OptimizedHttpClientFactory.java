@@ -5,6 +5,8 @@ import okhttp3.*;
 import okhttp3.logging.HttpLoggingInterceptor;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -20,6 +22,7 @@ public class OptimizedHttpClientFactory {
     private static final int READ_TIMEOUT = 60; // seconds
     private static final int WRITE_TIMEOUT = 60; // seconds
     private static final int CALL_TIMEOUT = 120; // seconds
+    private static final int MAX_CONCURRENCY = 32;
     
     // 重试配置常量
     private static final int MAX_RETRY_ATTEMPTS = 3;
@@ -41,16 +44,35 @@ public class OptimizedHttpClientFactory {
      * @return 配置优化的OkHttpClient实例
      */
     public static OkHttpClient createOptimizedClient(ClientConfig config) {
-        // 创建优化的连接池
+        return createOptimizedClientBuilder(config).build();
+    }
+    
+    /**
+     * 使用自定义配置创建HTTP客户端构建器，便于在此基础上继续定制
+     * 
+     * @param config 客户端配置
+     * @return 配置优化的OkHttpClient构建器
+     */
+    public static OkHttpClient.Builder createOptimizedClientBuilder(ClientConfig config) {
+        // 创建优化的连接池，空闲连接数不低于并发数，避免并发请求结束后连接被回收
         ConnectionPool connectionPool = new ConnectionPool(
-            config.maxIdleConnections,
+            Math.max(config.maxIdleConnections, config.maxConcurrency),
             config.keepAliveDuration,
             TimeUnit.MINUTES
         );
         
+        // 默认每个主机只允许5个并发请求，按并发数放开
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(Math.max(64, config.maxConcurrency * 2));
+        dispatcher.setMaxRequestsPerHost(config.maxConcurrency);
+        
         // 创建HTTP客户端构建器
         OkHttpClient.Builder builder = new OkHttpClient.Builder()
             .connectionPool(connectionPool)
+            .dispatcher(dispatcher)
+            .protocols(config.enableHttp2
+                ? Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1)
+                : Collections.singletonList(Protocol.HTTP_1_1))
             .connectTimeout(config.connectTimeout, TimeUnit.SECONDS)
             .readTimeout(config.readTimeout, TimeUnit.SECONDS)
             .writeTimeout(config.writeTimeout, TimeUnit.SECONDS)
@@ -60,7 +82,7 @@ public class OptimizedHttpClientFactory {
         // 添加拦截器链
         addInterceptors(builder, config);
         
-        return builder.build();
+        return builder;
     }
     
     /**
@@ -269,6 +291,10 @@ public class OptimizedHttpClientFactory {
         public int maxIdleConnections = MAX_IDLE_CONNECTIONS;
         public long keepAliveDuration = KEEP_ALIVE_DURATION;
         
+        // 并发配置
+        public int maxConcurrency = MAX_CONCURRENCY;
+        public boolean enableHttp2 = true;
+        
         // 超时配置
         public int connectTimeout = CONNECT_TIMEOUT;
         public int readTimeout = READ_TIMEOUT;
@@ -308,6 +334,27 @@ public class OptimizedHttpClientFactory {
             return config;
         }
         
+        /**
+         * 创建飞书客户端默认配置
+         * 
+         * 连接超时10秒，读写超时60秒，整体调用超时180秒；
+         * 重试由 FeishuApiExecutor 按重试策略统一处理，这里关闭拦截器重试，避免重复重试；
+         * 各操作的调用耗时已由 FeishuApiExecutor 记录，这里关闭监控拦截器，避免每个请求重复记录
+         * 
+         * @return 飞书客户端默认配置实例
+         */
+        public static ClientConfig feishuDefaults() {
+            ClientConfig config = new ClientConfig();
+            config.connectTimeout = 10;
+            config.readTimeout = 60;
+            config.writeTimeout = 60;
+            config.callTimeout = 180;
+            config.enableRetry = false;
+            config.enableMonitoring = false;
+            config.enableLogging = false;
+            return config;
+        }
+        
         /**
          * 创建开发环境配置
          * 
@@ -320,6 +367,30 @@ public class OptimizedHttpClientFactory {
             return config;
         }
         
+        /**
+         * 复制当前配置
+         * 
+         * @return 字段值相同的新配置实例
+         */
+        public ClientConfig copy() {
+            ClientConfig config = new ClientConfig();
+            config.maxIdleConnections = maxIdleConnections;
+            config.keepAliveDuration = keepAliveDuration;
+            config.maxConcurrency = maxConcurrency;
+            config.enableHttp2 = enableHttp2;
+            config.connectTimeout = connectTimeout;
+            config.readTimeout = readTimeout;
+            config.writeTimeout = writeTimeout;
+            config.callTimeout = callTimeout;
+            config.enableRetry = enableRetry;
+            config.maxRetryAttempts = maxRetryAttempts;
+            config.initialRetryDelay = initialRetryDelay;
+            config.enableMonitoring = enableMonitoring;
+            config.enableLogging = enableLogging;
+            config.loggingLevel = loggingLevel;
+            return config;
+        }
+        
         // 流式配置方法
         public ClientConfig maxIdleConnections(int maxIdleConnections) {
             this.maxIdleConnections = maxIdleConnections;
@@ -331,6 +402,18 @@ public class OptimizedHttpClientFactory {
             return this;
         }
         
+        public ClientConfig maxConcurrency(int maxConcurrency) {
+            if (maxConcurrency > 0) {
+                this.maxConcurrency = maxConcurrency;
+            }
+            return this;
+        }
+        
+        public ClientConfig enableHttp2(boolean enableHttp2) {
+            this.enableHttp2 = enableHttp2;
+            return this;
+        }
+        
         public ClientConfig connectTimeout(int connectTimeout) {
             this.connectTimeout = connectTimeout;
             return this;
@@ -0,0 +1,133 @@
+package cn.isliu.core.converters;
+
+import cn.isliu.core.annotation.ThreadSafeProcess;
+
+import java.lang.reflect.Constructor;
+
+/**
+ * 处理类注册中心
+ *
+ * 缓存 FieldValueProcess 和 OptionsValueProcess 的实例，转换单元格值时不再每次通过反射创建处理类：
+ * <ul>
+ *     <li>通过 {@link #register(Class, Object)} 注册的实例优先使用，所有线程共享</li>
+ *     <li>标记了 {@link ThreadSafeProcess} 的处理类只创建一个实例，所有线程共享</li>
+ *     <li>其他处理类每个线程创建一个实例并重复使用</li>
+ * </ul>
+ */
+public final class ConverterRegistry {
+
+    private static final ClassValue<Holder> HOLDERS = new ClassValue<Holder>() {
+        @Override
+        protected Holder computeValue(Class<?> type) {
+            return new Holder(type);
+        }
+    };
+
+    private ConverterRegistry() {
+    }
+
+    /**
+     * 注册预先创建的处理类实例
+     *
+     * 注册后该处理类的所有使用方共享此实例，调用方需保证实例线程安全。
+     *
+     * @param type 处理类
+     * @param instance 处理类实例
+     * @param <T> 处理类泛型
+     */
+    public static <T> void register(Class<T> type, T instance) {
+        if (type == null || instance == null) {
+            throw new IllegalArgumentException("处理类及其实例不能为空");
+        }
+        HOLDERS.get(type).registered = instance;
+    }
+
+    /**
+     * 移除已注册的处理类实例，之后按默认方式创建实例
+     *
+     * @param type 处理类
+     */
+    public static void unregister(Class<?> type) {
+        if (type != null) {
+            HOLDERS.get(type).registered = null;
+        }
+    }
+
+    /**
+     * 获取字段值处理类实例
+     *
+     * @param type 处理类
+     * @return 处理类实例
+     * @throws ReflectiveOperationException 处理类无法实例化
+     */
+    @SuppressWarnings("rawtypes")
+    public static FieldValueProcess getFieldValueProcess(Class<? extends FieldValueProcess> type) throws ReflectiveOperationException {
+        return (FieldValueProcess) HOLDERS.get(type).get();
+    }
+
+    /**
+     * 获取选项值处理类实例
+     *
+     * @param type 处理类
+     * @return 处理类实例
+     * @throws ReflectiveOperationException 处理类无法实例化
+     */
+    @SuppressWarnings("rawtypes")
+    public static OptionsValueProcess getOptionsValueProcess(Class<? extends OptionsValueProcess> type) throws ReflectiveOperationException {
+        return (OptionsValueProcess) HOLDERS.get(type).get();
+    }
+
+    /**
+     * 单个处理类的实例持有者
+     */
+    private static final class Holder {
+        private final Class<?> type;
+        private final boolean threadSafe;
+        private final ThreadLocal<Object> perThread = new ThreadLocal<>();
+        private volatile Constructor<?> constructor;
+        private volatile Object registered;
+        private volatile Object shared;
+
+        private Holder(Class<?> type) {
+            this.type = type;
+            this.threadSafe = type.isAnnotationPresent(ThreadSafeProcess.class);
+        }
+
+        private Object get() throws ReflectiveOperationException {
+            Object instance = registered;
+            if (instance != null) {
+                return instance;
+            }
+
+            if (threadSafe) {
+                instance = shared;
+                if (instance == null) {
+                    synchronized (this) {
+                        instance = shared;
+                        if (instance == null) {
+                            instance = newInstance();
+                            shared = instance;
+                        }
+                    }
+                }
+                return instance;
+            }
+
+            instance = perThread.get();
+            if (instance == null) {
+                instance = newInstance();
+                perThread.set(instance);
+            }
+            return instance;
+        }
+
+        private Object newInstance() throws ReflectiveOperationException {
+            Constructor<?> c = constructor;
+            if (c == null) {
+                c = type.getDeclaredConstructor();
+                constructor = c;
+            }
+            return c.newInstance();
+        }
+    }
+}
@@ -1,7 +1,5 @@
 package cn.isliu.core.enums;
 
-import java.util.Arrays;
-
 public interface BaseEnum {
 
     /**
@@ -27,10 +25,7 @@ public interface BaseEnum {
             return null;
         }
 
-        return Arrays.stream(enumClass.getEnumConstants())
-                .filter(e -> e.getDesc().equals(desc.toString()))
-                .findFirst()
-                .orElse(null);
+        return EnumLookup.of(enumClass).getByDesc(desc.toString());
     }
 
     /**
@@ -45,9 +40,6 @@ public interface BaseEnum {
         if (code == null) {
             return null;
         }
-        return Arrays.stream(enumClass.getEnumConstants())
-                .filter(e -> e.getCode().equals(code.toString()))
-                .findFirst()
-                .orElse(null);
+        return EnumLookup.of(enumClass).getByCode(code.toString());
     }
 }
\ No newline at end of file
@@ -0,0 +1,123 @@
+package cn.isliu.core.enums;
+
+import java.util.*;
+
+/**
+ * 枚举查找表
+ *
+ * 按枚举类预先计算的 code、desc 到枚举实例的映射以及按声明顺序排列的选项列表，
+ * 读写数据和设置下拉选项时不再线性扫描枚举常量。查找表按类缓存，线程安全。
+ *
+ * @param <T> 枚举类型
+ */
+public final class EnumLookup<T extends BaseEnum> {
+
+    private static final ClassValue<EnumLookup<?>> LOOKUPS = new ClassValue<EnumLookup<?>>() {
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        protected EnumLookup<?> computeValue(Class<?> type) {
+            return new EnumLookup(type);
+        }
+    };
+
+    private final Map<String, T> byCode;
+    private final Map<String, T> byDesc;
+    private final Map<String, T> byCodeOrDesc;
+    private final List<String> descs;
+    private final Map<String, String> codeToDesc;
+
+    private EnumLookup(Class<T> enumClass) {
+        T[] constants = enumClass.getEnumConstants();
+        if (constants == null) {
+            constants = (T[]) new BaseEnum[0];
+        }
+
+        Map<String, T> codes = new HashMap<>();
+        Map<String, T> descMap = new HashMap<>();
+        Map<String, T> codeOrDesc = new HashMap<>();
+        List<String> descList = new ArrayList<>(constants.length);
+        Map<String, String> options = new LinkedHashMap<>();
+
+        // 同一个值对应多个常量时保留声明顺序中的第一个，与线性查找的结果一致
+        for (T constant : constants) {
+            String code = constant.getCode();
+            String desc = constant.getDesc();
+            if (code != null) {
+                codes.putIfAbsent(code, constant);
+                codeOrDesc.putIfAbsent(code, constant);
+            }
+            if (desc != null) {
+                descMap.putIfAbsent(desc, constant);
+                codeOrDesc.putIfAbsent(desc, constant);
+            }
+            descList.add(desc);
+            options.put(code, desc);
+        }
+
+        this.byCode = codes;
+        this.byDesc = descMap;
+        this.byCodeOrDesc = codeOrDesc;
+        this.descs = Collections.unmodifiableList(descList);
+        this.codeToDesc = Collections.unmodifiableMap(options);
+    }
+
+    /**
+     * 获取枚举类的查找表
+     *
+     * @param enumClass 枚举类
+     * @param <T> 枚举类型
+     * @return 查找表
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends BaseEnum> EnumLookup<T> of(Class<T> enumClass) {
+        return (EnumLookup<T>) LOOKUPS.get(enumClass);
+    }
+
+    /**
+     * 根据代码获取枚举实例
+     *
+     * @param code 代码
+     * @return 枚举实例，未找到返回null
+     */
+    public T getByCode(String code) {
+        return code == null ? null : byCode.get(code);
+    }
+
+    /**
+     * 根据描述获取枚举实例
+     *
+     * @param desc 描述
+     * @return 枚举实例，未找到返回null
+     */
+    public T getByDesc(String desc) {
+        return desc == null ? null : byDesc.get(desc);
+    }
+
+    /**
+     * 根据代码或描述获取枚举实例，按声明顺序返回第一个代码或描述匹配的常量
+     *
+     * @param value 代码或描述
+     * @return 枚举实例，未找到返回null
+     */
+    public T getByCodeOrDesc(String value) {
+        return value == null ? null : byCodeOrDesc.get(value);
+    }
+
+    /**
+     * 获取按声明顺序排列的描述列表，用作下拉选项
+     *
+     * @return 不可修改的描述列表
+     */
+    public List<String> getDescs() {
+        return descs;
+    }
+
+    /**
+     * 获取按声明顺序排列的 code -> desc 映射
+     *
+     * @return 不可修改的映射
+     */
+    public Map<String, String> getCodeToDesc() {
+        return codeToDesc;
+    }
+}
@@ -28,6 +28,7 @@ public enum ErrorCode implements BaseEnum {
     API_NOT_FOUND("FS105", "API resource not found", ErrorCategory.API),
     API_SERVER_ERROR("FS106", "API server error", ErrorCategory.API),
     API_RESPONSE_PARSE_ERROR("FS107", "API response parse error", ErrorCategory.API),
+    API_CIRCUIT_OPEN("FS108", "API circuit breaker open", ErrorCategory.API),
 
     // 线程安全相关错误 (FS200-FS299)
     THREAD_SAFETY_VIOLATION("FS200", "Thread safety violation", ErrorCategory.CONCURRENCY),
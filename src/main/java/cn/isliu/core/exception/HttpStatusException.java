@@ -0,0 +1,47 @@
+package cn.isliu.core.exception;
+
+import java.io.IOException;
+
+/**
+ * HTTP 状态异常
+ * 
+ * 飞书接口返回非成功状态码时抛出，保留状态码用于判断是否可以重试
+ * 
+ * @author isliu
+ */
+public class HttpStatusException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    /** HTTP 状态码 */
+    private final int statusCode;
+
+    /**
+     * 构造函数
+     * 
+     * @param statusCode HTTP 状态码
+     * @param message 错误消息
+     */
+    public HttpStatusException(int statusCode, String message) {
+        super(message);
+        this.statusCode = statusCode;
+    }
+
+    /**
+     * 获取 HTTP 状态码
+     * 
+     * @return HTTP 状态码
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * 是否为服务端错误（5xx）
+     * 
+     * @return 是否为服务端错误
+     */
+    public boolean isServerError() {
+        return statusCode >= 500 && statusCode < 600;
+    }
+}
@@ -250,6 +250,16 @@ public class FsLogger {
         }
     }
     
+    /**
+     * 记录一次计数指标，不输出日志
+     * 
+     * @param name 指标名称
+     */
+    public static void recordCount(String name) {
+        operationCounts.computeIfAbsent(name, k -> new AtomicLong(0))
+                       .incrementAndGet();
+    }
+    
     /**
      * 获取性能指标
      * 
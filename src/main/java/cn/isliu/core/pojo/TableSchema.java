@@ -0,0 +1,120 @@
+package cn.isliu.core.pojo;
+
+import cn.isliu.core.annotation.TableConf;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 表格结构信息
+ *
+ * 实体类解析后的不可变结构信息，包括表格配置、字段映射、排序后的表头、
+ * 表头层级数以及唯一键对应的列名。每个实体类只解析一次，由所有读写构建器共享。
+ */
+public class TableSchema {
+
+    /**
+     * 实体类
+     */
+    private final Class<?> type;
+
+    /**
+     * 表格配置，实体类未声明@TableConf注解时为默认配置
+     */
+    private final TableConf tableConf;
+
+    /**
+     * 字段映射关系，key为表头名称，value为字段属性
+     */
+    private final Map<String, FieldProperty> fieldsMap;
+
+    /**
+     * 按order排序的表头列表
+     */
+    private final List<String> headers;
+
+    /**
+     * 字段路径列表
+     */
+    private final List<String> fieldPaths;
+
+    /**
+     * 表头最大层级数
+     */
+    private final int maxLevel;
+
+    /**
+     * 唯一键对应的表头名称
+     */
+    private final Set<String> uniKeyNames;
+
+    public TableSchema(Class<?> type, TableConf tableConf, Map<String, FieldProperty> fieldsMap, List<String> headers,
+                       List<String> fieldPaths, int maxLevel, Set<String> uniKeyNames) {
+        this.type = type;
+        this.tableConf = tableConf;
+        this.fieldsMap = fieldsMap;
+        this.headers = headers;
+        this.fieldPaths = fieldPaths;
+        this.maxLevel = maxLevel;
+        this.uniKeyNames = uniKeyNames;
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    public TableConf getTableConf() {
+        return tableConf;
+    }
+
+    /**
+     * 获取字段映射关系
+     *
+     * @return 不可修改的字段映射关系
+     */
+    public Map<String, FieldProperty> getFieldsMap() {
+        return fieldsMap;
+    }
+
+    /**
+     * 获取按order排序的表头列表
+     *
+     * @return 不可修改的表头列表
+     */
+    public List<String> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * 获取字段路径列表，顺序与字段映射关系的遍历顺序一致
+     *
+     * @return 不可修改的字段路径列表
+     */
+    public List<String> getFieldPaths() {
+        return fieldPaths;
+    }
+
+    public int getMaxLevel() {
+        return maxLevel;
+    }
+
+    /**
+     * 获取唯一键对应的表头名称
+     *
+     * @return 不可修改的表头名称集合
+     */
+    public Set<String> getUniKeyNames() {
+        return uniKeyNames;
+    }
+
+    @Override
+    public String toString() {
+        return "TableSchema{" +
+                "type=" + type.getName() +
+                ", headers=" + headers +
+                ", maxLevel=" + maxLevel +
+                ", uniKeyNames=" + uniKeyNames +
+                '}';
+    }
+}
@@ -0,0 +1,16 @@
+package cn.isliu.core.pojo;
+
+import cn.isliu.core.ValuesBatch;
+
+/**
+ * 读取多个范围的响应，data 直接解析为 {@link ValuesBatch}
+ */
+public class ValuesBatchResponse extends ApiResponse<ValuesBatch> {
+
+    public ValuesBatchResponse() {
+    }
+
+    public ValuesBatchResponse(int code, String msg, ValuesBatch data) {
+        super(code, msg, data);
+    }
+}
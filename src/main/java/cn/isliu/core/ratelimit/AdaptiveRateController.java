@@ -0,0 +1,152 @@
+package cn.isliu.core.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 自适应限流速率控制器（AIMD）
+ *
+ * <p>每个租户的每个操作对应一个控制器：</p>
+ * <ul>
+ *     <li>触发 429 时按比例降低速率（乘性减），服务端返回的 x-ogw-ratelimit-limit 作为速率上限参考；
+ *     同一个重置窗口内并发返回的多个 429 只降速一次；</li>
+ *     <li>降速后连续成功达到一定次数，并且已过服务端给出的重置时间，按基准速率的固定比例逐步恢复（加性增），
+ *     最高恢复到 {@link ApiOperation} 定义的基准速率。</li>
+ * </ul>
+ *
+ * <p>速率处于基准值时成功回调只有一次 volatile 读，不影响正常调用。</p>
+ */
+public class AdaptiveRateController {
+
+    /**
+     * 触发 429 时的降速比例
+     */
+    static final double DECREASE_FACTOR = 0.5d;
+
+    /**
+     * 每次恢复增加的速率占基准速率的比例
+     */
+    static final double INCREASE_RATIO = 0.1d;
+
+    /**
+     * 每次恢复前需要的连续成功次数
+     */
+    static final int SUCCESS_THRESHOLD = 10;
+
+    /**
+     * 速率下限（每秒许可数）
+     */
+    static final double MIN_RATE = 0.1d;
+
+    /**
+     * 两次恢复之间的最小间隔
+     */
+    private static final long MIN_INCREASE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * 降速窗口的最小长度，服务端未给出重置时间时使用
+     */
+    private static final long MIN_DECREASE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final OperationLimiter limiter;
+    private final double baselineRate;
+
+    private volatile boolean degraded;
+    private double currentRate;
+    private int successCount;
+    private long holdUntilNanos;
+    private long decreaseWindowUntilNanos;
+
+    public AdaptiveRateController(OperationLimiter limiter, double baselineRate) {
+        this.limiter = limiter;
+        this.baselineRate = baselineRate;
+        this.currentRate = baselineRate;
+        this.holdUntilNanos = System.nanoTime();
+        this.decreaseWindowUntilNanos = holdUntilNanos;
+        // 共享配额存储中的速率可能已被其他进程降低，从该速率开始恢复
+        double sharedRate = limiter.getRate();
+        if (sharedRate > 0 && sharedRate < baselineRate) {
+            this.currentRate = Math.max(MIN_RATE, sharedRate);
+            this.degraded = true;
+        }
+    }
+
+    public double getBaselineRate() {
+        return baselineRate;
+    }
+
+    public synchronized double getCurrentRate() {
+        return currentRate;
+    }
+
+    /**
+     * 记录一次成功调用，满足条件时加性恢复速率
+     */
+    public void onSuccess() {
+        if (!degraded) {
+            return;
+        }
+        synchronized (this) {
+            if (!degraded || ++successCount < SUCCESS_THRESHOLD) {
+                return;
+            }
+            long now = System.nanoTime();
+            if (now - holdUntilNanos < 0) {
+                return;
+            }
+            successCount = 0;
+            holdUntilNanos = now + MIN_INCREASE_INTERVAL_NANOS;
+            // 共享配额存储的降速租约可能已经到期恢复，以两者中较大的速率为准
+            double rate = Math.max(currentRate, Math.min(baselineRate, limiter.getRate()));
+            applyRate(Math.min(baselineRate, rate + baselineRate * INCREASE_RATIO));
+        }
+    }
+
+    /**
+     * 记录一次 429，乘性降低速率
+     *
+     * <p>降速后在服务端给出的重置时间内（至少 1 秒）不再乘性降速：这段时间内返回的 429
+     * 多是降速前已经发出的请求，重复降速会使速率按并发数成倍下降。窗口内只采用更低的服务端限流值。</p>
+     *
+     * @param serverLimit 服务端返回的限流值（x-ogw-ratelimit-limit），未知时为小于等于0的值
+     * @param resetMillis 服务端要求的等待时间（毫秒），在此之前不恢复速率
+     */
+    public synchronized void onRateLimited(double serverLimit, long resetMillis) {
+        long now = System.nanoTime();
+        long resetNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, resetMillis));
+        successCount = 0;
+        if (now + resetNanos - holdUntilNanos > 0) {
+            holdUntilNanos = now + resetNanos;
+        }
+        if (now - decreaseWindowUntilNanos < 0) {
+            if (serverLimit > 0 && serverLimit < currentRate) {
+                applyRate(serverLimit);
+            }
+            return;
+        }
+        decreaseWindowUntilNanos = now + Math.max(resetNanos, MIN_DECREASE_INTERVAL_NANOS);
+        double rate = currentRate * DECREASE_FACTOR;
+        if (serverLimit > 0) {
+            rate = Math.min(rate, serverLimit);
+        }
+        applyRate(rate);
+    }
+
+    /**
+     * 手动设置速率，不超过基准速率
+     *
+     * @param permitsPerSecond 每秒许可数
+     */
+    public synchronized void setRate(double permitsPerSecond) {
+        if (permitsPerSecond <= 0) {
+            return;
+        }
+        successCount = 0;
+        applyRate(Math.min(baselineRate, permitsPerSecond));
+    }
+
+    private void applyRate(double rate) {
+        currentRate = Math.max(MIN_RATE, rate);
+        degraded = currentRate < baselineRate;
+        limiter.setRate(currentRate);
+    }
+}
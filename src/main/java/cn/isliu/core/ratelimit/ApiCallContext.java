@@ -0,0 +1,119 @@
+package cn.isliu.core.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * API 调用上下文
+ *
+ * <p>保存当前线程发起的 API 调用的优先级和截止时间，由 {@link FeishuApiExecutor} 在获取限流许可时读取。
+ * 读写构建器通过 {@link #call(ApiPriority, Duration, Supplier)} 为一次构建中的所有 API 调用设置上下文。</p>
+ */
+public final class ApiCallContext {
+
+    /**
+     * 默认上下文：默认优先级，无截止时间
+     */
+    public static final ApiCallContext DEFAULT = new ApiCallContext(ApiPriority.DEFAULT, 0L, false);
+
+    private static final ThreadLocal<ApiCallContext> CURRENT = new ThreadLocal<>();
+
+    private final ApiPriority priority;
+    private final long deadlineNanos;
+    private final boolean hasDeadline;
+
+    private ApiCallContext(ApiPriority priority, long deadlineNanos, boolean hasDeadline) {
+        this.priority = priority;
+        this.deadlineNanos = deadlineNanos;
+        this.hasDeadline = hasDeadline;
+    }
+
+    /**
+     * 创建上下文
+     *
+     * @param priority 优先级，为 null 时使用默认优先级
+     * @param timeout 从现在开始的超时时间，为 null 时不限制
+     * @return 上下文
+     */
+    public static ApiCallContext of(ApiPriority priority, Duration timeout) {
+        ApiPriority p = priority != null ? priority : ApiPriority.DEFAULT;
+        if (timeout == null) {
+            return p == ApiPriority.DEFAULT ? DEFAULT : new ApiCallContext(p, 0L, false);
+        }
+        return new ApiCallContext(p, System.nanoTime() + Math.max(0L, timeout.toNanos()), true);
+    }
+
+    /**
+     * 获取当前线程的上下文
+     *
+     * @return 当前上下文，未设置时返回默认上下文
+     */
+    public static ApiCallContext current() {
+        ApiCallContext context = CURRENT.get();
+        return context != null ? context : DEFAULT;
+    }
+
+    /**
+     * 在指定上下文中执行
+     *
+     * @param priority 优先级，为 null 时沿用当前优先级
+     * @param timeout 超时时间，为 null 时沿用当前截止时间
+     * @param action 执行逻辑
+     * @param <T> 返回值类型
+     * @return 执行结果
+     */
+    public static <T> T call(ApiPriority priority, Duration timeout, Supplier<T> action) {
+        ApiCallContext previous = CURRENT.get();
+        if (priority == null && timeout == null) {
+            return action.get();
+        }
+        ApiCallContext base = previous != null ? previous : DEFAULT;
+        ApiCallContext context;
+        if (timeout != null) {
+            context = of(priority != null ? priority : base.priority, timeout);
+            // 嵌套调用不能放宽外层的截止时间
+            if (base.hasDeadline && base.deadlineNanos - context.deadlineNanos < 0) {
+                context = new ApiCallContext(context.priority, base.deadlineNanos, true);
+            }
+        } else {
+            context = new ApiCallContext(priority, base.deadlineNanos, base.hasDeadline);
+        }
+
+        CURRENT.set(context);
+        try {
+            return action.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    public ApiPriority getPriority() {
+        return priority;
+    }
+
+    public boolean hasDeadline() {
+        return hasDeadline;
+    }
+
+    /**
+     * 获取距离截止时间的剩余纳秒数
+     *
+     * @return 剩余纳秒数，无截止时间时返回 Long.MAX_VALUE
+     */
+    public long remainingNanos() {
+        return hasDeadline ? deadlineNanos - System.nanoTime() : Long.MAX_VALUE;
+    }
+
+    @Override
+    public String toString() {
+        return "ApiCallContext{" +
+                "priority=" + priority +
+                ", remainingMillis=" + (hasDeadline ? TimeUnit.NANOSECONDS.toMillis(remainingNanos()) : "unbounded") +
+                '}';
+    }
+}
@@ -2,12 +2,16 @@ package cn.isliu.core.ratelimit;
 
 import java.time.Duration;
 import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * 飞书 API 操作枚举
  *
- * <p>枚举定义了不同 API 行为的频控规则，便于统一限流管理。</p>
+ * <p>枚举定义了不同 API 行为的频控规则，便于统一限流管理。
+ * 按分钟计算配额的操作默认使用滑动窗口限流，允许在窗口内突发；按秒计算的操作使用平滑限流。
+ * 读取类操作以及按绝对范围写入的操作视为幂等，连接异常和 5xx 时可以重试。</p>
  */
 public enum ApiOperation {
 
@@ -69,6 +73,12 @@ public enum ApiOperation {
 
     private static final Map<ApiOperation, RateLimitRule> CACHE = new EnumMap<>(ApiOperation.class);
 
+    /**
+     * 按绝对范围写入的操作，重复执行结果相同
+     */
+    private static final Set<ApiOperation> IDEMPOTENT_WRITES = EnumSet.of(
+            WRITE_SINGLE_RANGE, WRITE_MULTI_RANGE, SET_CELL_STYLE, BATCH_SET_CELL_STYLE);
+
     static {
         for (ApiOperation operation : values()) {
             CACHE.put(operation, RateLimitRule.builder()
@@ -77,6 +87,9 @@ public enum ApiOperation {
                     .permits(operation.permits)
                     .requireDocumentLock(operation.requireDocumentLock)
                     .allow429Retry(operation.requireDocumentLock || operation.allow429Retry)
+                    .limiterType(operation.window.compareTo(Duration.ofMinutes(1)) >= 0
+                            ? LimiterType.SLIDING_WINDOW : LimiterType.SMOOTH)
+                    .idempotent(isRead(operation) || IDEMPOTENT_WRITES.contains(operation))
                     .build());
         }
     }
@@ -103,6 +116,12 @@ public enum ApiOperation {
         this.allow429Retry = allow429Retry;
     }
 
+    private static boolean isRead(ApiOperation operation) {
+        String name = operation.name();
+        return name.startsWith("GET_") || name.startsWith("READ_")
+                || name.startsWith("QUERY_") || name.startsWith("FIND_");
+    }
+
     public String getDescription() {
         return description;
     }
@@ -0,0 +1,35 @@
+package cn.isliu.core.ratelimit;
+
+/**
+ * API 调用优先级
+ *
+ * <p>同一租户、同一操作的调用在等待限流许可时按加权公平排队：权重越大，获得许可的份额越大。
+ * 交互式读取不会被批量写入长时间阻塞，批量任务也不会完全饿死。</p>
+ */
+public enum ApiPriority {
+
+    /**
+     * 交互式调用，如页面实时读取
+     */
+    INTERACTIVE(8),
+
+    /**
+     * 默认优先级
+     */
+    DEFAULT(4),
+
+    /**
+     * 批量调用，如大批量导入导出
+     */
+    BULK(1);
+
+    private final int weight;
+
+    ApiPriority(int weight) {
+        this.weight = weight;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+}
@@ -0,0 +1,380 @@
+package cn.isliu.core.ratelimit;
+
+import cn.isliu.core.enums.ErrorCode;
+import cn.isliu.core.exception.FsHelperException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * API 调用调度器
+ *
+ * <p>位于单个操作的限流器之前，决定等待中的调用谁先获取许可：</p>
+ * <ul>
+ *     <li>按电子表格做加权公平排队（WFQ）：每次调用的虚拟完成时间为
+ *     max(当前虚拟时间, 该表格上一次的完成时间) + 1 / 权重，按虚拟完成时间从小到大放行，
+ *     一个表格的大批量导出不会让其他表格的调用一直等待；</li>
+ *     <li>权重由 {@link ApiPriority} 决定，交互式调用获得更大的份额；</li>
+ *     <li>调用带有截止时间时，排队或等待许可超过截止时间立即失败，不再无限阻塞。</li>
+ * </ul>
+ *
+ * <p>没有其他调用等待时直接获取许可，不创建排队记录。</p>
+ *
+ * <p>非阻塞调用（{@link #acquireAsync}）与阻塞调用进入同一个队列。轮到非阻塞调用时，
+ * 由调度器在定时线程上的唯一一个唤醒任务按限流器的许可间隔尝试获取许可并完成其 future，
+ * 等待中的非阻塞调用数量不影响唤醒次数。</p>
+ */
+public class ApiScheduler {
+
+    /**
+     * 各表格完成时间记录的清理阈值
+     */
+    private static final int MAX_TRACKED_FLOWS = 1024;
+
+    /**
+     * 非阻塞调用等待许可时的最长唤醒间隔，限流器速率变化后最迟在该时间后按新速率重新计算
+     */
+    private static final long MAX_WAKEUP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final ApiOperation operation;
+    private final OperationLimiter limiter;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final PriorityQueue<Ticket> waiting = new PriorityQueue<>();
+    private final Map<String, Double> lastFinish = new HashMap<>();
+    private double virtualTime;
+    private long sequence;
+    private boolean busy;
+    private boolean wakeupScheduled;
+    private long wakeupAtNanos;
+
+    public ApiScheduler(ApiOperation operation, OperationLimiter limiter) {
+        this.operation = operation;
+        this.limiter = limiter;
+    }
+
+    public OperationLimiter getLimiter() {
+        return limiter;
+    }
+
+    /**
+     * 获取一个许可
+     *
+     * @param flowKey 公平排队的分组，通常为电子表格 token，为 null 时归入同一分组
+     * @param context 调用上下文
+     * @throws FsHelperException 截止时间前未能获取许可
+     */
+    public void acquire(String flowKey, ApiCallContext context) {
+        String flow = flowKey != null ? flowKey : "";
+        Ticket ticket = null;
+
+        lock.lock();
+        try {
+            if (busy || !waiting.isEmpty()) {
+                ticket = enqueue(flow, context.getPriority(), lock.newCondition());
+                awaitTurn(ticket, context);
+            }
+            busy = true;
+            if (ticket == null) {
+                // 无排队时同样推进该表格的完成时间，保证后续排队的公平性
+                advance(flow, context.getPriority());
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        boolean acquired = false;
+        try {
+            if (context.hasDeadline()) {
+                acquired = limiter.tryAcquire(context.remainingNanos());
+            } else {
+                limiter.acquire();
+                acquired = true;
+            }
+        } finally {
+            lock.lock();
+            try {
+                busy = false;
+                signalHead();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        if (!acquired) {
+            throw timeout(context);
+        }
+    }
+
+    /**
+     * 以非阻塞方式获取一个许可
+     *
+     * <p>调用按与 {@link #acquire} 相同的公平规则排队，不占用线程；获取到许可后返回的 future 完成，
+     * 超过截止时间时以 {@link FsHelperException} 异常完成。</p>
+     *
+     * @param flowKey 公平排队的分组，通常为电子表格 token，为 null 时归入同一分组
+     * @param context 调用上下文
+     * @return 获取到许可后完成的 future
+     */
+    public CompletableFuture<Void> acquireAsync(String flowKey, ApiCallContext context) {
+        String flow = flowKey != null ? flowKey : "";
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        if (context.hasDeadline() && context.remainingNanos() <= 0) {
+            future.completeExceptionally(timeout(context));
+            return future;
+        }
+        lock.lock();
+        try {
+            Ticket ticket = enqueue(flow, context.getPriority(), null);
+            ticket.future = future;
+            ticket.context = context;
+        } finally {
+            lock.unlock();
+        }
+        dispatch();
+        return future;
+    }
+
+    /**
+     * 为队首的非阻塞调用获取许可，直到队首为阻塞调用、有调用正在获取许可或限流器暂无许可；
+     * 暂无许可时按许可间隔安排下一次唤醒。过期和已取消的非阻塞调用在此时移出队列。
+     */
+    private void dispatch() {
+        while (true) {
+            List<Ticket> expired = new ArrayList<>();
+            Ticket head;
+            long nextDeadline;
+            lock.lock();
+            try {
+                nextDeadline = removeExpired(expired);
+                head = waiting.peek();
+                if (head == null || busy || head.future == null) {
+                    if (head != null && !busy) {
+                        head.condition.signal();
+                    }
+                    if (nextDeadline > 0) {
+                        scheduleWakeup(nextDeadline);
+                    }
+                    head = null;
+                } else {
+                    busy = true;
+                }
+            } finally {
+                lock.unlock();
+            }
+            for (Ticket ticket : expired) {
+                ticket.future.completeExceptionally(timeout(ticket.context));
+            }
+            if (head == null) {
+                return;
+            }
+
+            boolean acquired = false;
+            try {
+                acquired = limiter.tryAcquire(0L);
+            } finally {
+                lock.lock();
+                try {
+                    busy = false;
+                    if (acquired) {
+                        if (waiting.peek() == head) {
+                            waiting.poll();
+                        } else {
+                            waiting.remove(head);
+                        }
+                        virtualTime = Math.max(virtualTime, head.start);
+                        pruneFlows();
+                    } else {
+                        long interval = permitIntervalNanos();
+                        scheduleWakeup(nextDeadline > 0 ? Math.min(interval, nextDeadline) : interval);
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+            if (!acquired) {
+                return;
+            }
+            head.future.complete(null);
+        }
+    }
+
+    /**
+     * 移除超过截止时间或已被取消的非阻塞调用
+     *
+     * @return 剩余非阻塞调用中最近的截止时间距现在的纳秒数，没有截止时间时返回 0
+     */
+    private long removeExpired(List<Ticket> expired) {
+        long nearest = 0L;
+        Iterator<Ticket> iterator = waiting.iterator();
+        while (iterator.hasNext()) {
+            Ticket ticket = iterator.next();
+            if (ticket.future == null) {
+                continue;
+            }
+            if (ticket.future.isDone()) {
+                iterator.remove();
+            } else if (ticket.context.hasDeadline()) {
+                long remaining = ticket.context.remainingNanos();
+                if (remaining <= 0) {
+                    iterator.remove();
+                    expired.add(ticket);
+                } else if (nearest == 0L || remaining < nearest) {
+                    nearest = remaining;
+                }
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * 下一个许可的大致生成时间，限制在 1ms 到 {@link #MAX_WAKEUP_INTERVAL_NANOS} 之间
+     */
+    private long permitIntervalNanos() {
+        double rate = limiter.getRate();
+        long interval = rate > 0 ? (long) Math.ceil(TimeUnit.SECONDS.toNanos(1) / rate) : MAX_WAKEUP_INTERVAL_NANOS;
+        return Math.max(TimeUnit.MILLISECONDS.toNanos(1), Math.min(MAX_WAKEUP_INTERVAL_NANOS, interval));
+    }
+
+    /**
+     * 安排一次唤醒，已安排的唤醒不晚于该时间时不再重复安排
+     */
+    private void scheduleWakeup(long delayNanos) {
+        long at = System.nanoTime() + delayNanos;
+        if (wakeupScheduled && wakeupAtNanos - at <= 0) {
+            return;
+        }
+        wakeupScheduled = true;
+        wakeupAtNanos = at;
+        FeishuApiExecutor.TIMER.schedule(this::onWakeup, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void onWakeup() {
+        lock.lock();
+        try {
+            if (wakeupScheduled && System.nanoTime() - wakeupAtNanos >= 0) {
+                wakeupScheduled = false;
+            }
+        } finally {
+            lock.unlock();
+        }
+        dispatch();
+    }
+
+    private Ticket enqueue(String flow, ApiPriority priority, Condition condition) {
+        double start = Math.max(virtualTime, lastFinish.getOrDefault(flow, 0.0d));
+        double finish = start + 1.0d / priority.getWeight();
+        lastFinish.put(flow, finish);
+        Ticket ticket = new Ticket(start, finish, sequence++, condition);
+        waiting.add(ticket);
+        return ticket;
+    }
+
+    private void advance(String flow, ApiPriority priority) {
+        double start = Math.max(virtualTime, lastFinish.getOrDefault(flow, 0.0d));
+        virtualTime = start;
+        lastFinish.put(flow, start + 1.0d / priority.getWeight());
+        pruneFlows();
+    }
+
+    private void awaitTurn(Ticket ticket, ApiCallContext context) {
+        boolean interrupted = false;
+        try {
+            while (busy || waiting.peek() != ticket) {
+                if (context.hasDeadline()) {
+                    long remaining = context.remainingNanos();
+                    if (remaining <= 0) {
+                        waiting.remove(ticket);
+                        signalHead();
+                        throw timeout(context);
+                    }
+                    try {
+                        ticket.condition.awaitNanos(remaining);
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                } else {
+                    ticket.condition.awaitUninterruptibly();
+                }
+            }
+            waiting.poll();
+            virtualTime = Math.max(virtualTime, ticket.start);
+            pruneFlows();
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * 唤醒队首：阻塞调用直接通知其线程，非阻塞调用安排立即唤醒
+     */
+    private void signalHead() {
+        Ticket head = waiting.peek();
+        if (head == null) {
+            return;
+        }
+        if (head.future != null) {
+            scheduleWakeup(0L);
+        } else {
+            head.condition.signal();
+        }
+    }
+
+    /**
+     * 移除已经落后于当前虚拟时间的表格记录，它们的下一次调用会从当前虚拟时间开始
+     */
+    private void pruneFlows() {
+        if (lastFinish.size() <= MAX_TRACKED_FLOWS) {
+            return;
+        }
+        Iterator<Map.Entry<String, Double>> iterator = lastFinish.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getValue() <= virtualTime) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private FsHelperException timeout(ApiCallContext context) {
+        return FsHelperException.builder(ErrorCode.CLIENT_TIMEOUT)
+                .message("截止时间前未能获取限流许可，operation:" + operation.name())
+                .context("operation", operation.name())
+                .context("priority", context.getPriority().name())
+                .build();
+    }
+
+    /**
+     * 排队记录，按虚拟完成时间排序，相同时按入队顺序；
+     * 阻塞调用通过 condition 唤醒，非阻塞调用通过 future 完成
+     */
+    private static final class Ticket implements Comparable<Ticket> {
+        private final double start;
+        private final double finish;
+        private final long sequence;
+        private final Condition condition;
+        private CompletableFuture<Void> future;
+        private ApiCallContext context;
+
+        private Ticket(double start, double finish, long sequence, Condition condition) {
+            this.start = start;
+            this.finish = finish;
+            this.sequence = sequence;
+            this.condition = condition;
+        }
+
+        @Override
+        public int compareTo(Ticket other) {
+            int result = Double.compare(finish, other.finish);
+            return result != 0 ? result : Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package cn.isliu.core.ratelimit;
+
+import cn.isliu.core.logging.FsLogger;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 熔断器
+ *
+ * <p>状态流转：</p>
+ * <ul>
+ *     <li>CLOSED：正常放行，按最近 {@link CircuitBreakerConfig#getWindowSize()} 次调用统计失败率和慢调用率，
+ *     任一比例达到阈值时进入 OPEN；</li>
+ *     <li>OPEN：直接拒绝调用，经过熔断持续时间后进入 HALF_OPEN；</li>
+ *     <li>HALF_OPEN：只放行固定次数的试探调用，试探调用全部结束后按同样的阈值判断，
+ *     恢复为 CLOSED 或重新进入 OPEN。</li>
+ * </ul>
+ *
+ * <p>CLOSED 状态下判断是否放行只有一次 volatile 读。</p>
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String name;
+    /**
+     * 状态变更计数使用的名称，只保留操作名，不包含电子表格 token，避免指标数量随表格增长
+     */
+    private final String metricName;
+    private final CircuitBreakerConfig config;
+    private final boolean[] failures;
+    private final boolean[] slows;
+    private final AtomicLong rejectedCalls = new AtomicLong();
+
+    private volatile State state = State.CLOSED;
+    /**
+     * 最近一次记录调用结果的时间，注册表据此清理长时间未使用的熔断器
+     */
+    private volatile long lastCallNanos;
+    private int size;
+    private int index;
+    private int failureCount;
+    private int slowCount;
+    private long openedAt;
+    private int trialPermits;
+    private int trialCalls;
+    private int trialFailures;
+    private int trialSlows;
+
+    public CircuitBreaker(String name, CircuitBreakerConfig config) {
+        this.name = name;
+        int separator = name.indexOf(':');
+        this.metricName = separator < 0 ? name : name.substring(0, separator);
+        this.config = config;
+        this.failures = new boolean[config.getWindowSize()];
+        this.slows = new boolean[config.getWindowSize()];
+        this.lastCallNanos = System.nanoTime();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    long lastCallNanos() {
+        return lastCallNanos;
+    }
+
+    /**
+     * 判断是否放行本次调用，OPEN 状态超过熔断持续时间后转为 HALF_OPEN 并放行试探调用
+     *
+     * @return 放行时返回 true，放行后必须调用 {@link #onSuccess}、{@link #onError} 或 {@link #onIgnored} 之一
+     */
+    public boolean tryAcquirePermission() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        synchronized (this) {
+            if (state == State.OPEN && System.nanoTime() - openedAt >= config.getOpenNanos()) {
+                transitionTo(State.HALF_OPEN);
+            }
+            if (state == State.CLOSED) {
+                return true;
+            }
+            if (state == State.HALF_OPEN && trialPermits > 0) {
+                trialPermits--;
+                return true;
+            }
+        }
+        rejectedCalls.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * 记录一次在获取许可前就被拒绝的调用
+     */
+    void recordRejected() {
+        rejectedCalls.incrementAndGet();
+    }
+
+    /**
+     * 距离进入半开状态的剩余时间
+     *
+     * @return 剩余毫秒数，非 OPEN 状态返回0
+     */
+    public synchronized long remainingOpenMillis() {
+        if (state != State.OPEN) {
+            return 0L;
+        }
+        long remaining = config.getOpenNanos() - (System.nanoTime() - openedAt);
+        return Math.max(0L, remaining / 1_000_000L);
+    }
+
+    /**
+     * 记录一次成功调用
+     *
+     * @param durationNanos 调用耗时
+     */
+    public void onSuccess(long durationNanos) {
+        record(false, durationNanos >= config.getSlowCallNanos());
+    }
+
+    /**
+     * 记录一次失败调用（连接异常、超时、5xx）
+     *
+     * @param durationNanos 调用耗时
+     */
+    public void onError(long durationNanos) {
+        record(true, durationNanos >= config.getSlowCallNanos());
+    }
+
+    /**
+     * 放行的调用不计入统计（如 429），归还半开状态的试探名额
+     */
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN && trialPermits < config.getHalfOpenCalls() - trialCalls) {
+            trialPermits++;
+        }
+    }
+
+    public synchronized Snapshot snapshot() {
+        if (state == State.HALF_OPEN) {
+            return new Snapshot(name, state, rate(trialFailures, trialCalls), rate(trialSlows, trialCalls),
+                    trialCalls, rejectedCalls.get());
+        }
+        return new Snapshot(name, state, rate(failureCount, size), rate(slowCount, size), size, rejectedCalls.get());
+    }
+
+    private synchronized void record(boolean failure, boolean slow) {
+        lastCallNanos = System.nanoTime();
+        if (state == State.HALF_OPEN) {
+            trialCalls++;
+            if (failure) {
+                trialFailures++;
+            }
+            if (slow) {
+                trialSlows++;
+            }
+            if (trialCalls >= config.getHalfOpenCalls()) {
+                transitionTo(exceedsThreshold(trialFailures, trialSlows, trialCalls) ? State.OPEN : State.CLOSED);
+            }
+            return;
+        }
+        if (state != State.CLOSED) {
+            return;
+        }
+
+        if (size == failures.length) {
+            if (failures[index]) {
+                failureCount--;
+            }
+            if (slows[index]) {
+                slowCount--;
+            }
+        } else {
+            size++;
+        }
+        failures[index] = failure;
+        slows[index] = slow;
+        if (failure) {
+            failureCount++;
+        }
+        if (slow) {
+            slowCount++;
+        }
+        index = (index + 1) % failures.length;
+
+        if (size >= config.getMinimumCalls() && exceedsThreshold(failureCount, slowCount, size)) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    private boolean exceedsThreshold(int failed, int slow, int total) {
+        return rate(failed, total) >= config.getFailureRateThreshold()
+                || rate(slow, total) >= config.getSlowCallRateThreshold();
+    }
+
+    private void transitionTo(State target) {
+        State previous = state;
+        switch (target) {
+            case OPEN:
+                openedAt = System.nanoTime();
+                break;
+            case HALF_OPEN:
+                trialPermits = config.getHalfOpenCalls();
+                trialCalls = 0;
+                trialFailures = 0;
+                trialSlows = 0;
+                break;
+            default:
+                size = 0;
+                index = 0;
+                failureCount = 0;
+                slowCount = 0;
+                break;
+        }
+        state = target;
+        FsLogger.recordCount("circuit_breaker_" + target.name().toLowerCase() + ":" + metricName);
+        if (target == State.OPEN) {
+            FsLogger.warn("【飞书表格】熔断器打开，name:{}，上一状态:{}", name, previous.name());
+        } else {
+            FsLogger.info("【飞书表格】熔断器状态变更，name:{}，{} -> {}", name, previous.name(), target.name());
+        }
+    }
+
+    private static double rate(int count, int total) {
+        return total == 0 ? 0.0d : (double) count / total;
+    }
+
+    /**
+     * 熔断器状态快照
+     */
+    public static final class Snapshot {
+        private final String name;
+        private final State state;
+        private final double failureRate;
+        private final double slowCallRate;
+        private final int bufferedCalls;
+        private final long rejectedCalls;
+
+        private Snapshot(String name, State state, double failureRate, double slowCallRate,
+                         int bufferedCalls, long rejectedCalls) {
+            this.name = name;
+            this.state = state;
+            this.failureRate = failureRate;
+            this.slowCallRate = slowCallRate;
+            this.bufferedCalls = bufferedCalls;
+            this.rejectedCalls = rejectedCalls;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public State getState() {
+            return state;
+        }
+
+        public double getFailureRate() {
+            return failureRate;
+        }
+
+        public double getSlowCallRate() {
+            return slowCallRate;
+        }
+
+        public int getBufferedCalls() {
+            return bufferedCalls;
+        }
+
+        public long getRejectedCalls() {
+            return rejectedCalls;
+        }
+
+        @Override
+        public String toString() {
+            return name + "{state=" + state + ", failureRate=" + failureRate + ", slowCallRate=" + slowCallRate
+                    + ", bufferedCalls=" + bufferedCalls + ", rejectedCalls=" + rejectedCalls + "}";
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package cn.isliu.core.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * 熔断器配置
+ *
+ * <p>按最近若干次调用统计失败率和慢调用率，任一比例达到阈值时熔断。
+ * 失败指连接异常、超时和 5xx；429 由限流逻辑处理，不计入统计。</p>
+ */
+public class CircuitBreakerConfig {
+
+    private static final CircuitBreakerConfig DEFAULT = builder().build();
+    private static final CircuitBreakerConfig DISABLED = builder().enabled(false).build();
+
+    private final boolean enabled;
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final int halfOpenCalls;
+
+    private CircuitBreakerConfig(Builder builder) {
+        this.enabled = builder.enabled;
+        this.windowSize = builder.windowSize;
+        this.minimumCalls = Math.min(builder.minimumCalls, builder.windowSize);
+        this.failureRateThreshold = builder.failureRateThreshold;
+        this.slowCallRateThreshold = builder.slowCallRateThreshold;
+        this.slowCallNanos = builder.slowCallDuration.toNanos();
+        this.openNanos = builder.openDuration.toNanos();
+        this.halfOpenCalls = builder.halfOpenCalls;
+    }
+
+    /**
+     * 默认配置：统计最近20次调用，至少10次后生效，失败率达到50%或超过15秒的慢调用达到80%时熔断，
+     * 熔断30秒后放行3次试探调用
+     *
+     * @return 默认配置
+     */
+    public static CircuitBreakerConfig defaults() {
+        return DEFAULT;
+    }
+
+    /**
+     * 关闭熔断
+     *
+     * @return 关闭熔断的配置
+     */
+    public static CircuitBreakerConfig disabled() {
+        return DISABLED;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    public int getMinimumCalls() {
+        return minimumCalls;
+    }
+
+    public double getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    public double getSlowCallRateThreshold() {
+        return slowCallRateThreshold;
+    }
+
+    public long getSlowCallNanos() {
+        return slowCallNanos;
+    }
+
+    public long getOpenNanos() {
+        return openNanos;
+    }
+
+    public int getHalfOpenCalls() {
+        return halfOpenCalls;
+    }
+
+    public static class Builder {
+        private boolean enabled = true;
+        private int windowSize = 20;
+        private int minimumCalls = 10;
+        private double failureRateThreshold = 0.5d;
+        private double slowCallRateThreshold = 0.8d;
+        private Duration slowCallDuration = Duration.ofSeconds(15);
+        private Duration openDuration = Duration.ofSeconds(30);
+        private int halfOpenCalls = 3;
+
+        public Builder enabled(boolean enabled) {
+            this.enabled = enabled;
+            return this;
+        }
+
+        /**
+         * 统计的最近调用次数
+         */
+        public Builder windowSize(int windowSize) {
+            if (windowSize > 0) {
+                this.windowSize = windowSize;
+            }
+            return this;
+        }
+
+        /**
+         * 开始计算比例前至少需要的调用次数
+         */
+        public Builder minimumCalls(int minimumCalls) {
+            if (minimumCalls > 0) {
+                this.minimumCalls = minimumCalls;
+            }
+            return this;
+        }
+
+        /**
+         * 失败率阈值，取值 (0, 1]
+         */
+        public Builder failureRateThreshold(double failureRateThreshold) {
+            if (failureRateThreshold > 0 && failureRateThreshold <= 1) {
+                this.failureRateThreshold = failureRateThreshold;
+            }
+            return this;
+        }
+
+        /**
+         * 慢调用率阈值，取值 (0, 1]
+         */
+        public Builder slowCallRateThreshold(double slowCallRateThreshold) {
+            if (slowCallRateThreshold > 0 && slowCallRateThreshold <= 1) {
+                this.slowCallRateThreshold = slowCallRateThreshold;
+            }
+            return this;
+        }
+
+        /**
+         * 耗时超过该值的调用视为慢调用
+         */
+        public Builder slowCallDuration(Duration slowCallDuration) {
+            if (slowCallDuration != null && !slowCallDuration.isNegative() && !slowCallDuration.isZero()) {
+                this.slowCallDuration = slowCallDuration;
+            }
+            return this;
+        }
+
+        /**
+         * 熔断持续时间，之后进入半开状态
+         */
+        public Builder openDuration(Duration openDuration) {
+            if (openDuration != null && !openDuration.isNegative()) {
+                this.openDuration = openDuration;
+            }
+            return this;
+        }
+
+        /**
+         * 半开状态放行的试探调用次数
+         */
+        public Builder halfOpenCalls(int halfOpenCalls) {
+            if (halfOpenCalls > 0) {
+                this.halfOpenCalls = halfOpenCalls;
+            }
+            return this;
+        }
+
+        public CircuitBreakerConfig build() {
+            return new CircuitBreakerConfig(this);
+        }
+    }
+}
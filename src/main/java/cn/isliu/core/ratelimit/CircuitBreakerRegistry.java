@@ -0,0 +1,110 @@
+package cn.isliu.core.ratelimit;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 熔断器注册表
+ *
+ * <p>按“操作 + 电子表格 token”维护熔断器，一个表格的接口异常不会影响其他表格的调用。
+ * 熔断器按操作序号分到各自的映射中，以 token 为键查找，获取时不需要拼接名称。
+ * 熔断器数量超过上限时优先移除长时间没有调用的 CLOSED 状态熔断器。</p>
+ */
+public class CircuitBreakerRegistry {
+
+    private static final int MAX_BREAKERS = 4096;
+    private static final long IDLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+    /**
+     * 未指定电子表格 token 时使用的键，按操作共用一个熔断器
+     */
+    private static final String SHARED_KEY = "";
+
+    private final CircuitBreakerConfig config;
+    private final ConcurrentMap<String, CircuitBreaker>[] breakers;
+    private final AtomicInteger size = new AtomicInteger();
+
+    @SuppressWarnings("unchecked")
+    public CircuitBreakerRegistry(CircuitBreakerConfig config) {
+        this.config = config != null ? config : CircuitBreakerConfig.defaults();
+        ApiOperation[] operations = ApiOperation.values();
+        this.breakers = new ConcurrentMap[operations.length];
+        for (int i = 0; i < operations.length; i++) {
+            breakers[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    public CircuitBreakerConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * 获取操作和电子表格对应的熔断器
+     *
+     * @param operation API 操作
+     * @param spreadsheetToken 电子表格 token，为 null 时按操作共用一个熔断器
+     * @return 熔断器，未启用熔断时返回 null
+     */
+    public CircuitBreaker get(ApiOperation operation, String spreadsheetToken) {
+        if (!config.isEnabled()) {
+            return null;
+        }
+        ConcurrentMap<String, CircuitBreaker> operationBreakers = breakers[operation.ordinal()];
+        String key = spreadsheetToken == null ? SHARED_KEY : spreadsheetToken;
+        CircuitBreaker breaker = operationBreakers.get(key);
+        if (breaker != null) {
+            return breaker;
+        }
+        if (size.get() >= MAX_BREAKERS) {
+            prune();
+        }
+        return operationBreakers.computeIfAbsent(key, token -> {
+            size.incrementAndGet();
+            return new CircuitBreaker(token.isEmpty() ? operation.name() : operation.name() + ":" + token, config);
+        });
+    }
+
+    /**
+     * 获取所有熔断器的状态快照
+     *
+     * @return 熔断器名称到快照的映射
+     */
+    public Map<String, CircuitBreaker.Snapshot> snapshot() {
+        Map<String, CircuitBreaker.Snapshot> result = new LinkedHashMap<>();
+        for (ConcurrentMap<String, CircuitBreaker> operationBreakers : breakers) {
+            operationBreakers.forEach((token, breaker) -> result.put(breaker.getName(), breaker.snapshot()));
+        }
+        return result;
+    }
+
+    /**
+     * 移除空闲超过 {@link #IDLE_NANOS} 的 CLOSED 状态熔断器，没有可移除的熔断器时移除全部 CLOSED 状态熔断器，
+     * 保证注册表大小有界
+     */
+    private void prune() {
+        long now = System.nanoTime();
+        if (removeClosed(now, IDLE_NANOS) == 0) {
+            removeClosed(now, 0L);
+        }
+    }
+
+    private int removeClosed(long now, long idleNanos) {
+        int removed = 0;
+        for (ConcurrentMap<String, CircuitBreaker> operationBreakers : breakers) {
+            Iterator<CircuitBreaker> iterator = operationBreakers.values().iterator();
+            while (iterator.hasNext()) {
+                CircuitBreaker breaker = iterator.next();
+                if (breaker.getState() == CircuitBreaker.State.CLOSED && now - breaker.lastCallNanos() >= idleNanos) {
+                    iterator.remove();
+                    size.decrementAndGet();
+                    removed++;
+                }
+            }
+        }
+        return removed;
+    }
+}
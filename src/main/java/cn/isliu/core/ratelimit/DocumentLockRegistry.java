@@ -7,26 +7,46 @@ import java.util.concurrent.locks.ReentrantLock;
 /**
  * 文档级别锁注册表
  *
- * <p>对于“单个文档只能串行调用”的操作，通过文档 token 获取同一把锁。</p>
+ * <p>对于“单个文档只能串行调用”的操作，通过文档 token 获取同一把锁。
+ * 每次 {@link #acquireLock(String)} 都需要对应一次 {@link #releaseLock(String, ReentrantLock)}，
+ * 锁按引用计数管理，最后一个使用者释放后才会从注册表中移除，不会移除其他线程刚获取的锁。</p>
+ *
+ * <p>{@link FeishuApiExecutor} 已改用 {@link DocumentSerialExecutor} 按文档串行执行，
+ * 该类保留给需要自行加锁的调用方。</p>
  */
 public class DocumentLockRegistry {
 
-    private final ConcurrentMap<String, ReentrantLock> lockMap = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LockHolder> lockMap = new ConcurrentHashMap<>();
 
     public ReentrantLock acquireLock(String spreadsheetToken) {
         if (spreadsheetToken == null || spreadsheetToken.isEmpty()) {
             return null;
         }
-        return lockMap.computeIfAbsent(spreadsheetToken, key -> new ReentrantLock(true));
+        LockHolder holder = lockMap.compute(spreadsheetToken, (key, current) -> {
+            LockHolder h = current != null ? current : new LockHolder();
+            h.references++;
+            return h;
+        });
+        return holder.lock;
     }
 
     public void releaseLock(String spreadsheetToken, ReentrantLock lock) {
         if (spreadsheetToken == null || lock == null) {
             return;
         }
-        if (!lock.isLocked()) {
-            lockMap.remove(spreadsheetToken, lock);
-        }
+        lockMap.computeIfPresent(spreadsheetToken, (key, holder) -> {
+            if (holder.lock != lock) {
+                return holder;
+            }
+            return --holder.references > 0 ? holder : null;
+        });
     }
-}
 
+    /**
+     * 锁及其引用计数，引用计数只在 compute 中读写
+     */
+    private static final class LockHolder {
+        private final ReentrantLock lock = new ReentrantLock(true);
+        private int references;
+    }
+}
@@ -0,0 +1,334 @@
+package cn.isliu.core.ratelimit;
+
+import cn.isliu.core.enums.ErrorCode;
+import cn.isliu.core.exception.FsHelperException;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 文档级串行执行器
+ *
+ * <p>对于“单个文档只能串行调用”的操作，每个文档 token 对应一个串行队列：提交的任务按提交顺序
+ * 在共享线程池上依次执行，并返回 {@link CompletableFuture}。提交方不持有锁、不需要等待其他线程的请求完成，
+ * 不同文档的队列互不影响、可以并行执行。
+ * 异步任务在返回的 future 完成前保持队列的顺序，但不占用线程。
+ * 同步调用通过 {@link #execute} 在调用线程上执行，线程池只负责在任务之间交接执行权。</p>
+ *
+ * <p>队列的创建、任务入队以及空闲队列的移除都在 {@link ConcurrentMap#compute} 中完成，
+ * 不会出现队列被移除后仍有任务写入的情况。</p>
+ */
+public class DocumentSerialExecutor {
+
+    private static final Executor SHARED_POOL = createSharedPool();
+
+    /**
+     * 当前线程正在执行的文档队列，用于同一文档的嵌套调用直接执行，避免自身等待造成死锁
+     */
+    private static final ThreadLocal<SerialQueue> CURRENT_QUEUE = new ThreadLocal<>();
+
+    private final ConcurrentMap<String, SerialQueue> queues = new ConcurrentHashMap<>();
+    private final Executor executor;
+
+    /**
+     * 使用共享线程池创建执行器
+     */
+    public DocumentSerialExecutor() {
+        this(SHARED_POOL);
+    }
+
+    /**
+     * 使用指定线程池创建执行器
+     *
+     * @param executor 执行任务的线程池
+     */
+    public DocumentSerialExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * 获取默认的共享线程池
+     *
+     * @return 共享线程池
+     */
+    public static Executor sharedPool() {
+        return SHARED_POOL;
+    }
+
+    /**
+     * 提交文档任务
+     *
+     * @param spreadsheetToken 文档 token
+     * @param action 任务
+     * @param <T> 返回值类型
+     * @return 任务结果
+     */
+    public <T> CompletableFuture<T> submit(String spreadsheetToken, FeishuApiExecutor.CheckedCallable<T> action) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        SerialQueue current = CURRENT_QUEUE.get();
+        if (current != null && current.token.equals(spreadsheetToken)) {
+            complete(future, action);
+            return future;
+        }
+
+        enqueue(spreadsheetToken, () -> {
+            complete(future, action);
+            return null;
+        }, false);
+        return future;
+    }
+
+    /**
+     * 在当前线程执行文档任务并返回结果
+     *
+     * <p>文档队列空闲时直接在调用线程执行；有其他任务时排队，轮到该任务后由调用线程执行，
+     * 线程池只负责交接执行权，不执行任务本身。等待期间遵守调用上下文的截止时间。</p>
+     *
+     * @param spreadsheetToken 文档 token
+     * @param context 调用上下文
+     * @param action 任务
+     * @param <T> 返回值类型
+     * @return 任务结果
+     * @throws Exception 任务抛出的异常，或截止时间前未轮到执行
+     */
+    public <T> T execute(String spreadsheetToken, ApiCallContext context,
+                         FeishuApiExecutor.CheckedCallable<T> action) throws Exception {
+        SerialQueue current = CURRENT_QUEUE.get();
+        if (current != null && current.token.equals(spreadsheetToken)) {
+            return action.call();
+        }
+
+        CompletableFuture<Void> turn = new CompletableFuture<>();
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        // 排队期间已放弃（超时、中断）的任务不再占用执行权
+        SerialQueue queue = enqueue(spreadsheetToken, () -> turn.complete(null) ? done : null, true);
+        try {
+            awaitTurn(turn, context);
+        } catch (Exception e) {
+            if (!turn.completeExceptionally(e)) {
+                // 放弃前已经轮到执行，交还执行权
+                done.complete(null);
+            }
+            throw e;
+        }
+
+        CURRENT_QUEUE.set(queue);
+        try {
+            return action.call();
+        } finally {
+            if (current != null) {
+                CURRENT_QUEUE.set(current);
+            } else {
+                CURRENT_QUEUE.remove();
+            }
+            done.complete(null);
+        }
+    }
+
+    /**
+     * 提交异步文档任务
+     *
+     * <p>任务返回的 future 完成后才执行该文档的下一个任务，等待期间不占用线程。</p>
+     *
+     * @param spreadsheetToken 文档 token
+     * @param action 任务，返回任务结果的 future
+     * @param <T> 返回值类型
+     * @return 任务结果
+     */
+    public <T> CompletableFuture<T> submitAsync(String spreadsheetToken, Supplier<CompletableFuture<T>> action) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        SerialQueue current = CURRENT_QUEUE.get();
+        if (current != null && current.token.equals(spreadsheetToken)) {
+            start(future, action);
+            return future;
+        }
+
+        enqueue(spreadsheetToken, () -> start(future, action), false);
+        return future;
+    }
+
+    /**
+     * 任务入队，队列空闲时启动队列
+     *
+     * @param inline 是否在当前线程启动队列，只用于立即交出执行权的任务
+     * @return 任务所在的队列
+     */
+    private SerialQueue enqueue(String spreadsheetToken, Job job, boolean inline) {
+        SerialQueue[] target = new SerialQueue[1];
+        boolean[] start = new boolean[1];
+        queues.compute(spreadsheetToken, (key, queue) -> {
+            SerialQueue q = queue != null ? queue : new SerialQueue(key);
+            q.tasks.add(job);
+            if (!q.running) {
+                q.running = true;
+                start[0] = true;
+            }
+            target[0] = q;
+            return q;
+        });
+
+        if (start[0]) {
+            if (inline) {
+                drain(target[0]);
+            } else {
+                schedule(target[0]);
+            }
+        }
+        return target[0];
+    }
+
+    private static void awaitTurn(CompletableFuture<Void> turn, ApiCallContext context) throws Exception {
+        try {
+            if (context.hasDeadline()) {
+                long remaining = context.remainingNanos();
+                if (remaining <= 0 && !turn.isDone()) {
+                    throw timeout();
+                }
+                turn.get(Math.max(0L, remaining), TimeUnit.NANOSECONDS);
+            } else {
+                turn.get();
+            }
+        } catch (TimeoutException e) {
+            throw timeout();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw FsHelperException.builder(ErrorCode.API_CALL_FAILED)
+                    .message("等待文档串行任务被中断")
+                    .cause(e)
+                    .build();
+        }
+    }
+
+    private static FsHelperException timeout() {
+        return FsHelperException.builder(ErrorCode.CLIENT_TIMEOUT)
+                .message("截止时间前未轮到执行文档串行任务")
+                .build();
+    }
+
+    private void schedule(SerialQueue queue) {
+        try {
+            executor.execute(() -> drain(queue));
+        } catch (RuntimeException e) {
+            // 线程池拒绝时在当前线程执行，保证队列不会停滞
+            drain(queue);
+        }
+    }
+
+    /**
+     * 获取当前存在的文档队列数
+     *
+     * @return 队列数
+     */
+    public int activeDocuments() {
+        return queues.size();
+    }
+
+    private void drain(SerialQueue queue) {
+        SerialQueue previous = CURRENT_QUEUE.get();
+        CURRENT_QUEUE.set(queue);
+        try {
+            while (true) {
+                Job job = queue.tasks.poll();
+                if (job != null) {
+                    CompletableFuture<?> pending = job.run();
+                    if (pending != null && !pending.isDone()) {
+                        // 异步任务未完成时让出线程，完成后继续执行队列中的任务
+                        pending.whenComplete((result, error) -> schedule(queue));
+                        return;
+                    }
+                    continue;
+                }
+                boolean[] finished = new boolean[1];
+                queues.computeIfPresent(queue.token, (key, q) -> {
+                    if (q != queue || !q.tasks.isEmpty()) {
+                        return q;
+                    }
+                    q.running = false;
+                    finished[0] = true;
+                    return null;
+                });
+                if (finished[0]) {
+                    return;
+                }
+            }
+        } finally {
+            if (previous != null) {
+                CURRENT_QUEUE.set(previous);
+            } else {
+                CURRENT_QUEUE.remove();
+            }
+        }
+    }
+
+    private static <T> void complete(CompletableFuture<T> future, FeishuApiExecutor.CheckedCallable<T> action) {
+        try {
+            future.complete(action.call());
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+        }
+    }
+
+    private static <T> CompletableFuture<T> start(CompletableFuture<T> future, Supplier<CompletableFuture<T>> action) {
+        CompletableFuture<T> pending;
+        try {
+            pending = action.get();
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+            return null;
+        }
+        pending.whenComplete((result, error) -> {
+            if (error != null) {
+                future.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error);
+            } else {
+                future.complete(result);
+            }
+        });
+        return pending;
+    }
+
+    private static Executor createSharedPool() {
+        int threads = Math.max(4, Runtime.getRuntime().availableProcessors());
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "feishu-doc-serial-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * 队列中的任务，异步任务返回未完成的 future，同步任务返回 null
+     */
+    @FunctionalInterface
+    private interface Job {
+        CompletableFuture<?> run();
+    }
+
+    /**
+     * 单个文档的任务队列，running 只在 compute 中读写
+     */
+    private static final class SerialQueue {
+        private final String token;
+        private final Queue<Job> tasks = new ConcurrentLinkedQueue<>();
+        private boolean running;
+
+        private SerialQueue(String token) {
+            this.token = token;
+        }
+    }
+}
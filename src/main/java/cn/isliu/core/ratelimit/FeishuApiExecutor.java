@@ -2,33 +2,116 @@ package cn.isliu.core.ratelimit;
 
 import cn.isliu.core.enums.ErrorCode;
 import cn.isliu.core.exception.FsHelperException;
+import cn.isliu.core.exception.HttpStatusException;
 import cn.isliu.core.logging.FsLogger;
 
 import java.io.IOException;
 import java.time.Duration;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * 飞书 API 调用执行器
  *
- * <p>统一处理限流、429 重试、串行锁等逻辑。</p>
+ * <p>统一处理限流、429 重试、文档串行执行等逻辑。获取许可时按 {@link ApiCallContext} 中的优先级和截止时间调度，
+ * 触发 429 时按操作自适应降速，之后随成功调用逐步恢复。失败调用按 {@link RetryPolicy} 重试。
+ * 每个操作和电子表格对应一个 {@link CircuitBreaker}，接口持续异常或响应过慢时快速失败。
+ * 等待许可、文档队列、重试等待以及接口调用的耗时记录在 {@link OperationTelemetry} 中。
+ * {@link #executeNonBlocking} 提供全程不阻塞线程的调用方式。</p>
  */
 public class FeishuApiExecutor {
 
-    private static final int MAX_RETRY = 3;
-    private static final long BASE_BACKOFF_MILLIS = 200L;
+    /**
+     * 非阻塞调用的许可等待和重试等待共用的定时线程
+     */
+    static final ScheduledExecutorService TIMER = createTimer();
 
     private final FeishuRateLimiterManager limiterManager;
-    private final DocumentLockRegistry documentLockRegistry;
+    private final DocumentSerialExecutor documentSerialExecutor;
+    private final RetryPolicy retryPolicy;
+    private final RetryPolicy.Budget retryBudget;
+    private final CircuitBreakerRegistry circuitBreakers;
 
+    /**
+     * 最近使用的租户限流器表，同一客户端通常只有一个租户，命中时无需再查找缓存
+     */
+    private volatile TenantRateLimiters tenantLimiters;
+
+    /**
+     * 构造函数
+     *
+     * <p>文档串行由 {@link DocumentSerialExecutor} 负责，documentLockRegistry 仅为兼容保留，不再使用。</p>
+     *
+     * @param limiterManager 频控管理器
+     * @param documentLockRegistry 文档锁注册表
+     */
     public FeishuApiExecutor(FeishuRateLimiterManager limiterManager,
                              DocumentLockRegistry documentLockRegistry) {
+        this(limiterManager, documentLockRegistry, null, RetryPolicy.defaults());
+    }
+
+    /**
+     * 构造函数，预先解析租户的限流器表
+     *
+     * @param limiterManager 频控管理器
+     * @param documentLockRegistry 文档锁注册表
+     * @param tenantKey 租户标识
+     */
+    public FeishuApiExecutor(FeishuRateLimiterManager limiterManager,
+                             DocumentLockRegistry documentLockRegistry,
+                             String tenantKey) {
+        this(limiterManager, documentLockRegistry, tenantKey, RetryPolicy.defaults());
+    }
+
+    /**
+     * 构造函数，指定重试策略
+     *
+     * @param limiterManager 频控管理器
+     * @param documentLockRegistry 文档锁注册表
+     * @param tenantKey 租户标识，为 null 时不预先解析
+     * @param retryPolicy 重试策略
+     */
+    public FeishuApiExecutor(FeishuRateLimiterManager limiterManager,
+                             DocumentLockRegistry documentLockRegistry,
+                             String tenantKey,
+                             RetryPolicy retryPolicy) {
+        this(limiterManager, documentLockRegistry, tenantKey, retryPolicy, CircuitBreakerConfig.defaults());
+    }
+
+    /**
+     * 构造函数，指定重试策略和熔断配置
+     *
+     * @param limiterManager 频控管理器
+     * @param documentLockRegistry 文档锁注册表
+     * @param tenantKey 租户标识，为 null 时不预先解析
+     * @param retryPolicy 重试策略
+     * @param circuitBreakerConfig 熔断配置
+     */
+    public FeishuApiExecutor(FeishuRateLimiterManager limiterManager,
+                             DocumentLockRegistry documentLockRegistry,
+                             String tenantKey,
+                             RetryPolicy retryPolicy,
+                             CircuitBreakerConfig circuitBreakerConfig) {
         this.limiterManager = limiterManager;
-        this.documentLockRegistry = documentLockRegistry;
+        this.circuitBreakers = new CircuitBreakerRegistry(circuitBreakerConfig);
+        this.documentSerialExecutor = new DocumentSerialExecutor();
+        this.retryPolicy = retryPolicy != null ? retryPolicy : RetryPolicy.defaults();
+        this.retryBudget = this.retryPolicy.newBudget();
+        if (tenantKey != null) {
+            this.tenantLimiters = limiterManager.getTenantLimiters(tenantKey);
+        }
     }
 
+    /**
+     * 执行 API 调用并等待结果
+     *
+     * <p>需要文档串行的操作提交到该文档的串行队列，按提交顺序执行。</p>
+     */
     public <T> T execute(String tenantKey,
                          ApiOperation operation,
                          String spreadsheetToken,
@@ -37,56 +120,356 @@ public class FeishuApiExecutor {
         RateLimitRule rule = operation != null ? operation.getRule() : ApiOperation.GENERIC_OPERATION.getRule();
         ApiOperation op = operation != null ? operation : ApiOperation.GENERIC_OPERATION;
 
-        limiterManager.getLimiter(tenantKey, rule).acquire();
+        CircuitBreaker breaker = circuitBreakers.get(op, spreadsheetToken);
+        checkOpen(breaker, op);
+        TenantRateLimiters limiters = resolveTenantLimiters(tenantKey);
+        acquirePermit(limiters, op, spreadsheetToken);
 
-        ReentrantLock lock = null;
-        if (rule.isRequireDocumentLock()) {
-            lock = documentLockRegistry.acquireLock(spreadsheetToken);
-            if (lock != null) {
-                lock.lock();
-            }
+        if (requiresSerialExecution(rule, spreadsheetToken)) {
+            long queuedAt = System.nanoTime();
+            return documentSerialExecutor.execute(spreadsheetToken, ApiCallContext.current(), () -> {
+                limiters.telemetry(op).recordLockWait(System.nanoTime() - queuedAt);
+                return executeWithRetry(limiters, op, spreadsheetToken, rule, breaker, action);
+            });
         }
+        return executeWithRetry(limiters, op, spreadsheetToken, rule, breaker, action);
+    }
+
+    /**
+     * 以非阻塞方式执行 API 调用
+     *
+     * <p>整个调用过程不阻塞任何线程：限流许可在调度器中与同步调用
+     * 按相同的公平规则排队获取；重试前的等待由定时线程调度；需要文档串行的操作按提交顺序进入
+     * 该文档的串行队列，前一个调用返回的 future 完成后再执行下一个。
+     * 调用上下文（优先级、截止时间）在提交时从当前线程获取。</p>
+     *
+     * @param action 发起调用并返回结果 future 的任务，不应阻塞
+     * @return 调用结果
+     */
+    public <T> CompletableFuture<T> executeNonBlocking(String tenantKey,
+                                                       ApiOperation operation,
+                                                       String spreadsheetToken,
+                                                       AsyncCallable<T> action) {
+        RateLimitRule rule = operation != null ? operation.getRule() : ApiOperation.GENERIC_OPERATION.getRule();
+        ApiOperation op = operation != null ? operation : ApiOperation.GENERIC_OPERATION;
+        ApiCallContext context = ApiCallContext.current();
+
+        CircuitBreaker breaker = circuitBreakers.get(op, spreadsheetToken);
+        try {
+            checkOpen(breaker, op);
+        } catch (FsHelperException ex) {
+            return failed(ex);
+        }
+        TenantRateLimiters limiters = resolveTenantLimiters(tenantKey);
+
+        if (requiresSerialExecution(rule, spreadsheetToken)) {
+            long queuedAt = System.nanoTime();
+            return documentSerialExecutor.submitAsync(spreadsheetToken, () -> {
+                limiters.telemetry(op).recordLockWait(System.nanoTime() - queuedAt);
+                return acquirePermitAsync(limiters, op, spreadsheetToken, context)
+                        .thenCompose(ignored -> executeWithRetryAsync(limiters, op, spreadsheetToken, context,
+                                rule, breaker, action, 1));
+            });
+        }
+        return acquirePermitAsync(limiters, op, spreadsheetToken, context)
+                .thenCompose(ignored -> executeWithRetryAsync(limiters, op, spreadsheetToken, context, rule,
+                        breaker, action, 1));
+    }
+
+    public DocumentSerialExecutor documentSerialExecutor() {
+        return documentSerialExecutor;
+    }
+
+    public RetryPolicy retryPolicy() {
+        return retryPolicy;
+    }
+
+    public RetryPolicy.Budget retryBudget() {
+        return retryBudget;
+    }
+
+    public CircuitBreakerRegistry circuitBreakers() {
+        return circuitBreakers;
+    }
 
+    private static void acquirePermit(TenantRateLimiters limiters, ApiOperation operation, String spreadsheetToken) {
+        long start = System.nanoTime();
         try {
-            return executeWithRetry(tenantKey, op, rule, action);
+            limiters.acquire(operation, spreadsheetToken, ApiCallContext.current());
         } finally {
-            if (lock != null) {
-                lock.unlock();
-                documentLockRegistry.releaseLock(spreadsheetToken, lock);
-            }
+            limiters.telemetry(operation).recordPermitWait(System.nanoTime() - start);
         }
     }
 
-    private <T> T executeWithRetry(String tenantKey,
+    /**
+     * 非阻塞获取许可：在调度器中排队，获取到许可后 future 完成
+     */
+    private static CompletableFuture<Void> acquirePermitAsync(TenantRateLimiters limiters,
+                                                              ApiOperation operation,
+                                                              String spreadsheetToken,
+                                                              ApiCallContext context) {
+        long start = System.nanoTime();
+        return limiters.acquireAsync(operation, spreadsheetToken, context)
+                .whenComplete((ignored, error) ->
+                        limiters.telemetry(operation).recordPermitWait(System.nanoTime() - start));
+    }
+
+    private static boolean requiresSerialExecution(RateLimitRule rule, String spreadsheetToken) {
+        return rule.isRequireDocumentLock() && spreadsheetToken != null && !spreadsheetToken.isEmpty();
+    }
+
+    /**
+     * 执行调用，失败需要重试时等待后重新获取限流许可再发起下一次调用，使重试同样受降低后的速率约束
+     */
+    private <T> T executeWithRetry(TenantRateLimiters limiters,
                                    ApiOperation operation,
+                                   String spreadsheetToken,
                                    RateLimitRule rule,
+                                   CircuitBreaker breaker,
                                    CheckedCallable<T> action) throws Exception {
+        OperationTelemetry telemetry = limiters.telemetry(operation);
         int attempt = 0;
-        long backoff = BASE_BACKOFF_MILLIS;
 
         while (true) {
             attempt++;
+            if (breaker != null && !breaker.tryAcquirePermission()) {
+                throw circuitOpen(breaker, operation);
+            }
+            long start = System.nanoTime();
             try {
-                return action.call();
-            } catch (FsHelperException ex) {
-                if (rule.isAllow429Retry() && isRateLimitException(ex) && attempt <= MAX_RETRY) {
-                    long waitMillis = resolveWaitMillis(ex, backoff, attempt);
-                    FsLogger.warn("【飞书表格】触发限流，operation:{}，attempt:{}，等待{}ms",
-                            operation.name(), attempt, waitMillis);
-                    sleepQuietly(waitMillis);
-                    adjustLimiter(tenantKey, operation, waitMillis);
-                    continue;
-                }
-                throw ex;
-            } catch (IOException io) {
-                throw io;
+                T result = action.call();
+                onCallSuccess(limiters, telemetry, operation, breaker, start);
+                return result;
             } catch (Exception ex) {
-                if (ex instanceof RuntimeException) {
+                sleepQuietly(handleFailure(limiters, telemetry, operation, rule, breaker, ex, start, attempt));
+            } catch (Throwable t) {
+                releasePermission(breaker);
+                throw t;
+            }
+            acquirePermit(limiters, operation, spreadsheetToken);
+        }
+    }
+
+    /**
+     * 异步执行单次调用，失败需要重试时在定时线程上延迟，重新获取限流许可后发起下一次调用，不阻塞线程
+     */
+    private <T> CompletableFuture<T> executeWithRetryAsync(TenantRateLimiters limiters,
+                                                           ApiOperation operation,
+                                                           String spreadsheetToken,
+                                                           ApiCallContext context,
+                                                           RateLimitRule rule,
+                                                           CircuitBreaker breaker,
+                                                           AsyncCallable<T> action,
+                                                           int attempt) {
+        OperationTelemetry telemetry = limiters.telemetry(operation);
+        if (breaker != null && !breaker.tryAcquirePermission()) {
+            return failed(circuitOpen(breaker, operation));
+        }
+        long start = System.nanoTime();
+        CompletableFuture<T> call;
+        try {
+            call = action.call();
+        } catch (Throwable t) {
+            call = failed(t);
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        call.whenComplete((value, error) -> {
+            if (error == null) {
+                onCallSuccess(limiters, telemetry, operation, breaker, start);
+                result.complete(value);
+                return;
+            }
+            Throwable cause = unwrap(error);
+            if (!(cause instanceof Exception)) {
+                releasePermission(breaker);
+                result.completeExceptionally(cause);
+                return;
+            }
+            long waitMillis;
+            try {
+                waitMillis = handleFailure(limiters, telemetry, operation, rule, breaker, (Exception) cause,
+                        start, attempt);
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+                return;
+            }
+            TIMER.schedule(() -> relay(acquirePermitAsync(limiters, operation, spreadsheetToken, context)
+                    .thenCompose(ignored -> executeWithRetryAsync(limiters, operation, spreadsheetToken, context,
+                            rule, breaker, action, attempt + 1)), result),
+                    Math.max(0L, waitMillis), TimeUnit.MILLISECONDS);
+        });
+        return result;
+    }
+
+    private static void onCallSuccess(TenantRateLimiters limiters, OperationTelemetry telemetry,
+                                      ApiOperation operation, CircuitBreaker breaker, long start) {
+        long duration = System.nanoTime() - start;
+        telemetry.recordCall(duration, true);
+        if (breaker != null) {
+            breaker.onSuccess(duration);
+        }
+        limiters.onSuccess(operation);
+    }
+
+    /**
+     * 调用以 Error 等非 Exception 结束时不计入熔断统计，归还半开状态的试探名额
+     */
+    private static void releasePermission(CircuitBreaker breaker) {
+        if (breaker != null) {
+            breaker.onIgnored();
+        }
+    }
+
+    /**
+     * 处理一次失败调用
+     *
+     * @return 需要重试时返回重试前的等待时间（毫秒）
+     * @throws Exception 不再重试时抛出的异常
+     */
+    private long handleFailure(TenantRateLimiters limiters,
+                               OperationTelemetry telemetry,
+                               ApiOperation operation,
+                               RateLimitRule rule,
+                               CircuitBreaker breaker,
+                               Exception failure,
+                               long start,
+                               int attempt) throws Exception {
+        recordFailure(telemetry, breaker, failure, start);
+        if (failure instanceof FsHelperException) {
+            FsHelperException ex = (FsHelperException) failure;
+            boolean rateLimited = isRateLimitException(ex);
+            if (rule.isAllow429Retry() && rateLimited) {
+                if (!canRetry(operation, attempt, ex)) {
+                    telemetry.recordRateLimited();
                     throw ex;
                 }
-                throw new FsHelperException(ErrorCode.API_CALL_FAILED, "飞书 API 调用异常", null, ex);
+                long waitMillis = resolveWaitMillis(ex, attempt);
+                FsLogger.warn("【飞书表格】触发限流，operation:{}，attempt:{}，等待{}ms",
+                        operation.name(), attempt, waitMillis);
+                limiters.onRateLimited(operation, resolveServerLimit(ex), waitMillis);
+                telemetry.recordRetry(waitMillis, true);
+                return waitMillis;
+            }
+            if (rateLimited) {
+                telemetry.recordRateLimited();
             }
+            if (isServerError(ex) && retryPolicy.isRetryOnServerError() && rule.isIdempotent()
+                    && canRetry(operation, attempt, ex)) {
+                return backoff(telemetry, operation, attempt, ex);
+            }
+            throw ex;
+        }
+        if (failure instanceof IOException) {
+            IOException io = (IOException) failure;
+            if (isRetryableIoError(io) && rule.isIdempotent() && canRetry(operation, attempt, io)) {
+                return backoff(telemetry, operation, attempt, io);
+            }
+            throw io;
+        }
+        if (failure instanceof RuntimeException) {
+            throw failure;
         }
+        throw new FsHelperException(ErrorCode.API_CALL_FAILED, "飞书 API 调用异常", null, failure);
+    }
+
+    /**
+     * 熔断器处于打开状态时直接失败，不再排队获取限流许可
+     */
+    private static void checkOpen(CircuitBreaker breaker, ApiOperation operation) {
+        if (breaker != null && breaker.getState() == CircuitBreaker.State.OPEN && breaker.remainingOpenMillis() > 0) {
+            breaker.recordRejected();
+            throw circuitOpen(breaker, operation);
+        }
+    }
+
+    private static FsHelperException circuitOpen(CircuitBreaker breaker, ApiOperation operation) {
+        return FsHelperException.builder(ErrorCode.API_CIRCUIT_OPEN)
+                .message("飞书接口熔断中，暂时拒绝调用，operation:" + operation.name())
+                .context("operation", operation.name())
+                .context("circuitBreaker", breaker.getName())
+                .context("retryAfterMillis", breaker.remainingOpenMillis())
+                .build();
+    }
+
+    /**
+     * 记录失败调用的耗时，并按异常类型记录熔断统计：429 不计入，连接异常和 5xx 记为失败，
+     * 其他异常说明服务端正常响应，记为成功
+     */
+    private void recordFailure(OperationTelemetry telemetry, CircuitBreaker breaker, Exception ex, long start) {
+        long duration = System.nanoTime() - start;
+        telemetry.recordCall(duration, false);
+        if (breaker == null) {
+            return;
+        }
+        if (ex instanceof FsHelperException) {
+            FsHelperException fe = (FsHelperException) ex;
+            if (isRateLimitException(fe)) {
+                breaker.onIgnored();
+            } else if (isServerError(fe)) {
+                breaker.onError(duration);
+            } else {
+                breaker.onSuccess(duration);
+            }
+        } else if (ex instanceof HttpStatusException) {
+            if (((HttpStatusException) ex).isServerError()) {
+                breaker.onError(duration);
+            } else {
+                breaker.onSuccess(duration);
+            }
+        } else if (ex instanceof IOException) {
+            breaker.onError(duration);
+        } else {
+            breaker.onSuccess(duration);
+        }
+    }
+
+    /**
+     * 判断是否还能重试：未超过最大重试次数，并且重试预算充足
+     */
+    private boolean canRetry(ApiOperation operation, int attempt, Exception cause) {
+        if (attempt > retryPolicy.getMaxRetries()) {
+            return false;
+        }
+        if (!retryBudget.tryAcquire()) {
+            FsLogger.warn("【飞书表格】重试预算已耗尽，不再重试，operation:{}，原因:{}",
+                    operation.name(), cause.getMessage());
+            return false;
+        }
+        return true;
+    }
+
+    private long backoff(OperationTelemetry telemetry, ApiOperation operation, int attempt, Exception cause) {
+        long waitMillis = retryPolicy.backoffMillis(attempt);
+        telemetry.recordRetry(waitMillis, false);
+        FsLogger.warn("【飞书表格】调用失败，operation:{}，attempt:{}，等待{}ms后重试，原因:{}",
+                operation.name(), attempt, waitMillis, cause.getMessage());
+        return waitMillis;
+    }
+
+    /**
+     * 连接重置、超时等传输层异常可以重试；HTTP 状态异常只重试 5xx
+     */
+    private boolean isRetryableIoError(IOException io) {
+        if (io instanceof HttpStatusException) {
+            return retryPolicy.isRetryOnServerError() && ((HttpStatusException) io).isServerError();
+        }
+        return retryPolicy.isRetryOnIoError();
+    }
+
+    private boolean isServerError(FsHelperException ex) {
+        Object status = ex.getContextValue("httpStatus");
+        int code = -1;
+        if (status instanceof Number) {
+            code = ((Number) status).intValue();
+        } else if (status instanceof String) {
+            try {
+                code = Integer.parseInt((String) status);
+            } catch (NumberFormatException ignore) {
+                // ignore
+            }
+        }
+        return code >= 500 && code < 600;
     }
 
     private boolean isRateLimitException(FsHelperException ex) {
@@ -109,23 +492,22 @@ public class FeishuApiExecutor {
         return ex.getMessage() != null && ex.getMessage().contains("429");
     }
 
-    private long resolveWaitMillis(FsHelperException ex, long baseBackoff, int attempt) {
+    private long resolveWaitMillis(FsHelperException ex, int attempt) {
         Object reset = ex.getContextValue("x-ogw-ratelimit-reset");
         if (reset instanceof Number) {
-            return Duration.ofSeconds(((Number) reset).longValue()).toMillis();
+            return retryPolicy.jitter(Duration.ofSeconds(((Number) reset).longValue()).toMillis());
         }
         if (reset instanceof String) {
             try {
                 long seconds = Long.parseLong((String) reset);
                 if (seconds > 0) {
-                    return Duration.ofSeconds(seconds).toMillis();
+                    return retryPolicy.jitter(Duration.ofSeconds(seconds).toMillis());
                 }
             } catch (NumberFormatException ignore) {
                 // ignore
             }
         }
-        long exponential = (long) (baseBackoff * Math.pow(2, Math.max(0, attempt - 1)));
-        return Math.min(TimeUnit.SECONDS.toMillis(10), exponential);
+        return retryPolicy.backoffMillis(attempt);
     }
 
     private void sleepQuietly(long millis) {
@@ -143,12 +525,67 @@ public class FeishuApiExecutor {
         }
     }
 
-    private void adjustLimiter(String tenantKey, ApiOperation operation, long waitMillis) {
-        if (waitMillis <= 0) {
-            return;
+    private static <T> CompletableFuture<T> failed(Throwable error) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(error);
+        return future;
+    }
+
+    private static <T> void relay(CompletableFuture<T> source, CompletableFuture<T> target) {
+        source.whenComplete((value, error) -> {
+            if (error != null) {
+                target.completeExceptionally(unwrap(error));
+            } else {
+                target.complete(value);
+            }
+        });
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private static ScheduledExecutorService createTimer() {
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "feishu-api-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.setRemoveOnCancelPolicy(true);
+        return timer;
+    }
+
+    private TenantRateLimiters resolveTenantLimiters(String tenantKey) {
+        TenantRateLimiters limiters = tenantLimiters;
+        if (limiters != null && limiters.getTenantKey().equals(tenantKey != null ? tenantKey : "")) {
+            return limiters;
+        }
+        limiters = limiterManager.getTenantLimiters(tenantKey);
+        tenantLimiters = limiters;
+        return limiters;
+    }
+
+    /**
+     * 解析服务端返回的 x-ogw-ratelimit-limit，无法解析时返回 -1
+     */
+    private double resolveServerLimit(FsHelperException ex) {
+        Object limit = ex.getContextValue("x-ogw-ratelimit-limit");
+        if (limit instanceof Number) {
+            return ((Number) limit).doubleValue();
+        }
+        if (limit instanceof String) {
+            try {
+                return Double.parseDouble(((String) limit).trim());
+            } catch (NumberFormatException ignore) {
+                // ignore
+            }
         }
-        double permitsPerSecond = 1000.0d / waitMillis;
-        limiterManager.adjustRate(tenantKey, operation, permitsPerSecond);
+        return -1;
     }
 
     @FunctionalInterface
@@ -156,5 +593,13 @@ public class FeishuApiExecutor {
         @Override
         T call() throws Exception;
     }
+
+    /**
+     * 非阻塞调用，发起请求后立即返回结果 future
+     */
+    @FunctionalInterface
+    public interface AsyncCallable<T> {
+        CompletableFuture<T> call();
+    }
 }
 
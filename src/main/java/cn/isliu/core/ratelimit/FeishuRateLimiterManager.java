@@ -1,46 +1,95 @@
 package cn.isliu.core.ratelimit;
 
-import com.google.common.util.concurrent.RateLimiter;
-
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 飞书频控管理器
  *
- * <p>基于租户/应用维度缓存 {@link RateLimiter}，实现线程安全的限流。</p>
+ * <p>基于租户/应用维度缓存 {@link TenantRateLimiters}，实现线程安全的限流。
+ * 每个租户的限流器表只解析一次，调用方可以持有该表，按操作直接获取限流器。</p>
+ *
+ * <p>每个操作默认使用 {@link RateLimitRule#getLimiterType()} 指定的限流器类型，
+ * 可以通过构造函数按操作覆盖。限流状态由 {@link QuotaStore} 保存，默认保存在进程内。</p>
  */
 public class FeishuRateLimiterManager {
 
-    private final Map<String, RateLimiter> limiterCache = new ConcurrentHashMap<>();
+    private final Map<String, TenantRateLimiters> tenantCache = new ConcurrentHashMap<>();
+    private final Map<ApiOperation, LimiterType> limiterTypes;
+    private final QuotaStore quotaStore;
 
-    public RateLimiter getLimiter(String tenantKey, RateLimitRule rule) {
-        String cacheKey = tenantKey + ":" + rule.getOperation().name();
-        return limiterCache.computeIfAbsent(cacheKey, key -> createLimiter(rule));
+    public FeishuRateLimiterManager() {
+        this(Collections.emptyMap());
     }
 
-    public void adjustRate(String tenantKey, ApiOperation operation, double permitsPerSecond) {
-        if (permitsPerSecond <= 0) {
-            return;
+    /**
+     * 构造函数
+     *
+     * @param limiterTypes 按操作覆盖的限流器类型
+     */
+    public FeishuRateLimiterManager(Map<ApiOperation, LimiterType> limiterTypes) {
+        this(limiterTypes, InMemoryQuotaStore.INSTANCE);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param limiterTypes 按操作覆盖的限流器类型
+     * @param quotaStore 配额存储，为 null 时使用进程内存储
+     */
+    public FeishuRateLimiterManager(Map<ApiOperation, LimiterType> limiterTypes, QuotaStore quotaStore) {
+        Map<ApiOperation, LimiterType> types = new EnumMap<>(ApiOperation.class);
+        if (limiterTypes != null) {
+            types.putAll(limiterTypes);
         }
-        String cacheKey = tenantKey + ":" + operation.name();
-        RateLimiter limiter = limiterCache.get(cacheKey);
-        if (limiter != null) {
-            limiter.setRate(Math.max(0.1d, permitsPerSecond));
+        this.limiterTypes = Collections.unmodifiableMap(types);
+        this.quotaStore = quotaStore != null ? quotaStore : InMemoryQuotaStore.INSTANCE;
+    }
+
+    public QuotaStore getQuotaStore() {
+        return quotaStore;
+    }
+
+    /**
+     * 获取租户的限流器表
+     *
+     * @param tenantKey 租户标识
+     * @return 限流器表
+     */
+    public TenantRateLimiters getTenantLimiters(String tenantKey) {
+        String key = tenantKey != null ? tenantKey : "";
+        TenantRateLimiters limiters = tenantCache.get(key);
+        if (limiters == null) {
+            limiters = tenantCache.computeIfAbsent(key, k -> new TenantRateLimiters(k, limiterTypes, quotaStore));
         }
+        return limiters;
     }
 
-    private RateLimiter createLimiter(RateLimitRule rule) {
-        double permitsPerSecond = calculatePermitsPerSecond(rule);
-        return RateLimiter.create(permitsPerSecond);
+    /**
+     * 获取各租户、各操作的调用统计快照
+     *
+     * @return 租户标识到操作统计快照的映射
+     */
+    public Map<String, Map<ApiOperation, OperationTelemetry.Snapshot>> telemetrySnapshot() {
+        Map<String, Map<ApiOperation, OperationTelemetry.Snapshot>> result = new LinkedHashMap<>();
+        tenantCache.forEach((tenantKey, limiters) -> result.put(tenantKey, limiters.telemetrySnapshot()));
+        return result;
     }
 
-    private double calculatePermitsPerSecond(RateLimitRule rule) {
-        double seconds = rule.getWindow().toMillis() / 1000.0d;
-        if (seconds <= 0) {
-            seconds = 1;
+    public OperationLimiter getLimiter(String tenantKey, RateLimitRule rule) {
+        return getTenantLimiters(tenantKey).get(rule.getOperation());
+    }
+
+    public void adjustRate(String tenantKey, ApiOperation operation, double permitsPerSecond) {
+        if (permitsPerSecond <= 0) {
+            return;
+        }
+        TenantRateLimiters limiters = tenantCache.get(tenantKey != null ? tenantKey : "");
+        if (limiters != null) {
+            limiters.adjustRate(operation, permitsPerSecond);
         }
-        return Math.max(0.1d, rule.getPermits() / seconds);
     }
 }
-
@@ -0,0 +1,16 @@
+package cn.isliu.core.ratelimit;
+
+/**
+ * 进程内配额存储
+ *
+ * <p>限流状态保存在当前进程内，不与其他进程共享，为默认实现。</p>
+ */
+public class InMemoryQuotaStore implements QuotaStore {
+
+    public static final InMemoryQuotaStore INSTANCE = new InMemoryQuotaStore();
+
+    @Override
+    public OperationLimiter createLimiter(String tenantKey, RateLimitRule rule, LimiterType limiterType) {
+        return OperationLimiter.create(rule, limiterType);
+    }
+}
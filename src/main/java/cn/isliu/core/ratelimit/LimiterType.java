@@ -0,0 +1,19 @@
+package cn.isliu.core.ratelimit;
+
+/**
+ * 限流器类型
+ *
+ * <p>决定 {@link RateLimitRule} 中窗口与许可数的执行方式。</p>
+ */
+public enum LimiterType {
+
+    /**
+     * 平滑限流：按 permits / window 计算固定速率，许可均匀发放，不允许突发
+     */
+    SMOOTH,
+
+    /**
+     * 滑动窗口：任意一个窗口长度内最多发放 permits 个许可，窗口内的额度可以立即用完
+     */
+    SLIDING_WINDOW
+}
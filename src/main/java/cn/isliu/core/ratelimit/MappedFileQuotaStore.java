@@ -0,0 +1,301 @@
+package cn.isliu.core.ratelimit;
+
+import cn.isliu.core.enums.ErrorCode;
+import cn.isliu.core.exception.FsHelperException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 基于内存映射文件的配额存储
+ *
+ * <p>同一主机上的多个进程使用同一个文件即可共享同一应用的频控配额。每个（租户，操作）对应文件中的一个槽位，
+ * 槽位中保存令牌桶状态：当前令牌数、上次补充时间以及补充速率，桶容量为规则的 permits，
+ * 补充速率为 permits / window。读写槽位时先获取进程内的槽位锁，再获取该槽位区间的文件锁，
+ * 保证多进程下的原子性。</p>
+ *
+ * <p>时间使用系统时钟（毫秒），各进程之间可比较。速率调整（如 429 后降速）写入共享槽位，
+ * 对所有进程同时生效。槽位同时记录基准速率和降速租约的到期时间，降速超过
+ * {@link #DEGRADED_LEASE_MILLIS} 没有再次调整时恢复为基准速率。
+ * 同一进程内对同一文件只应创建一个实例，并在不再使用时调用 {@link #close()}。</p>
+ */
+public class MappedFileQuotaStore implements QuotaStore, Closeable {
+
+    /**
+     * 默认槽位数
+     */
+    public static final int DEFAULT_SLOT_COUNT = 1024;
+
+    /**
+     * 降速的租约时长：降速后在此时间内没有再次调整，槽位速率自动恢复为基准速率，
+     * 避免降速的进程退出后其他进程一直停留在低速率
+     */
+    static final long DEGRADED_LEASE_MILLIS = TimeUnit.SECONDS.toMillis(60);
+
+    private static final int MAGIC = 0x46535154;
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 16;
+    private static final int SLOT_SIZE = 56;
+
+    private static final int KEY_OFFSET = 0;
+    private static final int TOKENS_OFFSET = 8;
+    private static final int REFILL_TIME_OFFSET = 16;
+    private static final int RATE_OFFSET = 24;
+    private static final int CAPACITY_OFFSET = 32;
+    private static final int BASE_RATE_OFFSET = 40;
+    private static final int DEGRADED_UNTIL_OFFSET = 48;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int slotCount;
+    private final Object[] slotLocks;
+
+    public MappedFileQuotaStore(Path path) throws IOException {
+        this(path, DEFAULT_SLOT_COUNT);
+    }
+
+    /**
+     * 构造函数，文件不存在时创建，已存在时沿用文件中记录的槽位数
+     *
+     * @param path 共享文件路径
+     * @param slotCount 新建文件时的槽位数
+     * @throws IOException 文件无法打开或映射
+     */
+    public MappedFileQuotaStore(Path path, int slotCount) throws IOException {
+        if (slotCount <= 0) {
+            throw new IllegalArgumentException("slotCount must be positive");
+        }
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            this.slotCount = initHeader(slotCount);
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) this.slotCount * SLOT_SIZE);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        this.slotLocks = new Object[this.slotCount];
+        for (int i = 0; i < this.slotCount; i++) {
+            slotLocks[i] = new Object();
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    @Override
+    public OperationLimiter createLimiter(String tenantKey, RateLimitRule rule, LimiterType limiterType) {
+        double windowSeconds = Math.max(1L, rule.getWindow().toMillis()) / 1000.0d;
+        double capacity = rule.getPermits();
+        int slot = claimSlot(keyHash(tenantKey, rule.getOperation()), capacity, capacity / windowSeconds);
+        return new SharedBucketLimiter(slot);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * 读取或初始化文件头，返回槽位数
+     */
+    private int initHeader(int slotCount) throws IOException {
+        try (FileLock ignored = channel.lock(0, HEADER_SIZE, false)) {
+            if (channel.size() >= HEADER_SIZE) {
+                MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+                if (header.getInt(0) == MAGIC) {
+                    if (header.getInt(4) != VERSION) {
+                        throw new IOException("配额文件版本不兼容，请更换文件路径：" + path
+                                + "，文件版本：" + header.getInt(4) + "，当前版本：" + VERSION);
+                    }
+                    return header.getInt(8);
+                }
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) slotCount * SLOT_SIZE);
+            header.putInt(4, VERSION);
+            header.putInt(8, slotCount);
+            header.putInt(0, MAGIC);
+            header.force();
+            return slotCount;
+        }
+    }
+
+    /**
+     * 按开放寻址查找或占用槽位
+     */
+    private int claimSlot(long key, double capacity, double rate) {
+        int start = (int) ((key & Long.MAX_VALUE) % slotCount);
+        for (int i = 0; i < slotCount; i++) {
+            int slot = (start + i) % slotCount;
+            int claimed = withSlotLock(slot, offset -> {
+                long current = buffer.getLong(offset + KEY_OFFSET);
+                if (current == key) {
+                    buffer.putDouble(offset + BASE_RATE_OFFSET, rate);
+                    // 清理已过期的降速，例如降速的进程已经退出
+                    refill(offset, System.currentTimeMillis());
+                    return 1;
+                }
+                if (current != 0L) {
+                    return 0;
+                }
+                buffer.putDouble(offset + TOKENS_OFFSET, capacity);
+                buffer.putLong(offset + REFILL_TIME_OFFSET, System.currentTimeMillis());
+                buffer.putDouble(offset + RATE_OFFSET, rate);
+                buffer.putDouble(offset + CAPACITY_OFFSET, capacity);
+                buffer.putDouble(offset + BASE_RATE_OFFSET, rate);
+                buffer.putLong(offset + DEGRADED_UNTIL_OFFSET, 0L);
+                buffer.putLong(offset + KEY_OFFSET, key);
+                return 1;
+            });
+            if (claimed == 1) {
+                return slot;
+            }
+        }
+        throw FsHelperException.builder(ErrorCode.RESOURCE_EXHAUSTED)
+                .message("配额文件槽位已用完：" + path)
+                .build();
+    }
+
+    /**
+     * 尝试从令牌桶中取出一个令牌
+     *
+     * @return 0 表示获取成功，否则为需要等待的毫秒数
+     */
+    private long tryAcquire(int slot) {
+        return withSlotLock(slot, offset -> {
+            long now = System.currentTimeMillis();
+            double tokens = refill(offset, now);
+            double rate = buffer.getDouble(offset + RATE_OFFSET);
+            if (tokens >= 1.0d) {
+                buffer.putDouble(offset + TOKENS_OFFSET, tokens - 1.0d);
+                return 0L;
+            }
+            return Math.max(1L, (long) Math.ceil((1.0d - tokens) / rate * 1000.0d));
+        });
+    }
+
+    private double refill(int offset, long now) {
+        double tokens = buffer.getDouble(offset + TOKENS_OFFSET);
+        long last = buffer.getLong(offset + REFILL_TIME_OFFSET);
+        if (now > last) {
+            double rate = buffer.getDouble(offset + RATE_OFFSET);
+            double capacity = buffer.getDouble(offset + CAPACITY_OFFSET);
+            tokens = Math.min(capacity, tokens + (now - last) / 1000.0d * rate);
+            buffer.putDouble(offset + TOKENS_OFFSET, tokens);
+            buffer.putLong(offset + REFILL_TIME_OFFSET, now);
+        }
+        long degradedUntil = buffer.getLong(offset + DEGRADED_UNTIL_OFFSET);
+        if (degradedUntil != 0L && now >= degradedUntil) {
+            buffer.putDouble(offset + RATE_OFFSET, buffer.getDouble(offset + BASE_RATE_OFFSET));
+            buffer.putLong(offset + DEGRADED_UNTIL_OFFSET, 0L);
+        }
+        return tokens;
+    }
+
+    private <R> R withSlotLock(int slot, SlotAction<R> action) {
+        int offset = HEADER_SIZE + slot * SLOT_SIZE;
+        synchronized (slotLocks[slot]) {
+            try (FileLock ignored = channel.lock(offset, SLOT_SIZE, false)) {
+                return action.apply(offset);
+            } catch (IOException e) {
+                throw FsHelperException.builder(ErrorCode.RESOURCE_EXHAUSTED)
+                        .message("访问配额文件失败：" + path)
+                        .cause(e)
+                        .build();
+            }
+        }
+    }
+
+    /**
+     * 租户和操作的 64 位 FNV-1a 哈希，0 保留为空槽位
+     */
+    private static long keyHash(String tenantKey, ApiOperation operation) {
+        long hash = 0xcbf29ce484222325L;
+        byte[] bytes = ((tenantKey != null ? tenantKey : "") + '\u0000' + operation.name()).getBytes(StandardCharsets.UTF_8);
+        for (byte b : bytes) {
+            hash ^= (b & 0xff);
+            hash *= 0x100000001b3L;
+        }
+        return hash == 0L ? 1L : hash;
+    }
+
+    @FunctionalInterface
+    private interface SlotAction<R> {
+        R apply(int offset) throws IOException;
+    }
+
+    /**
+     * 共享令牌桶限流器
+     */
+    private final class SharedBucketLimiter implements OperationLimiter {
+
+        private final int slot;
+
+        private SharedBucketLimiter(int slot) {
+            this.slot = slot;
+        }
+
+        @Override
+        public void acquire() {
+            tryAcquire(Long.MAX_VALUE);
+        }
+
+        @Override
+        public boolean tryAcquire(long timeoutNanos) {
+            long deadline = System.nanoTime() + timeoutNanos;
+            boolean interrupted = false;
+            try {
+                long waitMillis;
+                while ((waitMillis = MappedFileQuotaStore.this.tryAcquire(slot)) > 0) {
+                    if (timeoutNanos != Long.MAX_VALUE
+                            && System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitMillis) - deadline > 0) {
+                        return false;
+                    }
+                    try {
+                        TimeUnit.MILLISECONDS.sleep(waitMillis);
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+                return true;
+            } finally {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        @Override
+        public void setRate(double permitsPerSecond) {
+            if (permitsPerSecond <= 0 || Double.isNaN(permitsPerSecond)) {
+                return;
+            }
+            withSlotLock(slot, offset -> {
+                long now = System.currentTimeMillis();
+                refill(offset, now);
+                double baseRate = buffer.getDouble(offset + BASE_RATE_OFFSET);
+                double rate = Math.min(baseRate, permitsPerSecond);
+                buffer.putDouble(offset + RATE_OFFSET, rate);
+                buffer.putLong(offset + DEGRADED_UNTIL_OFFSET, rate < baseRate ? now + DEGRADED_LEASE_MILLIS : 0L);
+                return null;
+            });
+        }
+
+        @Override
+        public double getRate() {
+            return withSlotLock(slot, offset -> {
+                refill(offset, System.currentTimeMillis());
+                return buffer.getDouble(offset + RATE_OFFSET);
+            });
+        }
+    }
+}
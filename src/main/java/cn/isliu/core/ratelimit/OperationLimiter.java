@@ -0,0 +1,48 @@
+package cn.isliu.core.ratelimit;
+
+/**
+ * 单个 API 操作的限流器
+ */
+public interface OperationLimiter {
+
+    /**
+     * 获取一个许可，必要时阻塞等待
+     */
+    void acquire();
+
+    /**
+     * 在超时时间内获取一个许可，确定无法在超时前获得许可时立即返回
+     *
+     * @param timeoutNanos 超时时间（纳秒）
+     * @return 是否获取成功
+     */
+    boolean tryAcquire(long timeoutNanos);
+
+    /**
+     * 调整限流速率
+     *
+     * @param permitsPerSecond 每秒许可数
+     */
+    void setRate(double permitsPerSecond);
+
+    /**
+     * 获取当前限流速率
+     *
+     * @return 每秒许可数
+     */
+    double getRate();
+
+    /**
+     * 根据规则创建限流器
+     *
+     * @param rule 频控规则
+     * @param type 限流器类型
+     * @return 限流器
+     */
+    static OperationLimiter create(RateLimitRule rule, LimiterType type) {
+        if (type == LimiterType.SLIDING_WINDOW) {
+            return new SlidingWindowLimiter(rule.getWindow(), rule.getPermits());
+        }
+        return new SmoothLimiter(TenantRateLimiters.calculatePermitsPerSecond(rule));
+    }
+}
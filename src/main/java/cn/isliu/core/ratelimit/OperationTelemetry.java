@@ -0,0 +1,156 @@
+package cn.isliu.core.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 单个租户、单个操作的调用统计
+ *
+ * <p>分别记录各阶段的耗时，用于判断调用慢在配额还是网络：</p>
+ * <ul>
+ *     <li>permitWait：排队获取限流许可的耗时；</li>
+ *     <li>lockWait：需要文档串行的操作在文档队列中等待的耗时；</li>
+ *     <li>latency：每次实际调用接口的耗时（含重试的每一次）；</li>
+ *     <li>retryWait：重试前的退避和 429 等待耗时。</li>
+ * </ul>
+ */
+public class OperationTelemetry {
+
+    private final ApiOperation operation;
+    private final LatencyHistogram permitWait = new LatencyHistogram();
+    private final LatencyHistogram lockWait = new LatencyHistogram();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LatencyHistogram retryWait = new LatencyHistogram();
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder rateLimited = new LongAdder();
+
+    public OperationTelemetry(ApiOperation operation) {
+        this.operation = operation;
+    }
+
+    public ApiOperation getOperation() {
+        return operation;
+    }
+
+    public void recordPermitWait(long nanos) {
+        permitWait.record(nanos);
+    }
+
+    public void recordLockWait(long nanos) {
+        lockWait.record(nanos);
+    }
+
+    /**
+     * 记录一次接口调用
+     *
+     * @param nanos 调用耗时
+     * @param success 是否成功
+     */
+    public void recordCall(long nanos, boolean success) {
+        latency.record(nanos);
+        calls.increment();
+        if (!success) {
+            failures.increment();
+        }
+    }
+
+    /**
+     * 记录一次重试
+     *
+     * @param waitMillis 重试前的等待时间
+     * @param rateLimitedRetry 是否因 429 重试
+     */
+    public void recordRetry(long waitMillis, boolean rateLimitedRetry) {
+        retryWait.record(TimeUnit.MILLISECONDS.toNanos(waitMillis));
+        retries.increment();
+        if (rateLimitedRetry) {
+            rateLimited.increment();
+        }
+    }
+
+    /**
+     * 记录一次 429（未重试）
+     */
+    public void recordRateLimited() {
+        rateLimited.increment();
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(operation, calls.sum(), failures.sum(), retries.sum(), rateLimited.sum(),
+                permitWait.snapshot(), lockWait.snapshot(), latency.snapshot(), retryWait.snapshot());
+    }
+
+    /**
+     * 调用统计快照
+     */
+    public static final class Snapshot {
+        private final ApiOperation operation;
+        private final long calls;
+        private final long failures;
+        private final long retries;
+        private final long rateLimited;
+        private final LatencyHistogram.Snapshot permitWait;
+        private final LatencyHistogram.Snapshot lockWait;
+        private final LatencyHistogram.Snapshot latency;
+        private final LatencyHistogram.Snapshot retryWait;
+
+        private Snapshot(ApiOperation operation, long calls, long failures, long retries, long rateLimited,
+                         LatencyHistogram.Snapshot permitWait, LatencyHistogram.Snapshot lockWait,
+                         LatencyHistogram.Snapshot latency, LatencyHistogram.Snapshot retryWait) {
+            this.operation = operation;
+            this.calls = calls;
+            this.failures = failures;
+            this.retries = retries;
+            this.rateLimited = rateLimited;
+            this.permitWait = permitWait;
+            this.lockWait = lockWait;
+            this.latency = latency;
+            this.retryWait = retryWait;
+        }
+
+        public ApiOperation getOperation() {
+            return operation;
+        }
+
+        public long getCalls() {
+            return calls;
+        }
+
+        public long getFailures() {
+            return failures;
+        }
+
+        public long getRetries() {
+            return retries;
+        }
+
+        public long getRateLimited() {
+            return rateLimited;
+        }
+
+        public LatencyHistogram.Snapshot getPermitWait() {
+            return permitWait;
+        }
+
+        public LatencyHistogram.Snapshot getLockWait() {
+            return lockWait;
+        }
+
+        public LatencyHistogram.Snapshot getLatency() {
+            return latency;
+        }
+
+        public LatencyHistogram.Snapshot getRetryWait() {
+            return retryWait;
+        }
+
+        @Override
+        public String toString() {
+            return operation.name() + "{calls=" + calls + ", failures=" + failures + ", retries=" + retries
+                    + ", rateLimited=" + rateLimited + ", permitWait=" + permitWait + ", lockWait=" + lockWait
+                    + ", latency=" + latency + ", retryWait=" + retryWait + "}";
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package cn.isliu.core.ratelimit;
+
+/**
+ * 频控配额存储
+ *
+ * <p>决定限流状态保存在哪里：{@link InMemoryQuotaStore} 将状态保存在当前进程内，
+ * {@link MappedFileQuotaStore} 将状态保存在内存映射文件中，同一主机上的多个进程共享配额。
+ * 也可以基于 Redis 等外部存储实现该接口，在多台主机之间共享配额。</p>
+ *
+ * <p>每个租户的每个操作只会创建一次限流器，实现需要保证返回的限流器线程安全。</p>
+ */
+public interface QuotaStore {
+
+    /**
+     * 为租户的操作创建限流器
+     *
+     * @param tenantKey 租户标识
+     * @param rule 频控规则
+     * @param limiterType 限流器类型，不支持的实现可以忽略
+     * @return 限流器
+     */
+    OperationLimiter createLimiter(String tenantKey, RateLimitRule rule, LimiterType limiterType);
+}
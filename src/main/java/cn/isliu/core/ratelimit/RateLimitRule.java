@@ -14,6 +14,8 @@ public class RateLimitRule {
     private final int permits;
     private final boolean requireDocumentLock;
     private final boolean allow429Retry;
+    private final LimiterType limiterType;
+    private final boolean idempotent;
 
     private RateLimitRule(Builder builder) {
         this.operation = builder.operation;
@@ -21,6 +23,8 @@ public class RateLimitRule {
         this.permits = builder.permits;
         this.requireDocumentLock = builder.requireDocumentLock;
         this.allow429Retry = builder.allow429Retry;
+        this.limiterType = builder.limiterType;
+        this.idempotent = builder.idempotent;
     }
 
     public ApiOperation getOperation() {
@@ -43,6 +47,17 @@ public class RateLimitRule {
         return allow429Retry;
     }
 
+    public LimiterType getLimiterType() {
+        return limiterType;
+    }
+
+    /**
+     * 是否为幂等操作，幂等操作在连接异常和 5xx 时可以安全重试
+     */
+    public boolean isIdempotent() {
+        return idempotent;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -53,6 +68,8 @@ public class RateLimitRule {
         private int permits = 1;
         private boolean requireDocumentLock;
         private boolean allow429Retry = true;
+        private LimiterType limiterType = LimiterType.SMOOTH;
+        private boolean idempotent;
 
         public Builder operation(ApiOperation operation) {
             this.operation = operation;
@@ -83,6 +100,18 @@ public class RateLimitRule {
             return this;
         }
 
+        public Builder limiterType(LimiterType limiterType) {
+            if (limiterType != null) {
+                this.limiterType = limiterType;
+            }
+            return this;
+        }
+
+        public Builder idempotent(boolean idempotent) {
+            this.idempotent = idempotent;
+            return this;
+        }
+
         public RateLimitRule build() {
             if (operation == null) {
                 throw new IllegalArgumentException("operation must not be null");
@@ -0,0 +1,218 @@
+package cn.isliu.core.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * API 重试策略
+ *
+ * <ul>
+ *     <li>退避时间使用全抖动（full jitter）：第 n 次重试在 [0, min(最大退避, 基础退避 * 2^(n-1))] 内随机取值，
+ *     避免多个线程在同一时刻集中重试；服务端返回 x-ogw-ratelimit-reset 时在其基础上增加随机抖动；</li>
+ *     <li>重试预算：每个客户端一个令牌桶，每次重试消耗一个令牌，按固定速率补充，
+ *     接口持续异常时快速失败，不会因重试放大请求量；</li>
+ *     <li>429 对所有允许重试的操作生效；连接异常和 5xx 只对幂等操作重试，
+ *     即读取操作以及按绝对范围写入的操作（见 {@link RateLimitRule#isIdempotent()}）。</li>
+ * </ul>
+ *
+ * <p>策略本身不可变，可在多个客户端之间共享，重试预算由每个客户端单独创建。</p>
+ */
+public class RetryPolicy {
+
+    private static final RetryPolicy DEFAULT = builder().build();
+
+    private final int maxRetries;
+    private final long baseBackoffMillis;
+    private final long maxBackoffMillis;
+    private final int budgetCapacity;
+    private final double budgetRefillPerSecond;
+    private final boolean retryOnIoError;
+    private final boolean retryOnServerError;
+
+    private RetryPolicy(Builder builder) {
+        this.maxRetries = builder.maxRetries;
+        this.baseBackoffMillis = builder.baseBackoffMillis;
+        this.maxBackoffMillis = builder.maxBackoffMillis;
+        this.budgetCapacity = builder.budgetCapacity;
+        this.budgetRefillPerSecond = builder.budgetRefillPerSecond;
+        this.retryOnIoError = builder.retryOnIoError;
+        this.retryOnServerError = builder.retryOnServerError;
+    }
+
+    /**
+     * 默认策略：最多重试3次，基础退避200ms，最大退避10s，重试预算容量50、每秒补充5次
+     *
+     * @return 默认策略
+     */
+    public static RetryPolicy defaults() {
+        return DEFAULT;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public long getBaseBackoffMillis() {
+        return baseBackoffMillis;
+    }
+
+    public long getMaxBackoffMillis() {
+        return maxBackoffMillis;
+    }
+
+    public boolean isRetryOnIoError() {
+        return retryOnIoError;
+    }
+
+    public boolean isRetryOnServerError() {
+        return retryOnServerError;
+    }
+
+    /**
+     * 计算第 attempt 次重试的退避时间（全抖动）
+     *
+     * @param attempt 重试序号，从1开始
+     * @return 退避时间（毫秒）
+     */
+    public long backoffMillis(int attempt) {
+        int shift = Math.min(30, Math.max(0, attempt - 1));
+        long ceiling = Math.min(maxBackoffMillis, baseBackoffMillis << shift);
+        return ceiling <= 0 ? 0L : ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    /**
+     * 在服务端要求的等待时间上增加抖动
+     *
+     * @param resetMillis 服务端要求的等待时间（毫秒）
+     * @return 等待时间（毫秒）
+     */
+    public long jitter(long resetMillis) {
+        return resetMillis + ThreadLocalRandom.current().nextLong(baseBackoffMillis + 1);
+    }
+
+    /**
+     * 创建重试预算
+     *
+     * @return 重试预算
+     */
+    public Budget newBudget() {
+        return new Budget(budgetCapacity, budgetRefillPerSecond);
+    }
+
+    /**
+     * 重试预算（令牌桶）
+     */
+    public static final class Budget {
+
+        private final double capacity;
+        private final double refillPerNano;
+        private double tokens;
+        private long lastRefillNanos;
+
+        private Budget(int capacity, double refillPerSecond) {
+            this.capacity = capacity;
+            this.refillPerNano = refillPerSecond / TimeUnit.SECONDS.toNanos(1);
+            this.tokens = capacity;
+            this.lastRefillNanos = System.nanoTime();
+        }
+
+        /**
+         * 尝试消耗一次重试
+         *
+         * @return 预算充足时返回 true
+         */
+        public synchronized boolean tryAcquire() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * refillPerNano);
+            lastRefillNanos = now;
+            if (tokens < 1.0d) {
+                return false;
+            }
+            tokens -= 1.0d;
+            return true;
+        }
+
+        /**
+         * 剩余可用的重试次数
+         *
+         * @return 剩余次数
+         */
+        public synchronized int available() {
+            long now = System.nanoTime();
+            return (int) Math.min(capacity, tokens + (now - lastRefillNanos) * refillPerNano);
+        }
+    }
+
+    public static class Builder {
+        private int maxRetries = 3;
+        private long baseBackoffMillis = 200L;
+        private long maxBackoffMillis = TimeUnit.SECONDS.toMillis(10);
+        private int budgetCapacity = 50;
+        private double budgetRefillPerSecond = 5.0d;
+        private boolean retryOnIoError = true;
+        private boolean retryOnServerError = true;
+
+        /**
+         * 单次调用的最大重试次数，0 表示不重试
+         */
+        public Builder maxRetries(int maxRetries) {
+            if (maxRetries >= 0) {
+                this.maxRetries = maxRetries;
+            }
+            return this;
+        }
+
+        public Builder baseBackoff(Duration baseBackoff) {
+            if (baseBackoff != null && !baseBackoff.isNegative()) {
+                this.baseBackoffMillis = baseBackoff.toMillis();
+            }
+            return this;
+        }
+
+        public Builder maxBackoff(Duration maxBackoff) {
+            if (maxBackoff != null && !maxBackoff.isNegative()) {
+                this.maxBackoffMillis = maxBackoff.toMillis();
+            }
+            return this;
+        }
+
+        /**
+         * 设置重试预算
+         *
+         * @param capacity 预算容量，即允许连续重试的次数
+         * @param refillPerSecond 每秒补充的重试次数
+         */
+        public Builder retryBudget(int capacity, double refillPerSecond) {
+            if (capacity >= 0 && refillPerSecond >= 0) {
+                this.budgetCapacity = capacity;
+                this.budgetRefillPerSecond = refillPerSecond;
+            }
+            return this;
+        }
+
+        /**
+         * 幂等操作遇到连接异常（连接重置、超时等）时是否重试
+         */
+        public Builder retryOnIoError(boolean retryOnIoError) {
+            this.retryOnIoError = retryOnIoError;
+            return this;
+        }
+
+        /**
+         * 幂等操作遇到 5xx 时是否重试
+         */
+        public Builder retryOnServerError(boolean retryOnServerError) {
+            this.retryOnServerError = retryOnServerError;
+            return this;
+        }
+
+        public RetryPolicy build() {
+            return new RetryPolicy(this);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package cn.isliu.core.ratelimit;
+
+import cn.isliu.core.enums.ErrorCode;
+import cn.isliu.core.exception.FsHelperException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 相同读请求合并（single-flight）
+ *
+ * <p>同一 key 的请求在执行期间到达时不再重复调用接口，而是等待正在执行的请求并共享其结果，
+ * 只有第一个请求消耗限流许可。可选设置结果的短暂有效期，有效期内的相同请求直接返回上次的结果，
+ * 过期的结果在创建新请求时按有效期间隔批量清理。失败的结果不会缓存。</p>
+ *
+ * <p>发起调用的请求因自身原因失败（截止时间已到、线程被中断、熔断拒绝）时，错误不传递给等待者，
+ * 等待者重新发起请求，由其中一个成为新的发起者。</p>
+ *
+ * <p>结果对象在所有等待者之间共享，调用方应当只读使用。</p>
+ */
+public class SingleFlight {
+
+    /**
+     * 发起者因自身原因失败时交给等待者的结果，等待者收到后重新发起请求
+     */
+    private static final Object ABANDONED = new Object();
+
+    private final ConcurrentMap<String, Flight> flights = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final AtomicLong nextSweepNanos = new AtomicLong(System.nanoTime());
+    private final AtomicLong executions = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    /**
+     * 构造函数
+     *
+     * @param ttl 结果有效期，为 null 或 0 时只合并执行中的请求
+     */
+    public SingleFlight(Duration ttl) {
+        this.ttlNanos = ttl == null || ttl.isNegative() ? 0L : ttl.toNanos();
+    }
+
+    /**
+     * 执行请求，相同 key 的请求合并为一次调用
+     *
+     * @param key 请求标识
+     * @param loader 实际执行请求的逻辑
+     * @param <T> 返回值类型
+     * @return 请求结果
+     * @throws Exception loader 抛出的异常
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, FeishuApiExecutor.CheckedCallable<T> loader) throws Exception {
+        while (true) {
+            Flight flight = flights.get(key);
+            if (flight != null && flight.isExpired()) {
+                flights.remove(key, flight);
+                flight = null;
+            }
+            if (flight == null) {
+                Flight created = new Flight();
+                flight = flights.putIfAbsent(key, created);
+                if (flight == null) {
+                    sweepExpired();
+                    return (T) lead(key, created, loader);
+                }
+                if (flight.isExpired()) {
+                    continue;
+                }
+            }
+            Object result = await(flight);
+            if (result != ABANDONED) {
+                coalesced.incrementAndGet();
+                return (T) result;
+            }
+        }
+    }
+
+    /**
+     * 实际发起调用的次数
+     */
+    public long getExecutions() {
+        return executions.get();
+    }
+
+    /**
+     * 被合并、未发起调用的请求数
+     */
+    public long getCoalesced() {
+        return coalesced.get();
+    }
+
+    private Object lead(String key, Flight flight, FeishuApiExecutor.CheckedCallable<?> loader) throws Exception {
+        executions.incrementAndGet();
+        try {
+            Object result = loader.call();
+            flight.completedAt = System.nanoTime();
+            flight.future.complete(result);
+            if (ttlNanos <= 0) {
+                flights.remove(key, flight);
+            }
+            return result;
+        } catch (Throwable t) {
+            flights.remove(key, flight);
+            if (isLeaderSpecific(t)) {
+                flight.future.complete(ABANDONED);
+            } else {
+                flight.future.completeExceptionally(t);
+            }
+            throw t;
+        }
+    }
+
+    /**
+     * 失败是否只与发起者自身有关：截止时间、中断和熔断拒绝取决于发起者的上下文和发起时机
+     */
+    private static boolean isLeaderSpecific(Throwable t) {
+        if (t instanceof InterruptedException || Thread.currentThread().isInterrupted()) {
+            return true;
+        }
+        if (t instanceof FsHelperException) {
+            ErrorCode code = ((FsHelperException) t).getErrorCode();
+            return code == ErrorCode.CLIENT_TIMEOUT || code == ErrorCode.API_CIRCUIT_OPEN
+                    || t.getCause() instanceof InterruptedException;
+        }
+        return false;
+    }
+
+    /**
+     * 清理已过期的结果，每个有效期最多执行一次，表中只保留最近两个有效期内完成的结果
+     */
+    private void sweepExpired() {
+        if (ttlNanos <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        long next = nextSweepNanos.get();
+        if (now - next < 0 || !nextSweepNanos.compareAndSet(next, now + ttlNanos)) {
+            return;
+        }
+        flights.entrySet().removeIf(entry -> entry.getValue().isExpired());
+    }
+
+    private Object await(Flight flight) throws Exception {
+        ApiCallContext context = ApiCallContext.current();
+        try {
+            if (context.hasDeadline()) {
+                return flight.future.get(Math.max(0L, context.remainingNanos()), TimeUnit.NANOSECONDS);
+            }
+            return flight.future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        } catch (TimeoutException e) {
+            throw FsHelperException.builder(ErrorCode.CLIENT_TIMEOUT)
+                    .message("截止时间前未能获取合并请求的结果")
+                    .cause(e)
+                    .build();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw FsHelperException.builder(ErrorCode.API_CALL_FAILED)
+                    .message("等待合并请求的结果被中断")
+                    .cause(e)
+                    .build();
+        }
+    }
+
+    /**
+     * 单次调用，completedAt 在 future 完成前写入
+     */
+    private final class Flight {
+        private final CompletableFuture<Object> future = new CompletableFuture<>();
+        private volatile long completedAt;
+
+        private boolean isExpired() {
+            return future.isDone() && System.nanoTime() - completedAt >= ttlNanos;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package cn.isliu.core.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 滑动窗口限流器
+ *
+ * <p>记录最近发放许可的时间（滑动窗口日志），保证任意一个窗口长度内发放的许可不超过上限。
+ * 窗口内的额度可以立即用完，例如每分钟 20 次的操作可以连续发起 15 次请求而无需等待，
+ * 额度用完后等待最早的一次许可滑出窗口。</p>
+ */
+public class SlidingWindowLimiter implements OperationLimiter {
+
+    private final long windowNanos;
+    private final long[] timestamps;
+    private int head;
+    private int size;
+    private int limit;
+
+    /**
+     * 构造函数
+     *
+     * @param window 窗口长度
+     * @param permits 窗口内的许可数上限
+     */
+    public SlidingWindowLimiter(Duration window, int permits) {
+        if (permits <= 0) {
+            throw new IllegalArgumentException("permits must be positive");
+        }
+        this.windowNanos = Math.max(1L, window.toNanos());
+        this.timestamps = new long[permits];
+        this.limit = permits;
+    }
+
+    @Override
+    public void acquire() {
+        tryAcquire(Long.MAX_VALUE);
+    }
+
+    @Override
+    public boolean tryAcquire(long timeoutNanos) {
+        long start = System.nanoTime();
+        while (true) {
+            long waitNanos;
+            synchronized (this) {
+                long now = System.nanoTime();
+                evictExpired(now);
+                if (size < limit) {
+                    timestamps[(head + size) % timestamps.length] = now;
+                    size++;
+                    return true;
+                }
+                // 额度已用完，等待最早的许可滑出窗口
+                int oldest = (head + size - limit) % timestamps.length;
+                waitNanos = timestamps[oldest] + windowNanos - now;
+                if (timeoutNanos != Long.MAX_VALUE && now + waitNanos - start > timeoutNanos) {
+                    return false;
+                }
+            }
+            sleepUninterruptibly(Math.max(1L, waitNanos));
+        }
+    }
+
+    /**
+     * 调整限流速率，换算为窗口内的许可数，不超过规则定义的上限且至少为1
+     *
+     * @param permitsPerSecond 每秒许可数
+     */
+    @Override
+    public synchronized void setRate(double permitsPerSecond) {
+        if (permitsPerSecond <= 0 || Double.isNaN(permitsPerSecond)) {
+            return;
+        }
+        double windowSeconds = windowNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        long permits = Math.round(permitsPerSecond * windowSeconds);
+        this.limit = (int) Math.max(1L, Math.min(timestamps.length, permits));
+    }
+
+    @Override
+    public synchronized double getRate() {
+        return limit / (windowNanos / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /**
+     * 与 Guava RateLimiter#acquire 一致，等待期间不响应中断，结束后恢复中断状态
+     */
+    private static void sleepUninterruptibly(long nanos) {
+        boolean interrupted = false;
+        long deadline = System.nanoTime() + nanos;
+        try {
+            long remaining = nanos;
+            while (remaining > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(remaining);
+                    return;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                    remaining = deadline - System.nanoTime();
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void evictExpired(long now) {
+        while (size > 0 && now - timestamps[head] >= windowNanos) {
+            head = (head + 1) % timestamps.length;
+            size--;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package cn.isliu.core.ratelimit;
+
+import com.google.common.util.concurrent.RateLimiter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 平滑限流器
+ *
+ * <p>基于 Guava {@link RateLimiter}，许可按固定速率均匀发放。</p>
+ */
+public class SmoothLimiter implements OperationLimiter {
+
+    private final RateLimiter rateLimiter;
+
+    public SmoothLimiter(double permitsPerSecond) {
+        this.rateLimiter = RateLimiter.create(permitsPerSecond);
+    }
+
+    @Override
+    public void acquire() {
+        rateLimiter.acquire();
+    }
+
+    @Override
+    public boolean tryAcquire(long timeoutNanos) {
+        return rateLimiter.tryAcquire(Math.max(0L, timeoutNanos), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void setRate(double permitsPerSecond) {
+        rateLimiter.setRate(permitsPerSecond);
+    }
+
+    @Override
+    public double getRate() {
+        return rateLimiter.getRate();
+    }
+}
@@ -0,0 +1,153 @@
+package cn.isliu.core.ratelimit;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 单个租户的限流器表
+ *
+ * <p>创建时为每个 {@link ApiOperation} 预先生成限流器，按枚举序号存放在数组中，
+ * 获取限流器只需一次数组下标访问，不再拼接缓存 key 或计算哈希。
+ * 每个限流器配有一个 {@link AdaptiveRateController}，根据 429 和后续成功调用自动调整速率，
+ * 以及一个 {@link ApiScheduler}，按优先级、截止时间和电子表格公平排队获取许可，
+ * 调用统计记录在对应的 {@link OperationTelemetry} 中。</p>
+ */
+public final class TenantRateLimiters {
+
+    private final String tenantKey;
+    private final OperationLimiter[] limiters;
+    private final AdaptiveRateController[] controllers;
+    private final ApiScheduler[] schedulers;
+    private final OperationTelemetry[] telemetry;
+
+    TenantRateLimiters(String tenantKey, Map<ApiOperation, LimiterType> limiterTypes, QuotaStore quotaStore) {
+        this.tenantKey = tenantKey;
+        ApiOperation[] operations = ApiOperation.values();
+        this.limiters = new OperationLimiter[operations.length];
+        this.controllers = new AdaptiveRateController[operations.length];
+        this.schedulers = new ApiScheduler[operations.length];
+        this.telemetry = new OperationTelemetry[operations.length];
+        for (ApiOperation operation : operations) {
+            RateLimitRule rule = operation.getRule();
+            LimiterType type = limiterTypes.get(operation);
+            OperationLimiter limiter = quotaStore.createLimiter(tenantKey, rule, type != null ? type : rule.getLimiterType());
+            limiters[operation.ordinal()] = limiter;
+            controllers[operation.ordinal()] = new AdaptiveRateController(limiter, calculatePermitsPerSecond(rule));
+            schedulers[operation.ordinal()] = new ApiScheduler(operation, limiter);
+            telemetry[operation.ordinal()] = new OperationTelemetry(operation);
+        }
+    }
+
+    public String getTenantKey() {
+        return tenantKey;
+    }
+
+    /**
+     * 获取操作对应的限流器
+     *
+     * @param operation API 操作
+     * @return 限流器
+     */
+    public OperationLimiter get(ApiOperation operation) {
+        return limiters[operation.ordinal()];
+    }
+
+    /**
+     * 按调用上下文获取操作的许可
+     *
+     * @param operation API 操作
+     * @param spreadsheetToken 电子表格 token，用于公平排队
+     * @param context 调用上下文
+     */
+    public void acquire(ApiOperation operation, String spreadsheetToken, ApiCallContext context) {
+        schedulers[operation.ordinal()].acquire(spreadsheetToken, context);
+    }
+
+    /**
+     * 以非阻塞方式获取操作的许可
+     *
+     * @param operation API 操作
+     * @param spreadsheetToken 电子表格 token，用于公平排队
+     * @param context 调用上下文
+     * @return 获取到许可后完成的 future
+     */
+    public CompletableFuture<Void> acquireAsync(ApiOperation operation, String spreadsheetToken,
+                                                ApiCallContext context) {
+        return schedulers[operation.ordinal()].acquireAsync(spreadsheetToken, context);
+    }
+
+    /**
+     * 获取操作对应的速率控制器
+     *
+     * @param operation API 操作
+     * @return 速率控制器
+     */
+    public AdaptiveRateController getController(ApiOperation operation) {
+        return controllers[operation.ordinal()];
+    }
+
+    /**
+     * 获取操作对应的调用统计
+     *
+     * @param operation API 操作
+     * @return 调用统计
+     */
+    public OperationTelemetry telemetry(ApiOperation operation) {
+        return telemetry[operation.ordinal()];
+    }
+
+    /**
+     * 获取有调用记录的操作的统计快照
+     *
+     * @return 操作到统计快照的映射
+     */
+    public Map<ApiOperation, OperationTelemetry.Snapshot> telemetrySnapshot() {
+        Map<ApiOperation, OperationTelemetry.Snapshot> result = new EnumMap<>(ApiOperation.class);
+        for (OperationTelemetry item : telemetry) {
+            OperationTelemetry.Snapshot snapshot = item.snapshot();
+            if (snapshot.getCalls() > 0 || snapshot.getPermitWait().getCount() > 0) {
+                result.put(item.getOperation(), snapshot);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 调整操作的限流速率，不超过操作的基准速率
+     *
+     * @param operation API 操作
+     * @param permitsPerSecond 每秒许可数，小于等于0时忽略
+     */
+    public void adjustRate(ApiOperation operation, double permitsPerSecond) {
+        controllers[operation.ordinal()].setRate(permitsPerSecond);
+    }
+
+    /**
+     * 记录一次成功调用
+     *
+     * @param operation API 操作
+     */
+    public void onSuccess(ApiOperation operation) {
+        controllers[operation.ordinal()].onSuccess();
+    }
+
+    /**
+     * 记录一次 429
+     *
+     * @param operation API 操作
+     * @param serverLimit 服务端返回的限流值，未知时为小于等于0的值
+     * @param resetMillis 服务端要求的等待时间（毫秒）
+     */
+    public void onRateLimited(ApiOperation operation, double serverLimit, long resetMillis) {
+        controllers[operation.ordinal()].onRateLimited(serverLimit, resetMillis);
+    }
+
+    static double calculatePermitsPerSecond(RateLimitRule rule) {
+        double seconds = rule.getWindow().toMillis() / 1000.0d;
+        if (seconds <= 0) {
+            seconds = 1;
+        }
+        return Math.max(0.1d, rule.getPermits() / seconds);
+    }
+}
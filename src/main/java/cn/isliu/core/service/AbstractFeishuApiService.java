@@ -3,17 +3,22 @@ package cn.isliu.core.service;
 import cn.isliu.core.client.FeishuClient;
 import cn.isliu.core.enums.ErrorCode;
 import cn.isliu.core.exception.FsHelperException;
+import cn.isliu.core.exception.HttpStatusException;
 import cn.isliu.core.logging.FsLogger;
+import cn.isliu.core.pojo.ApiResponse;
 import cn.isliu.core.ratelimit.ApiOperation;
 import cn.isliu.core.ratelimit.FeishuApiExecutor;
 import cn.isliu.core.ratelimit.FeishuApiOperationResolver;
+import cn.isliu.core.ratelimit.SingleFlight;
 import com.google.gson.Gson;
 import com.lark.oapi.core.utils.Jsons;
 import okhttp3.*;
 
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 飞书API客户端抽象类 提供基础的HTTP请求处理和认证逻辑
@@ -93,6 +98,12 @@ public abstract class AbstractFeishuApiService {
         String docToken = spreadsheetToken != null ? spreadsheetToken
                 : FeishuApiOperationResolver.extractSpreadsheetToken(request);
         try {
+            SingleFlight singleFlight = feishuClient.readSingleFlight();
+            if (singleFlight != null && isCoalescible(operation, request)) {
+                String key = tenantKey + " " + request.url() + "#" + responseClass.getName();
+                return singleFlight.execute(key, () -> apiExecutor.execute(tenantKey, operation, docToken,
+                        () -> doExecuteRequest(request, responseClass)));
+            }
             return apiExecutor.execute(tenantKey, operation, docToken,
                     () -> doExecuteRequest(request, responseClass));
         } catch (FsHelperException | IOException ex) {
@@ -105,26 +116,168 @@ public abstract class AbstractFeishuApiService {
         }
     }
 
+    /**
+     * 只有读取类的 GET 请求可以合并，相同 URL 即为相同请求
+     */
+    private static boolean isCoalescible(ApiOperation operation, Request request) {
+        if (!"GET".equals(request.method())) {
+            return false;
+        }
+        return operation == ApiOperation.GET_SPREADSHEET
+                || operation == ApiOperation.READ_SINGLE_RANGE
+                || operation == ApiOperation.READ_MULTI_RANGE;
+    }
+
     private <T> T doExecuteRequest(Request request, Class<T> responseClass) throws IOException {
         try (Response response = httpClient.newCall(request).execute()) {
-            if (!response.isSuccessful() || response.body() == null) {
-                if (response.code() == 429) {
-                    FsHelperException exception = FsHelperException.builder(ErrorCode.API_CALL_FAILED)
-                            .message("飞书接口触发频控限制 (429)")
-                            .context("httpStatus", response.code())
-                            .context("x-ogw-ratelimit-limit", response.header("x-ogw-ratelimit-limit"))
-                            .context("x-ogw-ratelimit-reset", response.header("x-ogw-ratelimit-reset"))
-                            .context("requestId", response.header("X-Tt-Logid"))
-                            .build();
-                    FsLogger.warn("飞书接口频控：url={}, headers={}", request.url(),
-                            response.headers().toMultimap());
-                    throw exception;
+            return readResponse(request, response, responseClass);
+        }
+    }
+
+    /**
+     * 以非阻塞方式执行请求
+     *
+     * <p>请求通过 OkHttp 的异步调用发出，限流许可、重试等待和文档串行都不占用调用线程，
+     * 适合单线程并发发起大量请求。读取请求的合并不作用于该方法。</p>
+     *
+     * @param spreadsheetToken 电子表格 token，为 null 时从 URL 中解析
+     * @param request 请求对象
+     * @param responseClass 响应类型
+     * @param <T> 响应类型
+     * @return 响应对象
+     */
+    protected <T> CompletableFuture<T> executeRequestAsync(String spreadsheetToken, Request request,
+                                                           Class<T> responseClass) {
+        ApiOperation operation = FeishuApiOperationResolver.resolve(request);
+        String docToken = spreadsheetToken != null ? spreadsheetToken
+                : FeishuApiOperationResolver.extractSpreadsheetToken(request);
+        return apiExecutor.executeNonBlocking(tenantKey, operation, docToken,
+                () -> enqueueRequest(request, responseClass));
+    }
+
+    private <T> CompletableFuture<T> enqueueRequest(Request request, Class<T> responseClass) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        httpClient.newCall(request).enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                future.completeExceptionally(e);
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                try (Response closeable = response) {
+                    future.complete(readResponse(request, closeable, responseClass));
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
                 }
-                throw new IOException("Request failed: " + response);
             }
+        });
+        return future;
+    }
+
+    private <T> T readResponse(Request request, Response response, Class<T> responseClass) throws IOException {
+        if (!response.isSuccessful() || response.body() == null) {
+            if (response.code() == 429) {
+                FsHelperException exception = FsHelperException.builder(ErrorCode.API_CALL_FAILED)
+                        .message("飞书接口触发频控限制 (429)")
+                        .context("httpStatus", response.code())
+                        .context("x-ogw-ratelimit-limit", response.header("x-ogw-ratelimit-limit"))
+                        .context("x-ogw-ratelimit-reset", response.header("x-ogw-ratelimit-reset"))
+                        .context("requestId", response.header("X-Tt-Logid"))
+                        .build();
+                FsLogger.warn("飞书接口频控：url={}, headers={}", request.url(),
+                        response.headers().toMultimap());
+                throw exception;
+            }
+            throw new HttpStatusException(response.code(), "Request failed: " + response);
+        }
+
+        // 从响应数据流直接解析，不先读取为完整的字符串
+        return gson.fromJson(response.body().charStream(), responseClass);
+    }
+
+    /**
+     * 依次执行批量操作的各个步骤，遇到参数错误或请求失败时中断后续请求
+     *
+     * @param steps 批量操作步骤
+     * @param noValidMessage 没有任何有效操作时的错误信息
+     * @return 最后一个成功的响应，或第一个失败的响应
+     * @throws IOException 请求异常
+     */
+    protected ApiResponse executeBatch(List<BatchStep> steps, String noValidMessage) throws IOException {
+        ApiResponse response = null;
+        for (BatchStep step : steps) {
+            if (step.error != null) {
+                return step.error;
+            }
+            response = executeRequest(step.request, ApiResponse.class);
+            if (!response.success()) {
+                return response;
+            }
+        }
+        return response != null ? response : badRequest(noValidMessage);
+    }
+
+    /**
+     * 以非阻塞方式依次执行批量操作的各个步骤，语义与 {@link #executeBatch} 相同
+     *
+     * @param spreadsheetToken 电子表格 token
+     * @param steps 生成批量操作步骤的任务
+     * @param noValidMessage 没有任何有效操作时的错误信息
+     * @return 最后一个成功的响应，或第一个失败的响应
+     */
+    protected CompletableFuture<ApiResponse> executeBatchAsync(String spreadsheetToken,
+                                                               FeishuApiExecutor.CheckedCallable<List<BatchStep>> steps,
+                                                               String noValidMessage) {
+        List<BatchStep> prepared;
+        try {
+            prepared = steps.call();
+        } catch (Exception e) {
+            CompletableFuture<ApiResponse> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+
+        CompletableFuture<ApiResponse> chain = CompletableFuture.completedFuture(null);
+        for (BatchStep step : prepared) {
+            chain = chain.thenCompose(previous -> {
+                if (previous != null && !previous.success()) {
+                    return CompletableFuture.completedFuture(previous);
+                }
+                if (step.error != null) {
+                    return CompletableFuture.completedFuture(step.error);
+                }
+                return executeRequestAsync(spreadsheetToken, step.request, ApiResponse.class);
+            });
+        }
+        return chain.thenApply(response -> response != null ? response : badRequest(noValidMessage));
+    }
+
+    protected static ApiResponse badRequest(String message) {
+        ApiResponse response = new ApiResponse();
+        response.setCode(400);
+        response.setMsg(message);
+        return response;
+    }
+
+    /**
+     * 批量操作中的一个步骤：待执行的请求，或参数校验失败时直接返回的响应
+     */
+    protected static final class BatchStep {
+        private final Request request;
+        private final ApiResponse error;
+
+        private BatchStep(Request request, ApiResponse error) {
+            this.request = request;
+            this.error = error;
+        }
+
+        protected static BatchStep request(Request request) {
+            return new BatchStep(request, null);
+        }
 
-            String responseBody = response.body().string();
-            return gson.fromJson(responseBody, responseClass);
+        protected static BatchStep error(ApiResponse error) {
+            return new BatchStep(null, error);
         }
     }
 
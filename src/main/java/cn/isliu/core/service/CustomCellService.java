@@ -2,12 +2,14 @@ package cn.isliu.core.service;
 
 import cn.isliu.core.client.FeishuClient;
 import cn.isliu.core.pojo.ApiResponse;
+import cn.isliu.core.utils.CellRefUtil;
 import okhttp3.Request;
 import okhttp3.RequestBody;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 自定义单元格服务 提供官方SDK未覆盖的单元格操作API
@@ -34,15 +36,38 @@ public class CustomCellService extends AbstractFeishuApiService {
     public ApiResponse cellsBatchUpdate(String spreadsheetToken, CellBatchUpdateRequest request)
         throws IOException {
         List<CellRequest> requests = request.getRequests();
-        ApiResponse response = null;
 
         // 如果没有请求，返回空响应
         if (requests == null || requests.isEmpty()) {
-            ApiResponse emptyResponse = new ApiResponse();
-            emptyResponse.setCode(400);
-            emptyResponse.setMsg("No cell operations found");
-            return emptyResponse;
+            return badRequest("No cell operations found");
         }
+        return executeBatch(cellSteps(spreadsheetToken, requests), "No valid cell operation found");
+    }
+
+    /**
+     * 异步批量操作单元格，请求依次执行，如果有请求失败则中断后续请求，等待限流和接口响应时不占用线程
+     *
+     * @param spreadsheetToken 电子表格Token
+     * @param request 批量操作请求
+     * @return 批量操作响应
+     */
+    public CompletableFuture<ApiResponse> cellsBatchUpdateAsync(String spreadsheetToken,
+        CellBatchUpdateRequest request) {
+        List<CellRequest> requests = request.getRequests();
+
+        // 如果没有请求，返回空响应
+        if (requests == null || requests.isEmpty()) {
+            return CompletableFuture.completedFuture(badRequest("No cell operations found"));
+        }
+        return executeBatchAsync(spreadsheetToken, () -> cellSteps(spreadsheetToken, requests),
+            "No valid cell operation found");
+    }
+
+    /**
+     * 将批量请求转换为依次执行的步骤，遇到参数错误时停止
+     */
+    private List<BatchStep> cellSteps(String spreadsheetToken, List<CellRequest> requests) throws IOException {
+        List<BatchStep> steps = new ArrayList<>();
 
         // 依次处理每个请求
         for (CellRequest cellRequest : requests) {
@@ -56,7 +81,8 @@ public class CustomCellService extends AbstractFeishuApiService {
                     ApiResponse errorResponse = new ApiResponse();
                     errorResponse.setCode(400);
                     errorResponse.setMsg("Invalid cell range");
-                    return errorResponse;
+                    steps.add(BatchStep.error(errorResponse));
+                    return steps;
                 }
                 String params = gson.toJson(new MergeCellsRequestBody(range, cellRequest.getMergeCells().getMergeType()));
 
@@ -64,12 +90,7 @@ public class CustomCellService extends AbstractFeishuApiService {
                 RequestBody body = RequestBody.create(params, JSON_MEDIA_TYPE);
 
                 Request httpRequest = createAuthenticatedRequest(url, "POST", body).build();
-                response = executeRequest(httpRequest, ApiResponse.class);
-
-                // 如果请求失败，中断后续请求
-                if (!response.success()) {
-                    return response;
-                }
+                steps.add(BatchStep.request(httpRequest));
             }
             // 处理拆分单元格请求
             else if (cellRequest.getUnmergeCells() != null) {
@@ -81,19 +102,15 @@ public class CustomCellService extends AbstractFeishuApiService {
                     ApiResponse errorResponse = new ApiResponse();
                     errorResponse.setCode(400);
                     errorResponse.setMsg("Invalid cell range");
-                    return errorResponse;
+                    steps.add(BatchStep.error(errorResponse));
+                    return steps;
                 }
 
                 // 构建拆分单元格请求体
                 RequestBody body = RequestBody.create(gson.toJson(new UnmergeCellsRequestBody(range)), JSON_MEDIA_TYPE);
 
                 Request httpRequest = createAuthenticatedRequest(url, "POST", body).build();
-                response = executeRequest(httpRequest, ApiResponse.class);
-
-                // 如果请求失败，中断后续请求
-                if (!response.success()) {
-                    return response;
-                }
+                steps.add(BatchStep.request(httpRequest));
             }
             // 处理设置单元格样式请求
             else if (cellRequest.getStyleCells() != null) {
@@ -105,7 +122,8 @@ public class CustomCellService extends AbstractFeishuApiService {
                     ApiResponse errorResponse = new ApiResponse();
                     errorResponse.setCode(400);
                     errorResponse.setMsg("Invalid cell range");
-                    return errorResponse;
+                    steps.add(BatchStep.error(errorResponse));
+                    return steps;
                 }
 
                 // 构建设置样式请求体
@@ -114,12 +132,7 @@ public class CustomCellService extends AbstractFeishuApiService {
                     JSON_MEDIA_TYPE);
 
                 Request httpRequest = createAuthenticatedRequest(url, "PUT", body).build();
-                response = executeRequest(httpRequest, ApiResponse.class);
-
-                // 如果请求失败，中断后续请求
-                if (!response.success()) {
-                    return response;
-                }
+                steps.add(BatchStep.request(httpRequest));
             }
             // 处理批量设置单元格样式请求
             else if (cellRequest.getStyleCellsBatch() != null) {
@@ -133,7 +146,8 @@ public class CustomCellService extends AbstractFeishuApiService {
                     ApiResponse errorResponse = new ApiResponse();
                     errorResponse.setCode(400);
                     errorResponse.setMsg("Invalid cell ranges");
-                    return errorResponse;
+                    steps.add(BatchStep.error(errorResponse));
+                    return steps;
                 }
 
                 // 构建批量设置样式请求体
@@ -145,26 +159,12 @@ public class CustomCellService extends AbstractFeishuApiService {
 
                 RequestBody body = RequestBody.create(gson.toJson(styleBatchRequest), JSON_MEDIA_TYPE);
                 Request httpRequest = createAuthenticatedRequest(url, "PUT", body).build();
-                response = executeRequest(httpRequest, ApiResponse.class);
-
-                // 如果请求失败，中断后续请求
-                if (!response.success()) {
-                    return response;
-                }
+                steps.add(BatchStep.request(httpRequest));
             }
             // 这里可以添加其他单元格操作类型
         }
 
-        // 如果所有请求都成功处理，返回最后一个成功的响应
-        // 如果没有处理任何请求(没有有效的操作类型)，返回错误响应
-        if (response == null) {
-            ApiResponse errorResponse = new ApiResponse();
-            errorResponse.setCode(400);
-            errorResponse.setMsg("No valid cell operation found");
-            return errorResponse;
-        }
-
-        return response;
+        return steps;
     }
 
     /**
@@ -1852,18 +1852,84 @@ public class CustomCellService extends AbstractFeishuApiService {
          */
         public static CellRange fromRange(String range) {
             CellRange cellRange = new CellRange();
-            try {
-                String[] parts = range.split("!");
-                cellRange.sheetId = parts[0];
-                String[] positions = parts[1].split(":");
-                cellRange.startPosition = positions[0];
-                cellRange.endPosition = positions[1];
-            } catch (Exception e) {
-                // 解析失败，返回空对象
+            if (range == null) {
+                return cellRange;
+            }
+            // 按下标定位分隔符，位置由 CellRefUtil 直接在原字符串上解析；格式不完整时只保留已解析的部分
+            int sheetEnd = range.indexOf('!');
+            if (sheetEnd < 0) {
+                cellRange.sheetId = range;
+                return cellRange;
+            }
+            cellRange.sheetId = range.substring(0, sheetEnd);
+
+            int positionSplit = range.indexOf(':', sheetEnd + 1);
+            if (positionSplit < 0) {
+                cellRange.startPosition = position(range, sheetEnd + 1, range.length());
+                return cellRange;
             }
+            int positionEnd = range.indexOf(':', positionSplit + 1);
+            cellRange.startPosition = position(range, sheetEnd + 1, positionSplit);
+            cellRange.endPosition = position(range, positionSplit + 1, positionEnd < 0 ? range.length() : positionEnd);
             return cellRange;
         }
 
+        /**
+         * 解析范围中的一个位置
+         *
+         * A1 形式的单元格地址和只有列名的位置按解析出的列索引、行号重新生成，列名取自缓存；
+         * 其他格式原样保留。
+         */
+        private static String position(String range, int start, int end) {
+            int columnIndex = CellRefUtil.columnIndex(range, start, end);
+            if (columnIndex >= 0) {
+                int row = CellRefUtil.rowNumber(range, start, end);
+                if (row >= 0) {
+                    return CellRefUtil.columnName(columnIndex) + row;
+                }
+                if (CellRefUtil.columnName(columnIndex).length() == end - start) {
+                    return CellRefUtil.columnName(columnIndex);
+                }
+            }
+            return range.substring(start, end);
+        }
+
+        /**
+         * 获取开始位置的列索引
+         *
+         * @return 列索引（从0开始），无法解析时返回 -1
+         */
+        public int getStartColumnIndex() {
+            return CellRefUtil.columnIndex(startPosition);
+        }
+
+        /**
+         * 获取开始位置的行号
+         *
+         * @return 行号（从1开始），无法解析时返回 -1
+         */
+        public int getStartRow() {
+            return CellRefUtil.rowNumber(startPosition);
+        }
+
+        /**
+         * 获取结束位置的列索引
+         *
+         * @return 列索引（从0开始），无法解析时返回 -1
+         */
+        public int getEndColumnIndex() {
+            return CellRefUtil.columnIndex(endPosition);
+        }
+
+        /**
+         * 获取结束位置的行号
+         *
+         * @return 行号（从1开始），无法解析时返回 -1
+         */
+        public int getEndRow() {
+            return CellRefUtil.rowNumber(endPosition);
+        }
+
         public String getSheetId() {
             return sheetId;
         }
@@ -11,6 +11,7 @@ import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 自定义数据验证服务 提供官方SDK未覆盖的数据验证API
@@ -37,15 +38,38 @@ public class CustomDataValidationService extends AbstractFeishuApiService {
     public ApiResponse dataValidationBatchUpdate(String spreadsheetToken, DataValidationBatchUpdateRequest request)
         throws IOException {
         List<DataValidationRequest> requests = request.getRequests();
-        ApiResponse response = null;
 
         // 如果没有请求，返回空响应
         if (requests == null || requests.isEmpty()) {
-            ApiResponse emptyResponse = new ApiResponse();
-            emptyResponse.setCode(400);
-            emptyResponse.setMsg("No data validation operations found");
-            return emptyResponse;
+            return badRequest("No data validation operations found");
         }
+        return executeBatch(dataValidationSteps(spreadsheetToken, requests), "No valid data validation operation found");
+    }
+
+    /**
+     * 异步批量处理数据验证请求，请求依次执行，如果有请求失败则中断后续请求，等待限流和接口响应时不占用线程
+     *
+     * @param spreadsheetToken 电子表格Token
+     * @param request 批量操作请求
+     * @return 批量操作响应
+     */
+    public CompletableFuture<ApiResponse> dataValidationBatchUpdateAsync(String spreadsheetToken,
+        DataValidationBatchUpdateRequest request) {
+        List<DataValidationRequest> requests = request.getRequests();
+
+        // 如果没有请求，返回空响应
+        if (requests == null || requests.isEmpty()) {
+            return CompletableFuture.completedFuture(badRequest("No data validation operations found"));
+        }
+        return executeBatchAsync(spreadsheetToken, () -> dataValidationSteps(spreadsheetToken, requests),
+            "No valid data validation operation found");
+    }
+
+    /**
+     * 将批量请求转换为依次执行的步骤，遇到参数错误时停止
+     */
+    private List<BatchStep> dataValidationSteps(String spreadsheetToken, List<DataValidationRequest> requests) throws IOException {
+        List<BatchStep> steps = new ArrayList<>();
 
         // 依次处理每个请求
         for (DataValidationRequest validationRequest : requests) {
@@ -58,7 +82,8 @@ public class CustomDataValidationService extends AbstractFeishuApiService {
                     ApiResponse errorResponse = new ApiResponse();
                     errorResponse.setCode(400);
                     errorResponse.setMsg("Range cannot be empty for data validation query");
-                    return errorResponse;
+                    steps.add(BatchStep.error(errorResponse));
+                    return steps;
                 }
 
                 // 构建基本URL
@@ -74,12 +99,7 @@ public class CustomDataValidationService extends AbstractFeishuApiService {
 
                 String url = urlBuilder.toString();
                 Request httpRequest = createAuthenticatedRequest(url, "GET", null).build();
-                response = executeRequest(httpRequest, ApiResponse.class);
-
-                // 如果请求失败，中断后续请求
-                if (!response.success()) {
-                    return response;
-                }
+                steps.add(BatchStep.request(httpRequest));
             }
             // 处理删除下拉列表请求
             else if (validationRequest.getDeleteValidation() != null) {
@@ -90,7 +110,8 @@ public class CustomDataValidationService extends AbstractFeishuApiService {
                     ApiResponse errorResponse = new ApiResponse();
                     errorResponse.setCode(400);
                     errorResponse.setMsg("Range cannot be empty for data validation delete");
-                    return errorResponse;
+                    steps.add(BatchStep.error(errorResponse));
+                    return steps;
                 }
 
                 if (deleteValidation.getDataValidationIds() == null
@@ -98,7 +119,8 @@ public class CustomDataValidationService extends AbstractFeishuApiService {
                     ApiResponse errorResponse = new ApiResponse();
                     errorResponse.setCode(400);
                     errorResponse.setMsg("DataValidationIds cannot be empty for data validation delete");
-                    return errorResponse;
+                    steps.add(BatchStep.error(errorResponse));
+                    return steps;
                 }
 
                 // 构建基本URL
@@ -113,12 +135,7 @@ public class CustomDataValidationService extends AbstractFeishuApiService {
 
                 RequestBody body = RequestBody.create(gson.toJson(requestBody), JSON_MEDIA_TYPE);
                 Request httpRequest = createAuthenticatedRequest(url, "DELETE", body).build();
-                response = executeRequest(httpRequest, ApiResponse.class);
-
-                // 如果请求失败，中断后续请求
-                if (!response.success()) {
-                    return response;
-                }
+                steps.add(BatchStep.request(httpRequest));
             }
             // 处理设置下拉列表请求
             else if (validationRequest.getRange() != null && "list".equals(validationRequest.getDataValidationType())) {
@@ -126,12 +143,7 @@ public class CustomDataValidationService extends AbstractFeishuApiService {
 
                 RequestBody body = RequestBody.create(gson.toJson(validationRequest), JSON_MEDIA_TYPE);
                 Request httpRequest = createAuthenticatedRequest(url, "POST", body).build();
-                response = executeRequest(httpRequest, ApiResponse.class);
-
-                // 如果请求失败，中断后续请求
-                if (!response.success()) {
-                    return response;
-                }
+                steps.add(BatchStep.request(httpRequest));
             }
             // 处理更新下拉列表请求
             else if (validationRequest.getSheetId() != null && validationRequest.getDataValidationId() != null
@@ -146,26 +158,12 @@ public class CustomDataValidationService extends AbstractFeishuApiService {
 
                 RequestBody body = RequestBody.create(gson.toJson(requestBody), JSON_MEDIA_TYPE);
                 Request httpRequest = createAuthenticatedRequest(url, "PUT", body).build();
-                response = executeRequest(httpRequest, ApiResponse.class);
-
-                // 如果请求失败，中断后续请求
-                if (!response.success()) {
-                    return response;
-                }
+                steps.add(BatchStep.request(httpRequest));
             }
             // 这里可以添加其他数据验证类型的处理
         }
 
-        // 如果所有请求都成功处理，返回最后一个成功的响应
-        // 如果没有处理任何请求(没有有效的操作类型)，返回错误响应
-        if (response == null) {
-            ApiResponse errorResponse = new ApiResponse();
-            errorResponse.setCode(400);
-            errorResponse.setMsg("No valid data validation operation found");
-            return errorResponse;
-        }
-
-        return response;
+        return steps;
     }
 
     /**
@@ -8,6 +8,7 @@ import okhttp3.RequestBody;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 自定义维度服务 提供官方SDK未覆盖的行列操作API
@@ -34,15 +35,38 @@ public class CustomDimensionService extends AbstractFeishuApiService {
     public ApiResponse dimensionsBatchUpdate(String spreadsheetToken,
         DimensionBatchUpdateRequest request) throws IOException {
         List<DimensionRequest> requests = request.getRequests();
-        ApiResponse response = null;
 
         // 如果没有请求，返回空响应
         if (requests == null || requests.isEmpty()) {
-            ApiResponse emptyResponse = new ApiResponse();
-            emptyResponse.setCode(400);
-            emptyResponse.setMsg("No dimension operations found");
-            return emptyResponse;
+            return badRequest("No dimension operations found");
         }
+        return executeBatch(dimensionSteps(spreadsheetToken, requests), "No valid dimension operation found");
+    }
+
+    /**
+     * 异步批量操作行列，请求依次执行，如果有请求失败则中断后续请求，等待限流和接口响应时不占用线程
+     *
+     * @param spreadsheetToken 电子表格Token
+     * @param request 批量操作请求
+     * @return 批量操作响应
+     */
+    public CompletableFuture<ApiResponse> dimensionsBatchUpdateAsync(String spreadsheetToken,
+        DimensionBatchUpdateRequest request) {
+        List<DimensionRequest> requests = request.getRequests();
+
+        // 如果没有请求，返回空响应
+        if (requests == null || requests.isEmpty()) {
+            return CompletableFuture.completedFuture(badRequest("No dimension operations found"));
+        }
+        return executeBatchAsync(spreadsheetToken, () -> dimensionSteps(spreadsheetToken, requests),
+            "No valid dimension operation found");
+    }
+
+    /**
+     * 将批量请求转换为依次执行的步骤，遇到参数错误时停止
+     */
+    private List<BatchStep> dimensionSteps(String spreadsheetToken, List<DimensionRequest> requests) throws IOException {
+        List<BatchStep> steps = new ArrayList<>();
 
         // 依次处理每个请求
         for (DimensionRequest dimensionRequest : requests) {
@@ -55,12 +79,7 @@ public class CustomDimensionService extends AbstractFeishuApiService {
                     gson.toJson(new AddDimensionRequestBody(dimensionRequest.getAddDimension())), JSON_MEDIA_TYPE);
 
                 Request httpRequest = createAuthenticatedRequest(url, "POST", body).build();
-                response = executeRequest(httpRequest, ApiResponse.class);
-
-                // 如果请求失败，中断后续请求
-                if (!response.success()) {
-                    return response;
-                }
+                steps.add(BatchStep.request(httpRequest));
             }
             // 处理插入行列请求
             else if (dimensionRequest.getInsertDimension() != null) {
@@ -72,12 +91,7 @@ public class CustomDimensionService extends AbstractFeishuApiService {
                         dimensionRequest.getInheritStyle())), JSON_MEDIA_TYPE);
 
                 Request httpRequest = createAuthenticatedRequest(url, "POST", body).build();
-                response = executeRequest(httpRequest, ApiResponse.class);
-
-                // 如果请求失败，中断后续请求
-                if (!response.success()) {
-                    return response;
-                }
+                steps.add(BatchStep.request(httpRequest));
             }
             // 处理更新行列请求
             else if (dimensionRequest.getUpdateDimension() != null) {
@@ -90,12 +104,7 @@ public class CustomDimensionService extends AbstractFeishuApiService {
 
                 // 使用PUT方法
                 Request httpRequest = createAuthenticatedRequest(url, "PUT", body).build();
-                response = executeRequest(httpRequest, ApiResponse.class);
-
-                // 如果请求失败，中断后续请求
-                if (!response.success()) {
-                    return response;
-                }
+                steps.add(BatchStep.request(httpRequest));
             }
             // 处理删除行列请求
             else if (dimensionRequest.getDeleteDimension() != null) {
@@ -108,25 +117,11 @@ public class CustomDimensionService extends AbstractFeishuApiService {
 
                 // 使用DELETE方法
                 Request httpRequest = createAuthenticatedRequest(url, "DELETE", body).build();
-                response = executeRequest(httpRequest, ApiResponse.class);
-
-                // 如果请求失败，中断后续请求
-                if (!response.success()) {
-                    return response;
-                }
+                steps.add(BatchStep.request(httpRequest));
             }
         }
 
-        // 如果所有请求都成功处理，返回最后一个成功的响应
-        // 如果没有处理任何请求(没有有效的操作类型)，返回错误响应
-        if (response == null) {
-            ApiResponse errorResponse = new ApiResponse();
-            errorResponse.setCode(400);
-            errorResponse.setMsg("No valid dimension operation found");
-            return errorResponse;
-        }
-
-        return response;
+        return steps;
     }
 
     /**
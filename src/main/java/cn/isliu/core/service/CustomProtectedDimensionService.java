@@ -8,6 +8,7 @@ import okhttp3.RequestBody;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 自定义保护范围服务 提供保护行列的API
@@ -34,15 +35,38 @@ public class CustomProtectedDimensionService extends AbstractFeishuApiService {
     public ApiResponse protectedDimensionBatchUpdate(String spreadsheetToken,
         ProtectedDimensionBatchUpdateRequest request) throws IOException {
         List<ProtectedDimensionRequest> requests = request.getRequests();
-        ApiResponse response = null;
 
         // 如果没有请求，返回空响应
         if (requests == null || requests.isEmpty()) {
-            ApiResponse emptyResponse = new ApiResponse();
-            emptyResponse.setCode(400);
-            emptyResponse.setMsg("No protected dimension operations found");
-            return emptyResponse;
+            return badRequest("No protected dimension operations found");
         }
+        return executeBatch(protectedDimensionSteps(spreadsheetToken, requests), "No valid protected dimension operation found");
+    }
+
+    /**
+     * 异步批量操作保护范围，请求依次执行，如果有请求失败则中断后续请求，等待限流和接口响应时不占用线程
+     *
+     * @param spreadsheetToken 电子表格Token
+     * @param request 批量操作请求
+     * @return 批量操作响应
+     */
+    public CompletableFuture<ApiResponse> protectedDimensionBatchUpdateAsync(String spreadsheetToken,
+        ProtectedDimensionBatchUpdateRequest request) {
+        List<ProtectedDimensionRequest> requests = request.getRequests();
+
+        // 如果没有请求，返回空响应
+        if (requests == null || requests.isEmpty()) {
+            return CompletableFuture.completedFuture(badRequest("No protected dimension operations found"));
+        }
+        return executeBatchAsync(spreadsheetToken, () -> protectedDimensionSteps(spreadsheetToken, requests),
+            "No valid protected dimension operation found");
+    }
+
+    /**
+     * 将批量请求转换为依次执行的步骤，遇到参数错误时停止
+     */
+    private List<BatchStep> protectedDimensionSteps(String spreadsheetToken, List<ProtectedDimensionRequest> requests) throws IOException {
+        List<BatchStep> steps = new ArrayList<>();
 
         // 依次处理每个请求
         for (ProtectedDimensionRequest protectedDimensionRequest : requests) {
@@ -57,26 +81,12 @@ public class CustomProtectedDimensionService extends AbstractFeishuApiService {
                     JSON_MEDIA_TYPE);
 
                 Request httpRequest = createAuthenticatedRequest(url, "POST", body).build();
-                response = executeRequest(httpRequest, ApiResponse.class);
-
-                // 如果请求失败，中断后续请求
-                if (!response.success()) {
-                    return response;
-                }
+                steps.add(BatchStep.request(httpRequest));
             }
             // 这里可以添加其他保护范围操作类型
         }
 
-        // 如果所有请求都成功处理，返回最后一个成功的响应
-        // 如果没有处理任何请求(没有有效的操作类型)，返回错误响应
-        if (response == null) {
-            ApiResponse errorResponse = new ApiResponse();
-            errorResponse.setCode(400);
-            errorResponse.setMsg("No valid protected dimension operation found");
-            return errorResponse;
-        }
-
-        return response;
+        return steps;
     }
 
     /**
@@ -7,7 +7,9 @@ import okhttp3.RequestBody;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 自定义表格服务 提供官方SDK未覆盖的表格API
@@ -32,6 +34,29 @@ public class CustomSheetService extends AbstractFeishuApiService {
      * @throws IOException 请求异常
      */
     public ApiResponse sheetsBatchUpdate(String spreadsheetToken, SheetBatchUpdateRequest request)
+        throws IOException {
+        return executeRequest(sheetsBatchUpdateRequest(spreadsheetToken, request), ApiResponse.class);
+    }
+
+    /**
+     * 异步批量更新工作表，等待限流和接口响应时不占用线程
+     *
+     * @param spreadsheetToken 电子表格Token
+     * @param request 批量更新请求
+     * @return 批量更新响应
+     */
+    public CompletableFuture<ApiResponse> sheetsBatchUpdateAsync(String spreadsheetToken,
+        SheetBatchUpdateRequest request) {
+        return executeBatchAsync(spreadsheetToken, () -> sheetSteps(spreadsheetToken, request),
+            "No valid sheet operation found");
+    }
+
+    private List<BatchStep> sheetSteps(String spreadsheetToken, SheetBatchUpdateRequest request)
+        throws IOException {
+        return Collections.singletonList(BatchStep.request(sheetsBatchUpdateRequest(spreadsheetToken, request)));
+    }
+
+    private Request sheetsBatchUpdateRequest(String spreadsheetToken, SheetBatchUpdateRequest request)
         throws IOException {
         List<SheetRequest> requests = request.getRequests();
         // 更新工作表特殊字段兼容
@@ -51,8 +76,7 @@ public class CustomSheetService extends AbstractFeishuApiService {
 
         RequestBody body = RequestBody.create(gson.toJson(request), JSON_MEDIA_TYPE);
 
-        Request httpRequest = createAuthenticatedRequest(url, "POST", body).build();
-        return executeRequest(httpRequest, ApiResponse.class);
+        return createAuthenticatedRequest(url, "POST", body).build();
     }
 
     /**
@@ -2,6 +2,7 @@ package cn.isliu.core.service;
 
 import cn.isliu.core.client.FeishuClient;
 import cn.isliu.core.pojo.ApiResponse;
+import cn.isliu.core.pojo.ValuesBatchResponse;
 import okhttp3.Request;
 import okhttp3.RequestBody;
 
@@ -10,6 +11,7 @@ import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 自定义数据值服务
@@ -38,16 +40,123 @@ public class CustomValueService extends AbstractFeishuApiService {
      */
     public ApiResponse valueBatchUpdate(String spreadsheetToken, ValueBatchUpdateRequest request) throws IOException {
         List<ValueRequest> requests = request.getRequests();
-        ApiResponse response = null;
 
         // 如果没有请求，返回空响应
         if (requests == null || requests.isEmpty()) {
-            ApiResponse emptyResponse = new ApiResponse();
-            emptyResponse.setCode(400);
-            emptyResponse.setMsg("No value operations found");
-            return emptyResponse;
+            return badRequest("No value operations found");
+        }
+        return executeBatch(valueSteps(spreadsheetToken, requests), "No valid value operation found");
+    }
+
+    /**
+     * 异步批量操作数据值，请求依次执行，如果有请求失败则中断后续请求，等待限流和接口响应时不占用线程
+     *
+     * @param spreadsheetToken 电子表格Token
+     * @param request 批量操作请求
+     * @return 批量操作响应
+     */
+    public CompletableFuture<ApiResponse> valueBatchUpdateAsync(String spreadsheetToken,
+        ValueBatchUpdateRequest request) {
+        List<ValueRequest> requests = request.getRequests();
+
+        // 如果没有请求，返回空响应
+        if (requests == null || requests.isEmpty()) {
+            return CompletableFuture.completedFuture(badRequest("No value operations found"));
+        }
+        return executeBatchAsync(spreadsheetToken, () -> valueSteps(spreadsheetToken, requests),
+            "No valid value operation found");
+    }
+
+    /**
+     * 读取多个范围，响应从数据流直接解析为 {@link ValuesBatchResponse}，不经过通用的 ApiResponse 中转
+     *
+     * @param spreadsheetToken 电子表格Token
+     * @param request 读取多个范围请求
+     * @return 读取结果
+     * @throws IOException 请求异常
+     */
+    public ValuesBatchResponse valuesBatchGet(String spreadsheetToken, ValueBatchGetRequest request)
+        throws IOException {
+        if (request.getRanges() == null || request.getRanges().isEmpty()) {
+            return new ValuesBatchResponse(400, "Ranges cannot be empty for batch get values", null);
+        }
+        Request httpRequest = createAuthenticatedRequest(valuesBatchGetUrl(spreadsheetToken, request), "GET", null)
+            .build();
+        return executeRequest(httpRequest, ValuesBatchResponse.class);
+    }
+
+    /**
+     * 异步读取多个范围，等待限流和接口响应时不占用线程，响应同样直接解析为 {@link ValuesBatchResponse}
+     *
+     * @param spreadsheetToken 电子表格Token
+     * @param request 读取多个范围请求
+     * @return 读取结果
+     */
+    public CompletableFuture<ValuesBatchResponse> valuesBatchGetAsync(String spreadsheetToken,
+        ValueBatchGetRequest request) {
+        if (request.getRanges() == null || request.getRanges().isEmpty()) {
+            return CompletableFuture.completedFuture(
+                new ValuesBatchResponse(400, "Ranges cannot be empty for batch get values", null));
+        }
+        Request httpRequest;
+        try {
+            httpRequest = createAuthenticatedRequest(valuesBatchGetUrl(spreadsheetToken, request), "GET", null)
+                .build();
+        } catch (IOException e) {
+            CompletableFuture<ValuesBatchResponse> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+        return executeRequestAsync(spreadsheetToken, httpRequest, ValuesBatchResponse.class);
+    }
+
+    private String valuesBatchGetUrl(String spreadsheetToken, ValueBatchGetRequest batchGetValues)
+        throws IOException {
+        // 构建ranges参数，使用逗号分隔
+        StringBuilder rangesBuilder = new StringBuilder();
+        for (int i = 0; i < batchGetValues.getRanges().size(); i++) {
+            if (i > 0) {
+                rangesBuilder.append(",");
+            }
+            rangesBuilder.append(batchGetValues.getRanges().get(i));
+        }
+
+        // 构建基本URL
+        String baseUrl = BASE_URL + "/sheets/v2/spreadsheets/" + spreadsheetToken + "/values_batch_get";
+
+        // 构建查询参数
+        StringBuilder urlBuilder = new StringBuilder(baseUrl);
+        urlBuilder.append("?ranges=")
+            .append(URLEncoder.encode(rangesBuilder.toString(), StandardCharsets.UTF_8.toString()));
+
+        // 添加valueRenderOption参数
+        if (batchGetValues.getValueRenderOption() != null && !batchGetValues.getValueRenderOption().isEmpty()) {
+            urlBuilder.append("&valueRenderOption=").append(
+                URLEncoder.encode(batchGetValues.getValueRenderOption(), StandardCharsets.UTF_8.toString()));
+        }
+
+        // 添加dateTimeRenderOption参数
+        if (batchGetValues.getDateTimeRenderOption() != null
+            && !batchGetValues.getDateTimeRenderOption().isEmpty()) {
+            urlBuilder.append("&dateTimeRenderOption=").append(
+                URLEncoder.encode(batchGetValues.getDateTimeRenderOption(), StandardCharsets.UTF_8.toString()));
+        }
+
+        // 添加user_id_type参数
+        if (batchGetValues.getUserIdType() != null && !batchGetValues.getUserIdType().isEmpty()) {
+            urlBuilder.append("&user_id_type=")
+                .append(URLEncoder.encode(batchGetValues.getUserIdType(), StandardCharsets.UTF_8.toString()));
         }
 
+        return urlBuilder.toString();
+    }
+
+    /**
+     * 将批量请求转换为依次执行的步骤，遇到参数错误时停止
+     */
+    private List<BatchStep> valueSteps(String spreadsheetToken, List<ValueRequest> requests) throws IOException {
+        List<BatchStep> steps = new ArrayList<>();
+
         // 依次处理每个请求
         for (ValueRequest valueRequest : requests) {
             // 处理在指定范围前插入数据请求
@@ -56,12 +165,7 @@ public class CustomValueService extends AbstractFeishuApiService {
 
                 RequestBody body = RequestBody.create(gson.toJson(valueRequest.getPrependValues()), JSON_MEDIA_TYPE);
                 Request httpRequest = createAuthenticatedRequest(url, "POST", body).build();
-                response = executeRequest(httpRequest, ApiResponse.class);
-
-                // 如果请求失败，中断后续请求
-                if (!response.success()) {
-                    return response;
-                }
+                steps.add(BatchStep.request(httpRequest));
             }
             // 处理在指定范围后追加数据请求
             else if (valueRequest.getAppendValues() != null) {
@@ -75,12 +179,7 @@ public class CustomValueService extends AbstractFeishuApiService {
 
                 RequestBody body = RequestBody.create(gson.toJson(valueRequest.getAppendValues()), JSON_MEDIA_TYPE);
                 Request httpRequest = createAuthenticatedRequest(url, "POST", body).build();
-                response = executeRequest(httpRequest, ApiResponse.class);
-
-                // 如果请求失败，中断后续请求
-                if (!response.success()) {
-                    return response;
-                }
+                steps.add(BatchStep.request(httpRequest));
             }
             // 处理写入图片请求
             else if (valueRequest.getImageValues() != null) {
@@ -88,12 +187,7 @@ public class CustomValueService extends AbstractFeishuApiService {
 
                 RequestBody body = RequestBody.create(gson.toJson(valueRequest.getImageValues()), JSON_MEDIA_TYPE);
                 Request httpRequest = createAuthenticatedRequest(url, "POST", body).build();
-                response = executeRequest(httpRequest, ApiResponse.class);
-
-                // 如果请求失败，中断后续请求
-                if (!response.success()) {
-                    return response;
-                }
+                steps.add(BatchStep.request(httpRequest));
             }
             // 处理获取单个范围请求
             else if (valueRequest.getGetValues() != null) {
@@ -127,12 +221,7 @@ public class CustomValueService extends AbstractFeishuApiService {
 
                 String url = urlBuilder.toString();
                 Request httpRequest = createAuthenticatedRequest(url, "GET", null).build();
-                response = executeRequest(httpRequest, ApiResponse.class);
-
-                // 如果请求失败，中断后续请求
-                if (!response.success()) {
-                    return response;
-                }
+                steps.add(BatchStep.request(httpRequest));
             }
             // 处理批量获取多个范围请求
             else if (valueRequest.getBatchGetValues() != null) {
@@ -143,53 +232,13 @@ public class CustomValueService extends AbstractFeishuApiService {
                     ApiResponse errorResponse = new ApiResponse();
                     errorResponse.setCode(400);
                     errorResponse.setMsg("Ranges cannot be empty for batch get values");
-                    return errorResponse;
-                }
-
-                // 构建ranges参数，使用逗号分隔
-                StringBuilder rangesBuilder = new StringBuilder();
-                for (int i = 0; i < batchGetValues.getRanges().size(); i++) {
-                    if (i > 0) {
-                        rangesBuilder.append(",");
-                    }
-                    rangesBuilder.append(batchGetValues.getRanges().get(i));
+                    steps.add(BatchStep.error(errorResponse));
+                    return steps;
                 }
 
-                // 构建基本URL
-                String baseUrl = BASE_URL + "/sheets/v2/spreadsheets/" + spreadsheetToken + "/values_batch_get";
-
-                // 构建查询参数
-                StringBuilder urlBuilder = new StringBuilder(baseUrl);
-                urlBuilder.append("?ranges=")
-                    .append(URLEncoder.encode(rangesBuilder.toString(), StandardCharsets.UTF_8.toString()));
-
-                // 添加valueRenderOption参数
-                if (batchGetValues.getValueRenderOption() != null && !batchGetValues.getValueRenderOption().isEmpty()) {
-                    urlBuilder.append("&valueRenderOption=").append(
-                        URLEncoder.encode(batchGetValues.getValueRenderOption(), StandardCharsets.UTF_8.toString()));
-                }
-
-                // 添加dateTimeRenderOption参数
-                if (batchGetValues.getDateTimeRenderOption() != null
-                    && !batchGetValues.getDateTimeRenderOption().isEmpty()) {
-                    urlBuilder.append("&dateTimeRenderOption=").append(
-                        URLEncoder.encode(batchGetValues.getDateTimeRenderOption(), StandardCharsets.UTF_8.toString()));
-                }
-
-                // 添加user_id_type参数
-                if (batchGetValues.getUserIdType() != null && !batchGetValues.getUserIdType().isEmpty()) {
-                    urlBuilder.append("&user_id_type=")
-                        .append(URLEncoder.encode(batchGetValues.getUserIdType(), StandardCharsets.UTF_8.toString()));
-                }
-
-                String url = urlBuilder.toString();
+                String url = valuesBatchGetUrl(spreadsheetToken, batchGetValues);
                 Request httpRequest = createAuthenticatedRequest(url, "GET", null).build();
-                response = executeRequest(httpRequest, ApiResponse.class);
-
-                // 如果请求失败，中断后续请求
-                if (!response.success()) {
-                    return response;
-                }
+                steps.add(BatchStep.request(httpRequest));
             }
             // 处理向单个范围写入数据请求
             else if (valueRequest.getPutValues() != null) {
@@ -197,12 +246,7 @@ public class CustomValueService extends AbstractFeishuApiService {
 
                 RequestBody body = RequestBody.create(gson.toJson(valueRequest.getPutValues()), JSON_MEDIA_TYPE);
                 Request httpRequest = createAuthenticatedRequest(url, "PUT", body).build();
-                response = executeRequest(httpRequest, ApiResponse.class);
-
-                // 如果请求失败，中断后续请求
-                if (!response.success()) {
-                    return response;
-                }
+                steps.add(BatchStep.request(httpRequest));
             }
             // 处理向多个范围写入数据请求
             else if (valueRequest.getBatchPutValues() != null) {
@@ -210,26 +254,12 @@ public class CustomValueService extends AbstractFeishuApiService {
                 String params = gson.toJson(valueRequest.getBatchPutValues());
                 RequestBody body = RequestBody.create(params, JSON_MEDIA_TYPE);
                 Request httpRequest = createAuthenticatedRequest(url, "POST", body).build();
-                response = executeRequest(httpRequest, ApiResponse.class);
-
-                // 如果请求失败，中断后续请求
-                if (!response.success()) {
-                    return response;
-                }
+                steps.add(BatchStep.request(httpRequest));
             }
             // 这里可以添加其他数据操作类型
         }
 
-        // 如果所有请求都成功处理，返回最后一个成功的响应
-        // 如果没有处理任何请求(没有有效的操作类型)，返回错误响应
-        if (response == null) {
-            ApiResponse errorResponse = new ApiResponse();
-            errorResponse.setCode(400);
-            errorResponse.setMsg("No valid value operation found");
-            return errorResponse;
-        }
-
-        return response;
+        return steps;
     }
 
     /**
@@ -0,0 +1,175 @@
+package cn.isliu.core.utils;
+
+/**
+ * 单元格地址工具类
+ *
+ * 提供列名（A、B、...、AA）与列索引之间的转换、单元格范围的生成以及 A1 形式单元格地址的解析。
+ * 列名通过预先计算的不可变表获取，读写数据时不再为每个单元格重复拼接列名。
+ */
+public final class CellRefUtil {
+
+    /**
+     * 列名缓存覆盖的最大列数，对应三位列名 A ~ ZZZ，大于飞书单个工作表支持的最大列数
+     */
+    public static final int MAX_CACHED_COLUMNS = 26 + 26 * 26 + 26 * 26 * 26;
+
+    private CellRefUtil() {
+    }
+
+    /**
+     * 延迟初始化的列名表，首次使用时计算
+     */
+    private static final class ColumnNameTable {
+        private static final String[] NAMES = new String[MAX_CACHED_COLUMNS];
+
+        static {
+            for (int i = 0; i < MAX_CACHED_COLUMNS; i++) {
+                NAMES[i] = computeColumnName(i);
+            }
+        }
+    }
+
+    /**
+     * 根据列索引获取列名
+     *
+     * @param columnIndex 列索引（从0开始）
+     * @return 列名，如 0 -> A，26 -> AA
+     */
+    public static String columnName(int columnIndex) {
+        if (columnIndex >= 0 && columnIndex < MAX_CACHED_COLUMNS) {
+            return ColumnNameTable.NAMES[columnIndex];
+        }
+        return computeColumnName(columnIndex);
+    }
+
+    /**
+     * 根据列序号获取列名
+     *
+     * @param columnNumber 列序号（从1开始）
+     * @return 列名，如 1 -> A，27 -> AA
+     */
+    public static String columnNameByNumber(int columnNumber) {
+        if (columnNumber <= 0) {
+            return "";
+        }
+        return columnName(columnNumber - 1);
+    }
+
+    /**
+     * 生成单个单元格的范围
+     *
+     * 在一个 StringBuilder 中直接生成范围，不再先分别拼接开始、结束单元格地址再拼接范围。
+     *
+     * @param sheetId 工作表ID
+     * @param column 列名
+     * @param row 行号（从1开始）
+     * @return 范围，格式为 sheetId!B12:B12
+     */
+    public static String range(String sheetId, String column, int row) {
+        return range(sheetId, column, row, column, row);
+    }
+
+    /**
+     * 生成单元格范围
+     *
+     * @param sheetId 工作表ID
+     * @param startColumn 开始列名
+     * @param startRow 开始行号（从1开始）
+     * @param endColumn 结束列名
+     * @param endRow 结束行号（从1开始）
+     * @return 范围，格式为 sheetId!A1:C3
+     */
+    public static String range(String sheetId, String startColumn, int startRow, String endColumn, int endRow) {
+        StringBuilder sb = new StringBuilder(48);
+        sb.append(sheetId).append('!').append(startColumn).append(startRow)
+                .append(':').append(endColumn).append(endRow);
+        return sb.toString();
+    }
+
+    /**
+     * 解析单元格地址中的列索引
+     *
+     * @param ref 单元格地址，如 AB12，也可以只包含列名
+     * @return 列索引（从0开始），无法解析时返回 -1
+     */
+    public static int columnIndex(CharSequence ref) {
+        return ref == null ? -1 : columnIndex(ref, 0, ref.length());
+    }
+
+    /**
+     * 解析指定区间内单元格地址的列索引，不产生中间对象
+     *
+     * @param ref 包含单元格地址的字符序列
+     * @param start 开始下标（包含）
+     * @param end 结束下标（不包含）
+     * @return 列索引（从0开始），无法解析时返回 -1
+     */
+    public static int columnIndex(CharSequence ref, int start, int end) {
+        int number = 0;
+        int i = start;
+        while (i < end) {
+            char c = ref.charAt(i);
+            if (c >= 'a' && c <= 'z') {
+                c = (char) (c - 'a' + 'A');
+            }
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            number = number * 26 + (c - 'A' + 1);
+            if (number > MAX_CACHED_COLUMNS) {
+                return -1;
+            }
+            i++;
+        }
+        return i == start ? -1 : number - 1;
+    }
+
+    /**
+     * 解析单元格地址中的行号
+     *
+     * @param ref 单元格地址，如 AB12
+     * @return 行号（从1开始），无法解析时返回 -1
+     */
+    public static int rowNumber(CharSequence ref) {
+        return ref == null ? -1 : rowNumber(ref, 0, ref.length());
+    }
+
+    /**
+     * 解析指定区间内单元格地址的行号，不产生中间对象
+     *
+     * @param ref 包含单元格地址的字符序列
+     * @param start 开始下标（包含）
+     * @param end 结束下标（不包含）
+     * @return 行号（从1开始），无法解析时返回 -1
+     */
+    public static int rowNumber(CharSequence ref, int start, int end) {
+        int i = start;
+        while (i < end && Character.isLetter(ref.charAt(i))) {
+            i++;
+        }
+        if (i == end) {
+            return -1;
+        }
+
+        int row = 0;
+        for (; i < end; i++) {
+            char c = ref.charAt(i);
+            if (c < '0' || c > '9' || row > (Integer.MAX_VALUE - 9) / 10) {
+                return -1;
+            }
+            row = row * 10 + (c - '0');
+        }
+        return row;
+    }
+
+    private static String computeColumnName(int columnIndex) {
+        char[] buffer = new char[8];
+        int pos = buffer.length;
+        int index = columnIndex;
+        while (index >= 0) {
+            buffer[--pos] = (char) ('A' + (index % 26));
+            index = (index / 26) - 1;
+        }
+        return new String(buffer, pos, buffer.length - pos);
+    }
+}
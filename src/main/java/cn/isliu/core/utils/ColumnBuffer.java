@@ -0,0 +1,177 @@
+package cn.isliu.core.utils;
+
+/**
+ * 列缓冲区
+ *
+ * 保存一列已按字段类型解码的值。目标字段为 int、long、double、boolean（含包装类型）时，
+ * 值预先转换到对应的基本类型数组中，映射时直接写入字段，不再逐个单元格判断类型和装箱；
+ * 能否转换由 {@link NumberUtil} 预先检查，不通过异常判断；
+ * 无法预先转换的单元格保留解码后的原值，由 {@link GenerateUtil} 按原有逻辑处理（包括异常日志）。
+ */
+final class ColumnBuffer {
+
+    /**
+     * 单元格为空，不写入字段
+     */
+    static final byte ABSENT = 0;
+
+    /**
+     * 值已转换到基本类型数组中
+     */
+    static final byte TYPED = 1;
+
+    /**
+     * 值保留为对象，按原有逻辑写入
+     */
+    static final byte OBJECT = 2;
+
+    private final FieldAccessors.Kind kind;
+    private final byte[] states;
+    private final Object[] values;
+    private int[] ints;
+    private long[] longs;
+    private double[] doubles;
+    private boolean[] booleans;
+
+    private ColumnBuffer(FieldAccessors.Kind kind, Object[] values) {
+        this.kind = kind;
+        this.values = values;
+        this.states = new byte[values.length];
+    }
+
+    /**
+     * 根据字段类型创建列缓冲区
+     *
+     * @param accessor 单级字段的访问器，嵌套字段为 null
+     * @param decoded 按字段规则解码后的整列值
+     * @return 列缓冲区
+     */
+    static ColumnBuffer of(FieldAccessors.Accessor accessor, Object[] decoded) {
+        FieldAccessors.Kind kind = accessor == null ? FieldAccessors.Kind.OTHER : accessor.getKind();
+        ColumnBuffer buffer = new ColumnBuffer(kind, decoded);
+        switch (kind) {
+            case INTEGER:
+                buffer.fillInts();
+                break;
+            case LONG:
+                buffer.fillLongs();
+                break;
+            case DOUBLE:
+                buffer.fillDoubles();
+                break;
+            case BOOLEAN:
+                buffer.fillBooleans();
+                break;
+            default:
+                buffer.fillObjects();
+                break;
+        }
+        return buffer;
+    }
+
+    FieldAccessors.Kind getKind() {
+        return kind;
+    }
+
+    int size() {
+        return values.length;
+    }
+
+    byte state(int index) {
+        return states[index];
+    }
+
+    Object getObject(int index) {
+        return values[index];
+    }
+
+    int getInt(int index) {
+        return ints[index];
+    }
+
+    long getLong(int index) {
+        return longs[index];
+    }
+
+    double getDouble(int index) {
+        return doubles[index];
+    }
+
+    boolean getBoolean(int index) {
+        return booleans[index];
+    }
+
+    private void fillObjects() {
+        for (int i = 0; i < values.length; i++) {
+            states[i] = values[i] == null ? ABSENT : OBJECT;
+        }
+    }
+
+    private void fillInts() {
+        ints = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            Object value = values[i];
+            if (value == null) {
+                continue;
+            }
+            states[i] = OBJECT;
+            if (isConvertible(value) && NumberUtil.isIntConvertible(value)) {
+                ints[i] = NumberUtil.toInt(value);
+                states[i] = TYPED;
+            }
+        }
+    }
+
+    private void fillLongs() {
+        longs = new long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            Object value = values[i];
+            if (value == null) {
+                continue;
+            }
+            states[i] = OBJECT;
+            if (isConvertible(value) && NumberUtil.isNumeric(value)) {
+                longs[i] = NumberUtil.toLong(value);
+                states[i] = TYPED;
+            }
+        }
+    }
+
+    private void fillDoubles() {
+        doubles = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            Object value = values[i];
+            if (value == null) {
+                continue;
+            }
+            states[i] = OBJECT;
+            if (isConvertible(value) && NumberUtil.isNumeric(value)) {
+                doubles[i] = NumberUtil.toDouble(value);
+                states[i] = TYPED;
+            }
+        }
+    }
+
+    private void fillBooleans() {
+        booleans = new boolean[values.length];
+        for (int i = 0; i < values.length; i++) {
+            Object value = values[i];
+            if (value == null) {
+                continue;
+            }
+            states[i] = OBJECT;
+            if (isConvertible(value)) {
+                booleans[i] = NumberUtil.toBoolean(value);
+                states[i] = TYPED;
+            }
+        }
+    }
+
+    /**
+     * 空字符串常量由原有逻辑写入 null，其余数值、字符串和布尔值可以预先转换
+     */
+    @SuppressWarnings("StringEquality")
+    private static boolean isConvertible(Object value) {
+        return value != "" && (value instanceof Number || value instanceof String || value instanceof Boolean);
+    }
+}
@@ -1,6 +1,7 @@
 package cn.isliu.core.utils;
 
 import cn.isliu.core.annotation.TableProperty;
+import cn.isliu.core.converters.ConverterRegistry;
 import cn.isliu.core.converters.FieldValueProcess;
 import cn.isliu.core.enums.BaseEnum;
 import cn.isliu.core.enums.TypeEnum;
@@ -9,6 +10,7 @@ import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
 
 import java.util.*;
 import cn.isliu.core.logging.FsLogger;
@@ -40,37 +42,201 @@ public class ConvertFieldUtil {
         Map<String, Object> result = new HashMap<>();
 
         for (Map.Entry<String, JsonElement> entry : jsonObject.entrySet()) {
-            String positionKey = entry.getKey();
-            FieldProperty fieldProperty = fieldsMap.get(positionKey);
-            if (fieldProperty == null) continue;
-            String fieldKey = fieldProperty.getField();
-            TableProperty tableProperty = fieldProperty.getTableProperty();
+            putFieldValue(result, entry.getKey(), fieldsMap, normalizeJsonValue(entry.getValue()));
+        }
 
+        return result;
+    }
 
-            Object value = getValueByFieldRule(tableProperty, entry.getValue());
-            if (fieldKey != null) {
-                // 根据配置获取值
-                result.put(fieldKey, value);
-            } else {
-                // 未找到对应配置项时保持原键（可选）
-                result.put(positionKey, value);
-            }
+    /**
+     * 将位置键转换为字段名
+     *
+     * 直接处理单元格原始值（String、Number、Boolean、List、Map），不构建中间的JSON树，
+     * 结果与先经过 JSONUtil.convertMapToJsonObject 再转换一致。
+     *
+     * @param rowData 包含位置键值对的行数据
+     * @param fieldsMap 字段属性映射关系Map
+     * @return 转换后的字段名值映射Map
+     */
+    public static Map<String, Object> convertPositionToField(Map<String, Object> rowData, Map<String, FieldProperty> fieldsMap) {
+        Map<String, Object> result = new HashMap<>();
+
+        for (Map.Entry<String, Object> entry : rowData.entrySet()) {
+            putFieldValue(result, entry.getKey(), fieldsMap, normalizeRawValue(entry.getValue()));
         }
 
         return result;
     }
 
+    private static void putFieldValue(Map<String, Object> result, String positionKey, Map<String, FieldProperty> fieldsMap, Object value) {
+        FieldProperty fieldProperty = fieldsMap.get(positionKey);
+        if (fieldProperty == null) return;
+        String fieldKey = fieldProperty.getField();
+        TableProperty tableProperty = fieldProperty.getTableProperty();
+
+        Object fieldValue = getValueByFieldRule(tableProperty, value);
+        if (fieldKey != null) {
+            // 根据配置获取值
+            result.put(fieldKey, fieldValue);
+        } else {
+            // 未找到对应配置项时保持原键（可选）
+            result.put(positionKey, fieldValue);
+        }
+    }
+
+    /**
+     * 按字段规则转换单个单元格的值
+     *
+     * @param tableProperty 表格属性注解
+     * @param value 单元格原始值
+     * @return 转换后的值
+     */
+    public static Object convertCellValue(TableProperty tableProperty, Object value) {
+        return getValueByFieldRule(tableProperty, normalizeRawValue(value));
+    }
+
+    /**
+     * 按列批量转换单元格的值
+     *
+     * 字段类型只判断一次，随后在该类型对应的循环中逐个转换整列单元格，
+     * 每个单元格的结果与 {@link #convertCellValue(TableProperty, Object)} 一致。
+     *
+     * @param tableProperty 表格属性注解
+     * @param cells 整列单元格原始值
+     * @param size 单元格数量
+     * @return 转换后的整列值，长度为 size
+     */
+    public static Object[] decodeColumn(TableProperty tableProperty, Object[] cells, int size) {
+        Object[] values = new Object[size];
+        if (tableProperty == null || tableProperty.type() == null) {
+            return values;
+        }
+
+        switch (tableProperty.type()) {
+            case TEXT:
+            case NUMBER:
+            case DATE:
+                for (int i = 0; i < size; i++) {
+                    Object value = normalizeRawValue(cells[i]);
+                    if (value != null) {
+                        values[i] = getPlainValue(value);
+                    }
+                }
+                break;
+
+            case SINGLE_SELECT:
+                for (int i = 0; i < size; i++) {
+                    Object value = normalizeRawValue(cells[i]);
+                    if (value != null) {
+                        values[i] = conversionValue(tableProperty, splitToArr(value).get(0));
+                    }
+                }
+                break;
+
+            case MULTI_TEXT:
+                for (int i = 0; i < size; i++) {
+                    Object value = normalizeRawValue(cells[i]);
+                    if (value != null) {
+                        values[i] = splitToArr(value);
+                    }
+                }
+                break;
+
+            case MULTI_SELECT:
+                for (int i = 0; i < size; i++) {
+                    Object value = normalizeRawValue(cells[i]);
+                    if (value != null) {
+                        List<String> arr = splitToArr(value);
+                        List<Object> converted = new ArrayList<>(arr.size());
+                        for (String item : arr) {
+                            converted.add(conversionValue(tableProperty, item));
+                        }
+                        values[i] = converted;
+                    }
+                }
+                break;
+
+            case TEXT_URL:
+                for (int i = 0; i < size; i++) {
+                    Object value = normalizeRawValue(cells[i]);
+                    if (value != null) {
+                        values[i] = getTextUrl(value);
+                    }
+                }
+                break;
+
+            case TEXT_FILE:
+                for (int i = 0; i < size; i++) {
+                    Object value = normalizeRawValue(cells[i]);
+                    if (value != null) {
+                        values[i] = conversionValue(tableProperty, getPlainValue(value));
+                    }
+                }
+                break;
+
+            default:
+                break;
+        }
+        return values;
+    }
+
+    /**
+     * 规范化单元格原始值
+     *
+     * 字符串去除外层双引号，数值和布尔值保持不变，
+     * 列表、对象等复合值转换为JsonElement，供文件、链接等字段及自定义处理类使用。
+     *
+     * @param value 单元格原始值
+     * @return 规范化后的值：null、String、Number、Boolean 或 JsonArray/JsonObject
+     */
+    private static Object normalizeRawValue(Object value) {
+        if (value == null || value instanceof Number || value instanceof Boolean) {
+            return value;
+        } else if (value instanceof String) {
+            String strValue = (String) value;
+            if (strValue.length() >= 2 && strValue.startsWith("\"") && strValue.endsWith("\"")) {
+                strValue = strValue.substring(1, strValue.length() - 1);
+            }
+            return strValue;
+        } else if (value instanceof Character) {
+            return String.valueOf(value);
+        } else if (value instanceof JsonElement) {
+            return normalizeJsonValue((JsonElement) value);
+        }
+        return normalizeJsonValue(gson.toJsonTree(value));
+    }
+
+    /**
+     * 规范化JSON值，基本类型取出原始值，复合值保持为JsonElement
+     */
+    private static Object normalizeJsonValue(JsonElement value) {
+        if (value == null || value.isJsonNull()) {
+            return null;
+        }
+        if (value.isJsonPrimitive()) {
+            JsonPrimitive primitive = value.getAsJsonPrimitive();
+            if (primitive.isString()) {
+                return primitive.getAsString();
+            } else if (primitive.isNumber()) {
+                return primitive.getAsNumber();
+            } else if (primitive.isBoolean()) {
+                return primitive.getAsBoolean();
+            }
+        }
+        return value;
+    }
+
     /**
      * 根据字段规则获取值
      *
      * 根据字段类型和配置规则处理字段值
      *
      * @param tableProperty 表格属性注解
-     * @param value 原始值
+     * @param value 规范化后的值
      * @return 处理后的值
      */
-    private static Object getValueByFieldRule(TableProperty tableProperty, JsonElement value) {
-        if (tableProperty == null || value == null || value.isJsonNull()) {
+    private static Object getValueByFieldRule(TableProperty tableProperty, Object value) {
+        if (tableProperty == null || value == null) {
             return null;
         }
         Object result = null;
@@ -83,20 +249,20 @@ public class ConvertFieldUtil {
                 case NUMBER:
                 case DATE:
                     // 直接获取值，避免额外的引号
-                    result = getJsonValue(value);
+                    result = getPlainValue(value);
                     break;
 
                 case SINGLE_SELECT:
-                    List<String> arr = parseStrToArr(value);
+                    List<String> arr = splitToArr(value);
                     result = conversionValue(tableProperty, arr.get(0));
                     break;
 
                 case MULTI_TEXT:
-                    result = parseStrToArr(value);
+                    result = splitToArr(value);
                     break;
 
                 case MULTI_SELECT:
-                    List<String> values = parseStrToArr(value);
+                    List<String> values = splitToArr(value);
                     result = values.stream()
                             .map(v -> conversionValue(tableProperty, v)).collect(Collectors.toList());
                     break;
@@ -106,7 +272,7 @@ public class ConvertFieldUtil {
                     break;
 
                 case TEXT_FILE:
-                    result = conversionValue(tableProperty, getJsonValue(value));
+                    result = conversionValue(tableProperty, getPlainValue(value));
                     break;
             }
         }
@@ -117,12 +283,12 @@ public class ConvertFieldUtil {
     /**
      * 获取文本链接
      *
-     * 从JSON元素中提取文本链接信息
+     * 从单元格值中提取文本链接信息
      *
-     * @param value JSON元素
-     * @return 文本链接列表
+     * @param value 规范化后的值
+     * @return 文本链接，多个链接以逗号分隔
      */
-    private static Object getTextUrl(JsonElement value) {
+    private static Object getTextUrl(Object value) {
         if (value instanceof JsonArray) {
             List<String> fileUrls = new ArrayList<>();
             JsonArray arr = (JsonArray) value;
@@ -141,33 +307,29 @@ public class ConvertFieldUtil {
             JsonObject jsb = (JsonObject) value;
             return getUrlByTextFile(jsb);
         }
-        return value;
+        return String.valueOf(value);
     }
 
     /**
-     * 从JsonElement中提取合适的值，避免额外的引号
+     * 获取单元格的值，字符串去除外层引号，避免额外的引号
      */
-    private static Object getJsonValue(JsonElement value) {
-        if (value.isJsonPrimitive()) {
-            // 检查是否为字符串
-            if (value.getAsJsonPrimitive().isString()) {
-                String strValue = value.getAsString();
-                // 检查字符串是否以引号开始和结束，如果是则去除引号
-                if (strValue.length() >= 2 &&
-                        ((strValue.startsWith("\"") && strValue.endsWith("\"")) ||
-                                (strValue.startsWith("'") && strValue.endsWith("'")))) {
-                    return strValue.substring(1, strValue.length() - 1);
-                }
-                return strValue;
-            } else if (value.getAsJsonPrimitive().isNumber()) {
-                return value.getAsNumber();
-            } else if (value.getAsJsonPrimitive().isBoolean()) {
-                return value.getAsBoolean();
-            }
+    private static Object getPlainValue(Object value) {
+        if (value instanceof String) {
+            return unquote((String) value);
         }
         return value;
     }
 
+    private static String unquote(String strValue) {
+        // 检查字符串是否以引号开始和结束，如果是则去除引号
+        if (strValue.length() >= 2 &&
+                ((strValue.startsWith("\"") && strValue.endsWith("\"")) ||
+                        (strValue.startsWith("'") && strValue.endsWith("'")))) {
+            return strValue.substring(1, strValue.length() - 1);
+        }
+        return strValue;
+    }
+
     private static String getUrlByTextFile(JsonObject jsb) {
         String url = "";
         String cellType = jsb.get("type").getAsString();
@@ -184,24 +346,16 @@ public class ConvertFieldUtil {
     }
 
     public static List<String> parseStrToArr(JsonElement value) {
-        String result = "";
-        if (value.isJsonPrimitive()) {
-            if (value.getAsJsonPrimitive().isString()) {
-                result = value.getAsString();
-                // 检查字符串是否以引号开始和结束，如果是则去除引号
-                if (result.length() >= 2 &&
-                        ((result.startsWith("\"") && result.endsWith("\"")) ||
-                                (result.startsWith("'") && result.endsWith("'")))) {
-                    result = result.substring(1, result.length() - 1);
-                }
-            } else {
-                result = value.toString();
-            }
-        } else if (value.isJsonArray()) {
-            // 处理数组类型
-            result = value.toString();
+        return splitToArr(normalizeJsonValue(value));
+    }
+
+    private static List<String> splitToArr(Object value) {
+        String result;
+        if (value instanceof String) {
+            result = unquote((String) value);
         } else {
-            result = value.toString();
+            // 数值、布尔值以及数组、对象使用其JSON文本
+            result = String.valueOf(value);
         }
 
         String[] split = result.split(",");
@@ -222,8 +376,8 @@ public class ConvertFieldUtil {
             Class<? extends FieldValueProcess> fieldFormatClass = tableProperty.fieldFormatClass();
             if (fieldFormatClass != null && !fieldFormatClass.isInterface()) {
                 try {
-                    // 使用更安全的实例化方式
-                    FieldValueProcess fieldValueProcess = fieldFormatClass.getDeclaredConstructor().newInstance();
+                    // 处理类实例由注册中心缓存，不再每次反射创建
+                    FieldValueProcess fieldValueProcess = ConverterRegistry.getFieldValueProcess(fieldFormatClass);
                     result = fieldValueProcess.process(result);
                 } catch (InstantiationException e) {
                     FsLogger.error(ErrorCode.DATA_CONVERSION_ERROR, "无法实例化字段格式化类: " + fieldFormatClass.getName(), "convertFieldValue", e);
@@ -255,9 +409,9 @@ public class ConvertFieldUtil {
             Class<? extends FieldValueProcess> fieldFormatClass = tableProperty.fieldFormatClass();
             if (fieldFormatClass != null && !fieldFormatClass.isInterface()) {
                 try {
-                    FieldValueProcess fieldValueProcess = fieldFormatClass.newInstance();
+                    FieldValueProcess fieldValueProcess = ConverterRegistry.getFieldValueProcess(fieldFormatClass);
                     result = fieldValueProcess.reverseProcess(result);
-                } catch (InstantiationException | IllegalAccessException e) {
+                } catch (ReflectiveOperationException e) {
                     FsLogger.debug("format value error: {}", e.getMessage());
                 }
             }
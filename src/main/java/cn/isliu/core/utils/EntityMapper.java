@@ -0,0 +1,199 @@
+package cn.isliu.core.utils;
+
+import cn.isliu.core.annotation.TableProperty;
+import cn.isliu.core.enums.ErrorCode;
+import cn.isliu.core.logging.FsLogger;
+import cn.isliu.core.pojo.FieldProperty;
+import cn.isliu.core.pojo.TableSchema;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 实体映射器
+ *
+ * 按实体类预先编译的映射计划：每个表头对应的字段路径、注解配置和字段访问器只解析一次，
+ * 读取时直接按表头取单元格值、转换并写入字段，不再经过中间的字段值 Map；
+ * 写入时直接读取单级字段的值。
+ * 批量映射时按列解码：每列只选择一次解码方式，整列转换到列缓冲区后再写入各行实体，
+ * 与默认读取路径（{@link GenerateUtil#generateInstances}）共用列写入逻辑，只是省去每次调用时的字段路径解析。
+ *
+ * 映射器按类缓存，通过 {@link #of(Class)} 获取，线程安全。
+ *
+ * @param <T> 实体类泛型
+ */
+public final class EntityMapper<T> {
+
+    private static final ClassValue<EntityMapper<?>> MAPPERS = new ClassValue<EntityMapper<?>>() {
+        @Override
+        protected EntityMapper<?> computeValue(Class<?> type) {
+            return new EntityMapper<>(type);
+        }
+    };
+
+    private final Class<T> type;
+    private final FieldAccessors.ClassAccessors accessors;
+    private final Binding[] bindings;
+    private final Map<String, Binding> bindingsByHeader;
+
+    private EntityMapper(Class<T> type) {
+        this.type = type;
+        this.accessors = FieldAccessors.of(type);
+
+        TableSchema tableSchema = PropertyUtil.getTableSchema(type);
+        Map<String, FieldProperty> fieldsMap = tableSchema.getFieldsMap();
+        this.bindings = new Binding[fieldsMap.size()];
+        this.bindingsByHeader = new HashMap<>(fieldsMap.size() * 2);
+
+        int i = 0;
+        for (Map.Entry<String, FieldProperty> entry : fieldsMap.entrySet()) {
+            Binding binding = new Binding(entry.getKey(), entry.getValue(), accessors);
+            bindings[i++] = binding;
+            bindingsByHeader.put(binding.header, binding);
+        }
+    }
+
+    /**
+     * 获取实体类的映射器
+     *
+     * @param clazz 实体类
+     * @param <T> 实体类泛型
+     * @return 映射器
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> EntityMapper<T> of(Class<T> clazz) {
+        return (EntityMapper<T>) MAPPERS.get(clazz);
+    }
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * 将一行表格数据映射为实体对象
+     *
+     * 结果与 ConvertFieldUtil.convertPositionToField + GenerateUtil.generateInstance 一致。
+     *
+     * @param rowData 行数据，key为表头名称，value为单元格原始值
+     * @return 实体对象
+     */
+    public T map(Map<String, Object> rowData) {
+        T t = newInstance();
+
+        for (Binding binding : bindings) {
+            Object cellValue = rowData.get(binding.header);
+            if (cellValue == null) {
+                continue;
+            }
+
+            Object value = ConvertFieldUtil.convertCellValue(binding.tableProperty, cellValue);
+            if (value != null) {
+                try {
+                    if (binding.accessor != null) {
+                        GenerateUtil.setFieldValue(t, binding.accessor, binding.parts[0], value);
+                    } else {
+                        GenerateUtil.setNestedFieldValue(t, binding.parts, value);
+                    }
+                } catch (Exception e) {
+                    FsLogger.error(ErrorCode.DATA_CONVERSION_ERROR, "【飞书助手】 获取字段值异常！参数：" + binding.fieldPath + "，异常：" + e.getMessage(), "generateList", e);
+                }
+            }
+        }
+        return t;
+    }
+
+    /**
+     * 将多行表格数据按列解码后映射为实体对象
+     *
+     * 每列按字段类型选择一次解码方式，整列解码到列缓冲区，再逐行写入实体字段。
+     * 结果与逐行调用 {@link #map(Map)} 一致。
+     *
+     * @param rows 行数据列表，key为表头名称，value为单元格原始值
+     * @return 实体对象列表，顺序与行数据一致
+     */
+    public List<T> mapAll(List<Map<String, Object>> rows) {
+        int size = rows.size();
+        List<T> results = new ArrayList<>(size);
+        if (size == 0) {
+            return results;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object>[] rowArray = rows.toArray(new Map[size]);
+        for (int i = 0; i < size; i++) {
+            results.add(newInstance());
+        }
+
+        Object[] cells = new Object[size];
+        for (Binding binding : bindings) {
+            for (int i = 0; i < size; i++) {
+                cells[i] = rowArray[i].get(binding.header);
+            }
+            Object[] decoded = ConvertFieldUtil.decodeColumn(binding.tableProperty, cells, size);
+            GenerateUtil.writeColumn(results, binding.fieldPath, binding.parts, binding.accessor,
+                    ColumnBuffer.of(binding.accessor, decoded));
+        }
+        return results;
+    }
+
+    private T newInstance() {
+        try {
+            return type.cast(accessors.newInstance());
+        } catch (Exception e) {
+            throw new RuntimeException("创建实例失败: " + type.getSimpleName(), e);
+        }
+    }
+
+    /**
+     * 获取实体对象中单级字段的值
+     *
+     * 结果与 GenerateUtil.getFieldValue 一致。
+     *
+     * @param target 实体对象
+     * @param fieldMap 字段映射关系，key为表头名称，value为字段路径
+     * @return 字段值映射，key为表头名称
+     */
+    public Map<String, Object> getFieldValue(T target, Map<String, String> fieldMap) {
+        Map<String, Object> result = new HashMap<>();
+        for (Map.Entry<String, String> entry : fieldMap.entrySet()) {
+            String header = entry.getKey();
+            String fieldPath = entry.getValue();
+
+            Binding binding = bindingsByHeader.get(header);
+            try {
+                if (binding != null && binding.accessor != null && binding.fieldPath.equals(fieldPath)) {
+                    result.put(header, GenerateUtil.getFieldValue(target, binding.accessor));
+                } else if (accessors.path(fieldPath).length == 1) {
+                    result.put(header, GenerateUtil.getNestedFieldValue(target, fieldPath));
+                }
+            } catch (Exception e) {
+                FsLogger.warn("获取字段值异常，字段路径：{}", fieldPath);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 表头与字段的绑定关系
+     */
+    private static final class Binding {
+        private final String header;
+        private final String fieldPath;
+        private final String[] parts;
+        private final TableProperty tableProperty;
+        /**
+         * 单级字段的访问器，嵌套字段或字段不存在时为 null
+         */
+        private final FieldAccessors.Accessor accessor;
+
+        private Binding(String header, FieldProperty fieldProperty, FieldAccessors.ClassAccessors accessors) {
+            this.header = header;
+            this.fieldPath = fieldProperty.getField();
+            this.parts = accessors.path(fieldPath);
+            this.tableProperty = fieldProperty.getTableProperty();
+            this.accessor = parts.length == 1 ? accessors.field(parts[0]) : null;
+        }
+    }
+}
@@ -0,0 +1,398 @@
+package cn.isliu.core.utils;
+
+import cn.isliu.core.annotation.TableProperty;
+import cn.isliu.core.enums.BaseEnum;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 字段访问器缓存
+ *
+ * 按类缓存字段的解析结果：字段名（包括下划线转驼峰后的名称）只在首次访问时沿继承链查找一次，
+ * 之后通过预先编译好的 MethodHandle 读写字段值，并预先确定字段的值转换方式。
+ * 字段路径（如 "a.b.c"）的分段结果同样按类缓存，避免每行数据重复拆分。
+ */
+public final class FieldAccessors {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final ClassValue<ClassAccessors> CACHE = new ClassValue<ClassAccessors>() {
+        @Override
+        protected ClassAccessors computeValue(Class<?> type) {
+            return new ClassAccessors(type);
+        }
+    };
+
+    private FieldAccessors() {
+    }
+
+    /**
+     * 获取类的字段访问器集合
+     *
+     * @param clazz 类
+     * @return 该类的字段访问器集合
+     */
+    public static ClassAccessors of(Class<?> clazz) {
+        return CACHE.get(clazz);
+    }
+
+    /**
+     * 字段值转换方式，在解析字段时根据字段类型预先确定
+     */
+    public enum Kind {
+        STRING, INTEGER, DOUBLE, BOOLEAN, LONG, LIST, ENUM, OTHER
+    }
+
+    /**
+     * 单个类的字段访问器集合
+     */
+    public static final class ClassAccessors {
+
+        private static final Accessor MISSING = new Accessor();
+
+        private final Class<?> type;
+        private final ConcurrentHashMap<String, Accessor> fields = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<String, String[]> paths = new ConcurrentHashMap<>();
+        private volatile Constructor<?> constructor;
+
+        private ClassAccessors(Class<?> type) {
+            this.type = type;
+        }
+
+        /**
+         * 获取字段访问器，先按原名称查找，找不到时按下划线转驼峰后的名称查找
+         *
+         * @param fieldName 字段名称
+         * @return 字段访问器，不存在时返回 null
+         */
+        public Accessor field(String fieldName) {
+            Accessor accessor = fields.get(fieldName);
+            if (accessor == null) {
+                accessor = fields.computeIfAbsent(fieldName, this::resolve);
+            }
+            return accessor == MISSING ? null : accessor;
+        }
+
+        /**
+         * 获取字段访问器，不存在时抛出 NoSuchFieldException
+         *
+         * @param fieldName 字段名称
+         * @return 字段访问器
+         * @throws NoSuchFieldException 字段不存在
+         */
+        public Accessor requireField(String fieldName) throws NoSuchFieldException {
+            Accessor accessor = field(fieldName);
+            if (accessor == null) {
+                throw new NoSuchFieldException("Field not found: " + fieldName);
+            }
+            return accessor;
+        }
+
+        /**
+         * 获取字段路径的分段结果
+         *
+         * @param fieldPath 字段路径，如 "a.b.c"
+         * @return 分段数组，调用方不得修改
+         */
+        public String[] path(String fieldPath) {
+            String[] parts = paths.get(fieldPath);
+            if (parts == null) {
+                parts = paths.computeIfAbsent(fieldPath, p -> p.split("\\."));
+            }
+            return parts;
+        }
+
+        /**
+         * 通过无参构造函数创建实例
+         *
+         * @return 新实例
+         * @throws Exception 构造函数不存在或调用失败
+         */
+        public Object newInstance() throws Exception {
+            Constructor<?> c = constructor;
+            if (c == null) {
+                c = type.getDeclaredConstructor();
+                constructor = c;
+            }
+            return c.newInstance();
+        }
+
+        private Accessor resolve(String fieldName) {
+            Field field = findField(type, fieldName);
+            if (field == null) {
+                field = findField(type, StringUtil.toCamelCase(fieldName));
+            }
+            if (field == null) {
+                return MISSING;
+            }
+            try {
+                return new Accessor(field);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("无法访问字段: " + field, e);
+            }
+        }
+
+        private static Field findField(Class<?> clazz, String fieldName) {
+            for (Class<?> c = clazz; c != null; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (field.getName().equals(fieldName)) {
+                        return field;
+                    }
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * 单个字段的访问器
+     */
+    public static final class Accessor {
+
+        private final Field field;
+        private final MethodHandle getter;
+        /**
+         * 字段的setter，final 字段为 null
+         */
+        private final MethodHandle setter;
+        /**
+         * 基本类型字段的setter，参数为对应的基本类型，避免装箱；非基本类型字段和 final 字段为 null
+         */
+        private final MethodHandle primitiveSetter;
+        private final TableProperty tableProperty;
+        private final Kind kind;
+        private final Class<?> elementClass;
+
+        private Accessor() {
+            this.field = null;
+            this.getter = null;
+            this.setter = null;
+            this.primitiveSetter = null;
+            this.tableProperty = null;
+            this.kind = Kind.OTHER;
+            this.elementClass = null;
+        }
+
+        private Accessor(Field field) throws IllegalAccessException {
+            field.setAccessible(true);
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            this.field = field;
+            this.getter = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+            this.setter = unreflectSetter(lookup, field);
+            this.primitiveSetter = unreflectPrimitiveSetter(lookup, field);
+            this.tableProperty = field.getAnnotation(TableProperty.class);
+            this.kind = kindOf(field.getType());
+            this.elementClass = elementClassOf(field);
+        }
+
+        public Field getField() {
+            return field;
+        }
+
+        public String getName() {
+            return field.getName();
+        }
+
+        public Class<?> getType() {
+            return field.getType();
+        }
+
+        public TableProperty getTableProperty() {
+            return tableProperty;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        /**
+         * 获取List字段的元素类型
+         *
+         * @return 元素类型，泛型参数不是具体类时返回 null
+         */
+        public Class<?> getElementClass() {
+            return elementClass;
+        }
+
+        public boolean isList() {
+            return List.class.isAssignableFrom(field.getType());
+        }
+
+        /**
+         * 读取字段值
+         *
+         * @param target 目标对象
+         * @return 字段值
+         */
+        public Object get(Object target) throws Exception {
+            try {
+                return (Object) getter.invokeExact(target);
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        }
+
+        /**
+         * 写入字段值
+         *
+         * final 字段无法生成 setter 方法句柄，通过已设置为可访问的 {@link Field} 反射写入
+         *
+         * @param target 目标对象
+         * @param value 字段值
+         */
+        public void set(Object target, Object value) throws Exception {
+            if (setter == null) {
+                field.set(target, value);
+                return;
+            }
+            try {
+                setter.invokeExact(target, value);
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        }
+
+        /**
+         * 写入int值，int字段直接写入，其他字段装箱后写入
+         *
+         * @param target 目标对象
+         * @param value 字段值
+         */
+        public void setInt(Object target, int value) throws Exception {
+            if (primitiveSetter == null || field.getType() != int.class) {
+                set(target, value);
+                return;
+            }
+            try {
+                primitiveSetter.invokeExact(target, value);
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        }
+
+        /**
+         * 写入long值，long字段直接写入，其他字段装箱后写入
+         *
+         * @param target 目标对象
+         * @param value 字段值
+         */
+        public void setLong(Object target, long value) throws Exception {
+            if (primitiveSetter == null || field.getType() != long.class) {
+                set(target, value);
+                return;
+            }
+            try {
+                primitiveSetter.invokeExact(target, value);
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        }
+
+        /**
+         * 写入double值，double字段直接写入，其他字段装箱后写入
+         *
+         * @param target 目标对象
+         * @param value 字段值
+         */
+        public void setDouble(Object target, double value) throws Exception {
+            if (primitiveSetter == null || field.getType() != double.class) {
+                set(target, value);
+                return;
+            }
+            try {
+                primitiveSetter.invokeExact(target, value);
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        }
+
+        /**
+         * 写入boolean值，boolean字段直接写入，其他字段装箱后写入
+         *
+         * @param target 目标对象
+         * @param value 字段值
+         */
+        public void setBoolean(Object target, boolean value) throws Exception {
+            if (primitiveSetter == null || field.getType() != boolean.class) {
+                set(target, value);
+                return;
+            }
+            try {
+                primitiveSetter.invokeExact(target, value);
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        }
+
+        private static MethodHandle unreflectPrimitiveSetter(MethodHandles.Lookup lookup, Field field) {
+            Class<?> fieldType = field.getType();
+            if (!fieldType.isPrimitive()) {
+                return null;
+            }
+            try {
+                return lookup.unreflectSetter(field).asType(MethodType.methodType(void.class, Object.class, fieldType));
+            } catch (IllegalAccessException e) {
+                return null;
+            }
+        }
+
+        private static MethodHandle unreflectSetter(MethodHandles.Lookup lookup, Field field) {
+            try {
+                return lookup.unreflectSetter(field).asType(SETTER_TYPE);
+            } catch (IllegalAccessException e) {
+                return null;
+            }
+        }
+
+        private static Kind kindOf(Class<?> fieldType) {
+            if (fieldType == String.class) {
+                return Kind.STRING;
+            } else if (fieldType == Integer.class || fieldType == int.class) {
+                return Kind.INTEGER;
+            } else if (fieldType == Double.class || fieldType == double.class) {
+                return Kind.DOUBLE;
+            } else if (fieldType == Boolean.class || fieldType == boolean.class) {
+                return Kind.BOOLEAN;
+            } else if (fieldType == Long.class || fieldType == long.class) {
+                return Kind.LONG;
+            } else if (fieldType == List.class) {
+                return Kind.LIST;
+            } else if (BaseEnum.class.isAssignableFrom(fieldType)) {
+                return Kind.ENUM;
+            }
+            return Kind.OTHER;
+        }
+
+        private static Class<?> elementClassOf(Field field) {
+            Type genericType = field.getGenericType();
+            if (genericType instanceof ParameterizedType) {
+                Type[] typeArgs = ((ParameterizedType) genericType).getActualTypeArguments();
+                if (typeArgs.length > 0 && typeArgs[0] instanceof Class) {
+                    return (Class<?>) typeArgs[0];
+                }
+            }
+            return null;
+        }
+    }
+}
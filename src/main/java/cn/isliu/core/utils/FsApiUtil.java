@@ -12,8 +12,10 @@ import cn.isliu.core.exception.FsHelperException;
 import cn.isliu.core.logging.FsLogger;
 import cn.isliu.core.pojo.ApiResponse;
 import cn.isliu.core.pojo.RootFolderMetaResponse;
+import cn.isliu.core.pojo.ValuesBatchResponse;
 import cn.isliu.core.ratelimit.ApiOperation;
 import cn.isliu.core.ratelimit.FeishuApiExecutor;
+import cn.isliu.core.ratelimit.SingleFlight;
 import cn.isliu.core.service.*;
 import com.google.gson.Gson;
 import com.google.gson.JsonArray;
@@ -51,6 +53,19 @@ public class FsApiUtil {
         return client.apiExecutor().execute(client.getAppId(), operation, spreadsheetToken, action);
     }
 
+    /**
+     * 合并相同的并发读请求，客户端未启用读请求合并时直接执行
+     */
+    private static <T> T coalesceRead(FeishuClient client,
+                                      String key,
+                                      FeishuApiExecutor.CheckedCallable<T> loader) throws Exception {
+        SingleFlight singleFlight = client.readSingleFlight();
+        if (singleFlight == null) {
+            return loader.call();
+        }
+        return singleFlight.execute(client.getAppId() + " " + key, loader);
+    }
+
     /**
      * 获取工作表数据
      *
@@ -72,14 +87,11 @@ public class FsApiUtil {
                     .dateTimeRenderOption("FormattedString")
                     .build();
 
-            CustomValueService.ValueBatchUpdateRequest getBatchRangesRequest = CustomValueService.ValueBatchUpdateRequest.newBuilder()
-                    .addRequest(batchGetRequest)
-                    .build();
-
-            ApiResponse batchRangeResp = client.customValues().valueBatchUpdate(spreadsheetToken, getBatchRangesRequest);
+            ValuesBatchResponse batchRangeResp = client.customValues()
+                    .valuesBatchGet(spreadsheetToken, batchGetRequest.getBatchGetValues());
 
             if (batchRangeResp.success()) {
-                valuesBatch = gson.fromJson(gson.toJson(batchRangeResp.getData()), ValuesBatch.class);
+                valuesBatch = batchRangeResp.getData();
             } else {
                 FsLogger.error(ErrorCode.API_CALL_FAILED, "【飞书表格】获取Sheet数据失败！ 错误信息：" + gson.toJson(batchRangeResp));
                 throw new FsHelperException("【飞书表格】获取Sheet数据失败！");
@@ -103,7 +115,8 @@ public class FsApiUtil {
      */
     public static Sheet getSheetMetadata(String sheetId, FeishuClient client, String spreadsheetToken) {
         try {
-            return executeOfficial(client, ApiOperation.GET_SPREADSHEET, spreadsheetToken, () -> {
+            List<Sheet> sheets = coalesceRead(client, "GET_SPREADSHEET " + spreadsheetToken,
+                    () -> executeOfficial(client, ApiOperation.GET_SPREADSHEET, spreadsheetToken, () -> {
                 QuerySpreadsheetSheetReq req = QuerySpreadsheetSheetReq.newBuilder()
                         .spreadsheetToken(spreadsheetToken)
                         .build();
@@ -113,14 +126,7 @@ public class FsApiUtil {
 
                 if (resp.success()) {
                     SheetMeta sheetMeta = gson.fromJson(gson.toJson(resp.getData()), SheetMeta.class);
-                    List<Sheet> sheets = sheetMeta.getSheets();
-                    AtomicReference<Sheet> sheet = new AtomicReference<>();
-                    sheets.forEach(s -> {
-                        if (s.getSheetId().equals(sheetId)) {
-                            sheet.set(s);
-                        }
-                    });
-                    return sheet.get();
+                    return sheetMeta.getSheets();
                 }
 
                 if (resp.getCode() == 99991400) {
@@ -131,7 +137,15 @@ public class FsApiUtil {
                 }
                 FsLogger.error(ErrorCode.API_CALL_FAILED, "【飞书表格】 获取Sheet元数据异常！错误信息：" + gson.toJson(resp));
                 throw new FsHelperException("【飞书表格】 获取Sheet元数据异常！错误信息：" + resp.getMsg());
+            }));
+
+            AtomicReference<Sheet> sheet = new AtomicReference<>();
+            sheets.forEach(s -> {
+                if (s.getSheetId().equals(sheetId)) {
+                    sheet.set(s);
+                }
             });
+            return sheet.get();
         } catch (FsHelperException ex) {
             throw ex;
         } catch (Exception e) {
@@ -5,10 +5,13 @@ import cn.isliu.core.annotation.TableConf;
 import cn.isliu.core.annotation.TableProperty;
 import cn.isliu.core.client.FsClient;
 
+import cn.isliu.core.converters.ConverterRegistry;
 import cn.isliu.core.converters.OptionsValueProcess;
 import cn.isliu.core.enums.BaseEnum;
+import cn.isliu.core.enums.EnumLookup;
 import cn.isliu.core.enums.TypeEnum;
 import cn.isliu.core.pojo.FieldProperty;
+import cn.isliu.core.pojo.TableSchema;
 import cn.isliu.core.service.CustomCellService;
 import cn.isliu.core.service.CustomValueService;
 import com.google.gson.JsonElement;
@@ -16,7 +19,6 @@ import com.google.gson.JsonParser;
 import com.google.gson.JsonSyntaxException;
 import org.jetbrains.annotations.NotNull;
 
-import java.lang.reflect.InvocationTargetException;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
@@ -51,73 +53,126 @@ public class FsTableUtil {
      * @return 飞书表格数据列表
      */
     public static Map<String, List<FsTableData>> getGroupFsTableData(Sheet sheet, String spreadsheetToken, TableConf tableConf, List<String> ignoreUniqueFields, Map<String, FieldProperty> fieldsMap) {
+        return getGroupFsTableData(sheet, spreadsheetToken, tableConf, ignoreUniqueFields,
+                PropertyUtil.getUniKeyNames(fieldsMap, tableConf.uniKeys()));
+    }
+
+    /**
+     * 获取飞书表格数据（使用已解析的唯一键列名）
+     *
+     * @param sheet 工作表对象
+     * @param spreadsheetToken 电子表格Token
+     * @param tableConf 表格配置
+     * @param ignoreUniqueFields 计算唯一标识时忽略的字段列表
+     * @param uniKeyNames 唯一键对应的表头名称，通常取自{@link TableSchema#getUniKeyNames()}
+     * @return 分组名称到飞书表格数据列表的映射
+     */
+    public static Map<String, List<FsTableData>> getGroupFsTableData(Sheet sheet, String spreadsheetToken, TableConf tableConf,
+                                                                     List<String> ignoreUniqueFields, Set<String> uniKeyNames) {
         // 计算数据范围
         List<List<Object>> values = getSourceTableValues(sheet, spreadsheetToken);
 
         // 获取飞书表格数据
         TableData tableData = processSheetData(sheet, values);
 
-        String[] uniKeys = tableConf.uniKeys();
-        Set<String> uniKeyNames = getUniKeyNames(fieldsMap, uniKeys);
+        return groupFsTableData(tableData, tableConf, ignoreUniqueFields, uniKeyNames, null);
+    }
 
-        List<FsTableData> dataList = getFsTableData(tableData, ignoreUniqueFields);
-        Map<String, String> titleMap = new HashMap<>();
-        Map<String, List<String>> categoryPositionMap = new HashMap<>();
-        dataList.stream().filter(d -> d.getRow() == (tableConf.titleRow() - 2)).findFirst().ifPresent(d -> {
-            Map<String, String> map = (Map<String, String>) d.getData();
-            map.forEach((k, v) -> {
-                if (v != null && !v.isEmpty()) {
-                    categoryPositionMap.computeIfAbsent(v, k1 -> new ArrayList<>()).add(k);
-                }
-            });
-        });
+    /**
+     * 获取指定分组的飞书表格数据
+     *
+     * 先读取分组行定位该分组所在的列区间，再只读取和处理该区间的数据，
+     * 其他分组的列不会被读取，也不会计算唯一标识。
+     *
+     * @param sheet 工作表对象
+     * @param spreadsheetToken 电子表格Token
+     * @param tableConf 表格配置
+     * @param ignoreUniqueFields 计算唯一标识时忽略的字段列表
+     * @param fieldsMap 字段属性映射
+     * @param groupField 分组名称
+     * @return 该分组的飞书表格数据列表，分组不存在时返回空列表
+     */
+    public static List<FsTableData> getGroupFsTableData(Sheet sheet, String spreadsheetToken, TableConf tableConf, List<String> ignoreUniqueFields,
+                                                        Map<String, FieldProperty> fieldsMap, String groupField) {
+        return getGroupFsTableData(sheet, spreadsheetToken, tableConf, ignoreUniqueFields,
+                PropertyUtil.getUniKeyNames(fieldsMap, tableConf.uniKeys()), groupField);
+    }
 
-        dataList.stream().filter(d -> d.getRow() == (tableConf.titleRow() - 1)).findFirst()
-                .ifPresent(d -> {
-                    Map<String, String> map = (Map<String, String>) d.getData();
-                    map.forEach((k, v) -> {
-                        if (v != null && !v.isEmpty()) {
-                            titleMap.put(k + "_" + v, v);
-                        } else {
-                            titleMap.put(k, v);
-                        }
-                    });
-                });
+    /**
+     * 获取指定分组的飞书表格数据（使用已解析的唯一键列名）
+     *
+     * @param sheet 工作表对象
+     * @param spreadsheetToken 电子表格Token
+     * @param tableConf 表格配置
+     * @param ignoreUniqueFields 计算唯一标识时忽略的字段列表
+     * @param uniKeyNames 唯一键对应的表头名称，通常取自{@link TableSchema#getUniKeyNames()}
+     * @param groupField 分组名称
+     * @return 该分组的飞书表格数据列表，分组不存在时返回空列表
+     */
+    public static List<FsTableData> getGroupFsTableData(Sheet sheet, String spreadsheetToken, TableConf tableConf, List<String> ignoreUniqueFields,
+                                                        Set<String> uniKeyNames, String groupField) {
+        int[] span = getGroupColumnSpan(sheet, spreadsheetToken, tableConf.titleRow() - 1, groupField);
+        if (span == null) {
+            return new ArrayList<>();
+        }
 
-        List<FsTableData> fsTableDataList = dataList.stream().filter(fsTableData -> fsTableData.getRow() >= (tableConf.headLine() -1)).map(item -> {
-            Map<String, Object> resultMap = new HashMap<>();
+        // 只读取分组所在列区间的数据
+        List<List<Object>> values = getSourceTableValues(sheet, spreadsheetToken, span[0], span[1]);
+        TableData tableData = processSheetData(sheet, values, span[0]);
 
-            Map<String, Object> map = (Map<String, Object>) item.getData();
-            map.forEach((k, v) -> {
-                titleMap.forEach((k1, v1) -> {
-                    if (k1.startsWith(k)) {
-                        resultMap.put(k1, v);
-                    }
-                });
-            });
-            item.setData(resultMap);
-            return item;
-        }).collect(Collectors.toList());
+        return groupFsTableData(tableData, tableConf, ignoreUniqueFields, uniKeyNames, groupField)
+                .getOrDefault(groupField, new ArrayList<>());
+    }
+
+    /**
+     * 按分组整理表格数据
+     *
+     * @param tableData 表格数据对象
+     * @param tableConf 表格配置
+     * @param ignoreUniqueFields 计算唯一标识时忽略的字段列表
+     * @param uniKeyNames 唯一键对应的表头名称
+     * @param groupField 只处理该分组，为null时处理全部分组
+     * @return 分组名称到飞书表格数据列表的映射
+     */
+    private static Map<String, List<FsTableData>> groupFsTableData(TableData tableData, TableConf tableConf, List<String> ignoreUniqueFields,
+                                                                   Set<String> uniKeyNames, String groupField) {
+
+        // 表头布局只编译一次，逐行处理时仅做数组下标访问
+        GroupHeaderLayout layout = GroupHeaderLayout.compile(tableData, tableConf.titleRow() - 2,
+                tableConf.titleRow() - 1, groupField);
 
         Map<String, List<FsTableData>> dataMap = new HashMap<>();
-        categoryPositionMap.forEach((k1, v1) -> {
-            List<FsTableData> fsList = new ArrayList<>();
+        for (String category : layout.categories) {
+            dataMap.put(category, new ArrayList<>());
+        }
+        if (layout.categories.length == 0) {
+            return dataMap;
+        }
 
-            for (FsTableData fsTableData : fsTableDataList) {
+        int dataStartRow = tableConf.headLine() - 1;
+        Object[] rowValues = new Object[layout.width];
+        for (TableRow row : tableData.getRows()) {
+            List<Cell> cells = row.getCells();
+            if (cells.isEmpty() || cells.get(0).getRow() < dataStartRow) {
+                continue;
+            }
+
+            Arrays.fill(rowValues, null);
+            for (Cell cell : cells) {
+                int index = cell.getCol() - layout.firstCol;
+                if (index >= 0 && index < layout.width) {
+                    rowValues[index] = cell.getValue();
+                }
+            }
+
+            for (int g = 0; g < layout.categories.length; g++) {
+                int[] columns = layout.categoryColumns[g];
                 Map<String, Object> resultMap = new HashMap<>();
-                Map<String, String> fieldsPositionMap = new HashMap<>();
-                Map<String, Object> data = (Map<String, Object>) fsTableData.getData();
-                data.forEach((k, v) -> {
-                    if (k != null) {
-                        String[] split = k.split("_");
-                        if (v1.contains(split[0]) && split.length > 1) {
-                            resultMap.put(split[1], v);
-                            fieldsPositionMap.put(split[1], split[0]);
-                        }
-                    }
-                });
+                for (int column : columns) {
+                    resultMap.put(layout.fieldNames[column], rowValues[column]);
+                }
 
-                if(areAllValuesNullOrBlank(resultMap)) {
+                if (areAllValuesNullOrBlank(resultMap)) {
                     continue;
                 }
 
@@ -141,42 +196,27 @@ public class FsTableUtil {
                 }
 
                 FsTableData fsData = new FsTableData();
-                fsData.setRow(fsTableData.getRow());
+                fsData.setRow(cells.get(0).getRow());
                 String uniqueId = StringUtil.getSHA256(jsonStr);
                 fsData.setUniqueId(uniqueId);
                 fsData.setData(resultMap);
-                fsData.setFieldsPositionMap(fieldsPositionMap);
-                fsList.add(fsData);
+                fsData.setFieldsPositionMap(layout.fieldsPositionMaps[g]);
+                dataMap.get(layout.categories[g]).add(fsData);
             }
-            dataMap.put(k1, fsList);
-        });
+        }
         return dataMap;
     }
 
     @NotNull
-    private static Set<String> getUniKeyNames(Map<String, FieldProperty> fieldsMap, String[] uniKeys) {
-        Set<String> uniKeyNames = new HashSet<>();
-        fieldsMap.forEach((k, v) -> {
-            String field = v.getField();
-            if (field != null && !field.isEmpty()) {
-                if (Arrays.asList(uniKeys).contains(field)) {
-                    uniKeyNames.add(k);
-                }
-
-                if (Arrays.asList(uniKeys).contains(StringUtil.toUnderscoreCase(field))) {
-                    uniKeyNames.add(k);
-                }
-            }
-        });
-        return uniKeyNames;
+    private static List<List<Object>> getSourceTableValues(Sheet sheet, String spreadsheetToken) {
+        return getSourceTableValues(sheet, spreadsheetToken, 0, sheet.getGridProperties().getColumnCount() - 1);
     }
 
     @NotNull
-    private static List<List<Object>> getSourceTableValues(Sheet sheet, String spreadsheetToken) {
+    private static List<List<Object>> getSourceTableValues(Sheet sheet, String spreadsheetToken, int startCol, int endCol) {
         GridProperties gridProperties = sheet.getGridProperties();
         int totalRow = gridProperties.getRowCount();
         int rowCount = Math.min(totalRow, 100); // 每次读取的行数
-        int colCount = gridProperties.getColumnCount();
         int startOffset = 1; // 起始偏移行号
 
         // 实际要读取的数据行数（减去偏移量）
@@ -190,8 +230,8 @@ public class FsTableUtil {
 
             // 3. 获取工作表数据
             ValuesBatch valuesBatch = FsApiUtil.getSheetData(sheet.getSheetId(), spreadsheetToken,
-                    "A" + startRowIndex,
-                    getColumnName(colCount - 1) + endRowIndex, FsClient.getInstance().getClient());
+                    getColumnName(startCol) + startRowIndex,
+                    getColumnName(endCol) + endRowIndex, FsClient.getInstance().getClient());
             if (valuesBatch != null) {
                 List<ValueRange> valueRanges = valuesBatch.getValueRanges();
                 for (ValueRange valueRange : valueRanges) {
@@ -202,6 +242,80 @@ public class FsTableUtil {
         return values;
     }
 
+    /**
+     * 根据分组行定位分组所在的列区间
+     *
+     * 只读取分组行，结合合并单元格信息确定分组的起止列（从0开始）。
+     * 与区间相交且跨过分组行的合并单元格会把区间扩展到其左右边界，重复扩展直到区间不再变化。
+     *
+     * @param sheet 工作表对象
+     * @param spreadsheetToken 电子表格Token
+     * @param categoryRow 分组行行号（从1开始）
+     * @param groupField 分组名称
+     * @return 起止列数组，分组不存在时返回null
+     */
+    private static int[] getGroupColumnSpan(Sheet sheet, String spreadsheetToken, int categoryRow, String groupField) {
+        if (groupField == null || categoryRow < 1) {
+            return null;
+        }
+
+        int colCount = sheet.getGridProperties().getColumnCount();
+        ValuesBatch valuesBatch = FsApiUtil.getSheetData(sheet.getSheetId(), spreadsheetToken,
+                "A" + categoryRow,
+                getColumnName(colCount - 1) + categoryRow, FsClient.getInstance().getClient());
+
+        int start = -1;
+        int end = -1;
+        if (valuesBatch != null && valuesBatch.getValueRanges() != null) {
+            for (ValueRange valueRange : valuesBatch.getValueRanges()) {
+                if (valueRange.getValues() == null || valueRange.getValues().isEmpty()) {
+                    continue;
+                }
+                List<Object> categoryValues = valueRange.getValues().get(0);
+                for (int i = 0; i < categoryValues.size(); i++) {
+                    Object value = categoryValues.get(i);
+                    if (value != null && groupField.equals(value.toString())) {
+                        if (start < 0) {
+                            start = i;
+                        }
+                        end = i;
+                    }
+                }
+            }
+        }
+
+        if (start < 0) {
+            return null;
+        }
+
+        List<Merge> merges = sheet.getMerges();
+        if (merges != null) {
+            int categoryRowIndex = categoryRow - 1;
+            // 分组名称通常只保存在合并区域的左上角，只有跨过分组行的合并区域属于分组；
+            // 扩展后的区间可能与新的合并区域相交，重复扩展直到区间不再变化
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                for (Merge merge : merges) {
+                    if (merge.getStartRowIndex() > categoryRowIndex || merge.getEndRowIndex() < categoryRowIndex
+                            || merge.getStartColumnIndex() > end || merge.getEndColumnIndex() < start) {
+                        continue;
+                    }
+                    if (merge.getStartColumnIndex() < start) {
+                        start = merge.getStartColumnIndex();
+                        changed = true;
+                    }
+                    if (merge.getEndColumnIndex() > end) {
+                        end = merge.getEndColumnIndex();
+                        changed = true;
+                    }
+                }
+            }
+        }
+
+        return new int[]{start, Math.min(end, colCount - 1)};
+    }
+
     /**
      * 获取飞书表格数据（支持忽略唯一字段）
      *
@@ -212,6 +326,21 @@ public class FsTableUtil {
      * @return 飞书表格数据列表
      */
     public static List<FsTableData> getFsTableData(Sheet sheet, String spreadsheetToken, TableConf tableConf, List<String> ignoreUniqueFields, Map<String, FieldProperty> fieldsMap) {
+        return getFsTableData(sheet, spreadsheetToken, tableConf, ignoreUniqueFields,
+                PropertyUtil.getUniKeyNames(fieldsMap, tableConf.uniKeys()));
+    }
+
+    /**
+     * 获取飞书表格数据（使用已解析的唯一键列名）
+     *
+     * @param sheet 工作表对象
+     * @param spreadsheetToken 电子表格Token
+     * @param tableConf 表格配置
+     * @param ignoreUniqueFields 计算唯一标识时忽略的字段列表
+     * @param uniKeyNames 唯一键对应的表头名称，通常取自{@link TableSchema#getUniKeyNames()}
+     * @return 飞书表格数据列表
+     */
+    public static List<FsTableData> getFsTableData(Sheet sheet, String spreadsheetToken, TableConf tableConf, List<String> ignoreUniqueFields, Set<String> uniKeyNames) {
 
         // 计算数据范围
         List<List<Object>> values = getSourceTableValues(sheet, spreadsheetToken);
@@ -219,8 +348,6 @@ public class FsTableUtil {
         // 获取飞书表格数据
         TableData tableData = processSheetData(sheet, values);
 
-        String[] uniKeys = tableConf.uniKeys();
-        Set<String> uniKeyNames = getUniKeyNames(fieldsMap, uniKeys);
         List<FsTableData> dataList = getFsTableData(tableData, ignoreUniqueFields);
         Map<String, String> titleMap = new HashMap<>();
         Map<String, String> fieldsPositionMap = new HashMap<>();
@@ -324,6 +451,18 @@ public class FsTableUtil {
      * 处理表格数据，将合并单元格转换为对象，并补齐合并区域的值
      */
     public static TableData processSheetData(Sheet metadata, List<List<Object>> values) {
+        return processSheetData(metadata, values, 0);
+    }
+
+    /**
+     * 处理表格数据，将合并单元格转换为对象，并补齐合并区域的值
+     *
+     * @param metadata 工作表元数据
+     * @param values 从 colOffset 列开始读取的数据
+     * @param colOffset 数据首列在工作表中的列索引（从0开始）
+     * @return 表格数据，单元格列索引为工作表中的绝对列索引
+     */
+    public static TableData processSheetData(Sheet metadata, List<List<Object>> values, int colOffset) {
         TableData tableData = new TableData();
 
         // 创建单元格网格
@@ -336,7 +475,7 @@ public class FsTableUtil {
             List<Object> row = values.get(i);
             for (int j = 0; j < colCount; j++) {
                 Object value = (j < row.size()) ? row.get(j) : null;
-                grid[i][j] = new Cell(i, j, value);
+                grid[i][j] = new Cell(i, j + colOffset, value);
             }
         }
 
@@ -345,18 +484,18 @@ public class FsTableUtil {
             for (Merge merge : metadata.getMerges()) {
                 int startRow = merge.getStartRowIndex();
                 int endRow = merge.getEndRowIndex();
-                int startCol = merge.getStartColumnIndex();
-                int endCol = merge.getEndColumnIndex();
+                int startCol = merge.getStartColumnIndex() - colOffset;
+                int endCol = merge.getEndColumnIndex() - colOffset;
 
                 // 获取合并区域左上角的值
                 Object topLeftValue = null;
-                if (startRow < rowCount && startCol < colCount) {
+                if (startRow < rowCount && startCol >= 0 && startCol < colCount) {
                     topLeftValue = grid[startRow][startCol].getValue();
                 }
 
                 // 遍历合并区域
                 for (int i = startRow; i <= endRow; i++) {
-                    for (int j = startCol; j <= endCol; j++) {
+                    for (int j = Math.max(startCol, 0); j <= endCol; j++) {
                         if (i < rowCount && j < colCount) {
                             // 标记合并区域
                             grid[i][j].setMerge(merge);
@@ -419,25 +558,24 @@ public class FsTableUtil {
     }
 
 
+    /**
+     * 根据列索引获取列名（从预先计算的列名表中获取）
+     *
+     * @param columnIndex 列索引（从0开始）
+     * @return 列名
+     */
     public static String getColumnName(int columnIndex) {
-        StringBuilder sb = new StringBuilder();
-        while (columnIndex >= 0) {
-            char c = (char) ('A' + (columnIndex % 26));
-            sb.insert(0, c);
-            columnIndex = (columnIndex / 26) - 1;
-            if (columnIndex < 0) break;
-        }
-        return sb.toString();
+        return CellRefUtil.columnName(columnIndex);
     }
 
+    /**
+     * 根据列序号获取列名（从预先计算的列名表中获取）
+     *
+     * @param columnNumber 列序号（从1开始）
+     * @return 列名
+     */
     public static String getColumnNameByNuNumber(int columnNumber) {
-        StringBuilder columnName = new StringBuilder();
-        while (columnNumber > 0) {
-            int remainder = (columnNumber - 1) % 26;
-            columnName.insert(0, (char) ('A' + remainder));
-            columnNumber = (columnNumber - 1) / 26;
-        }
-        return columnName.toString();
+        return CellRefUtil.columnNameByNumber(columnNumber);
     }
 
     public static Map<String, String> getTitlePostionMap(Sheet sheet, String spreadsheetToken, TableConf tableConf) {
@@ -474,7 +612,8 @@ public class FsTableUtil {
 
     public static void setTableOptions(String spreadsheetToken, String sheetId,  Class<?> clazz,
                                        Map<String, Object> customProperties, List<String> includeFields) {
-        Map<String, FieldProperty> fieldsMap = PropertyUtil.getTablePropertyFieldsMap(clazz);
+        TableSchema tableSchema = PropertyUtil.getTableSchema(clazz);
+        Map<String, FieldProperty> fieldsMap = tableSchema.getFieldsMap();
         Map<String, FieldProperty> currFieldsMap;
         if (includeFields != null && !includeFields.isEmpty()) {
             currFieldsMap = fieldsMap.entrySet().stream()
@@ -491,19 +630,25 @@ public class FsTableUtil {
         }
 
         List<String> headers = PropertyUtil.getHeaders(currFieldsMap, includeFields);
+        int maxLevel = currFieldsMap == fieldsMap ? tableSchema.getMaxLevel() : getMaxLevel(currFieldsMap);
 
-        TableConf tableConf = PropertyUtil.getTableConf(clazz);
-        setTableOptions(spreadsheetToken, headers, currFieldsMap, sheetId, tableConf.enableDesc(), customProperties);
+        TableConf tableConf = tableSchema.getTableConf();
+        setTableOptions(spreadsheetToken, headers, currFieldsMap, maxLevel, sheetId, tableConf.enableDesc(), customProperties);
     }
 
     public static void setTableOptions(String spreadsheetToken, List<String> headers, Map<String, FieldProperty> fieldsMap,
                                        String sheetId, boolean enableDesc, Map<String, Object> customProperties) {
+        setTableOptions(spreadsheetToken, headers, fieldsMap, getMaxLevel(fieldsMap), sheetId, enableDesc, customProperties);
+    }
+
+    public static void setTableOptions(String spreadsheetToken, List<String> headers, Map<String, FieldProperty> fieldsMap, int maxLevel,
+                                       String sheetId, boolean enableDesc, Map<String, Object> customProperties) {
         // 读取sheet数据，查询有现有行数（超出会报错）
         Sheet sheet = FsApiUtil.getSheetMetadata(sheetId, FsClient.getInstance().getClient(), spreadsheetToken);
         int rowCount = sheet.getGridProperties().getRowCount();
 
         List<Object> list = Arrays.asList(headers.toArray());
-        int line = getMaxLevel(fieldsMap) + (enableDesc ? 2 : 1);
+        int line = maxLevel + (enableDesc ? 2 : 1);
         fieldsMap.forEach((field, fieldProperty) -> {
             TableProperty tableProperty = fieldProperty.getTableProperty();
             String position = "";
@@ -517,7 +662,7 @@ public class FsTableUtil {
 
                 if (tableProperty.enumClass() != BaseEnum.class) {
                     FsApiUtil.setOptions(sheetId, FsClient.getInstance().getClient(), spreadsheetToken, tableProperty.type() == TypeEnum.MULTI_SELECT, position + line, position + 200,
-                            Arrays.stream(tableProperty.enumClass().getEnumConstants()).map(BaseEnum::getDesc).collect(Collectors.toList()));
+                            EnumLookup.of(tableProperty.enumClass()).getDescs());
                 }
 
                 if (tableProperty.optionsClass() != OptionsValueProcess.class) {
@@ -530,9 +675,9 @@ public class FsTableUtil {
                         } else {
                             customProperties.put("_field", fieldProperty);
                         }
-                        OptionsValueProcess optionsValueProcess = optionsClass.getDeclaredConstructor().newInstance();
+                        OptionsValueProcess optionsValueProcess = ConverterRegistry.getOptionsValueProcess(optionsClass);
                         result = (List<String>) optionsValueProcess.process(customProperties == null ? properties : customProperties);
-                    } catch (InstantiationException | IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
+                    } catch (ReflectiveOperationException e) {
                         throw new RuntimeException(e);
                     }
 
@@ -548,8 +693,13 @@ public class FsTableUtil {
 
     public static void setTableOptions(String spreadsheetToken, String[] headers, Map<String, FieldProperty> fieldsMap,
                                        String sheetId, boolean enableDesc, Map<String, Object> customProperties) {
+        setTableOptions(spreadsheetToken, headers, fieldsMap, getMaxLevel(fieldsMap), sheetId, enableDesc, customProperties);
+    }
+
+    public static void setTableOptions(String spreadsheetToken, String[] headers, Map<String, FieldProperty> fieldsMap, int maxLevel,
+                                       String sheetId, boolean enableDesc, Map<String, Object> customProperties) {
 
-        int line = getMaxLevel(fieldsMap) + (enableDesc ? 3 : 2);
+        int line = maxLevel + (enableDesc ? 3 : 2);
         fieldsMap.forEach((field, fieldProperty) -> {
             TableProperty tableProperty = fieldProperty.getTableProperty();
             if (tableProperty != null) {
@@ -567,7 +717,7 @@ public class FsTableUtil {
                     positions.forEach(position -> {
                         if (tableProperty.enumClass() != BaseEnum.class) {
                             FsApiUtil.setOptions(sheetId, FsClient.getInstance().getClient(), spreadsheetToken, tableProperty.type() == TypeEnum.MULTI_SELECT, position + line, position + 200,
-                                    Arrays.stream(tableProperty.enumClass().getEnumConstants()).map(BaseEnum::getDesc).collect(Collectors.toList()));
+                                    EnumLookup.of(tableProperty.enumClass()).getDescs());
                         }
 
                         if (tableProperty.optionsClass() != OptionsValueProcess.class) {
@@ -580,9 +730,9 @@ public class FsTableUtil {
                                 } else {
                                     customProperties.put("_field", fieldProperty);
                                 }
-                                OptionsValueProcess optionsValueProcess = optionsClass.getDeclaredConstructor().newInstance();
+                                OptionsValueProcess optionsValueProcess = ConverterRegistry.getOptionsValueProcess(optionsClass);
                                 result = (List<String>) optionsValueProcess.process(customProperties == null ? properties : customProperties);
-                            } catch (InstantiationException | IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
+                            } catch (ReflectiveOperationException e) {
                                 throw new RuntimeException(e);
                             }
 
@@ -683,15 +833,17 @@ public class FsTableUtil {
 
     public static CustomValueService.ValueRequest getHeadTemplateBuilder(String sheetId, List<String> headers,
                                                                          Map<String, FieldProperty> fieldsMap, TableConf tableConf, Map<String, String> fieldDescriptions) {
+        return getHeadTemplateBuilder(sheetId, headers, fieldsMap, getMaxLevel(fieldsMap), tableConf, fieldDescriptions);
+    }
+
+    public static CustomValueService.ValueRequest getHeadTemplateBuilder(String sheetId, List<String> headers, Map<String, FieldProperty> fieldsMap,
+                                                                         int maxLevel, TableConf tableConf, Map<String, String> fieldDescriptions) {
 
         String position = FsTableUtil.getColumnNameByNuNumber(headers.size());
 
         CustomValueService.ValueRequest.BatchPutValuesBuilder batchPutValuesBuilder
                 = CustomValueService.ValueRequest.batchPutValues();
 
-        // 获取父级表头
-        int maxLevel = getMaxLevel(fieldsMap);
-
         if (maxLevel == 1) {
             int titleRow = tableConf.titleRow();
             if (tableConf.enableDesc()) {
@@ -706,7 +858,7 @@ public class FsTableUtil {
         } else {
 
             // 多层级表头：构建层级结构并处理合并单元格
-            List<List<HeaderCell>> hierarchicalHeaders = buildHierarchicalHeaders(fieldsMap);
+            List<List<HeaderCell>> hierarchicalHeaders = buildHierarchicalHeaders(fieldsMap, maxLevel);
 
             // 处理每一行表头
             for (int rowIndex = 0; rowIndex < hierarchicalHeaders.size(); rowIndex++) {
@@ -738,7 +890,16 @@ public class FsTableUtil {
         return batchPutValuesBuilder.build();
     }
 
-    private static int getMaxLevel(Map<String, FieldProperty> fieldsMap) {
+    /**
+     * 计算表头最大层级数
+     *
+     * 实体类的层级数已缓存在{@link TableSchema#getMaxLevel()}中，
+     * 仅在字段映射经过过滤或没有对应实体类时才需要调用本方法，且每次构建只应计算一次。
+     *
+     * @param fieldsMap 字段属性映射
+     * @return 表头最大层级数
+     */
+    public static int getMaxLevel(Map<String, FieldProperty> fieldsMap) {
         AtomicInteger maxLevel = new AtomicInteger(1);
         fieldsMap.forEach((field, fieldProperty) -> {
             TableProperty tableProperty = fieldProperty.getTableProperty();
@@ -803,7 +964,10 @@ public class FsTableUtil {
     }
 
     public static String getDefaultTableStyle(String sheetId, int size, Map<String, FieldProperty> fieldsMap, TableConf tableConf) {
-        int maxLevel = getMaxLevel(fieldsMap);
+        return getDefaultTableStyle(sheetId, size, getMaxLevel(fieldsMap), tableConf);
+    }
+
+    public static String getDefaultTableStyle(String sheetId, int size, int maxLevel, TableConf tableConf) {
         String colorTemplate = "{\"data\": [{\"style\": {\"font\": {\"bold\": true, \"clean\": false, \"italic\": false, \"fontSize\": \"10pt/1.5\"}, \"clean\": false, \"hAlign\": 1, \"vAlign\": 1, \"backColor\": \"#000000\", \"foreColor\": \"#ffffff\", \"formatter\": \"\", \"borderType\": \"FULL_BORDER\", \"borderColor\": \"#000000\", \"textDecoration\": 0}, \"ranges\": [\"SHEET_ID!RANG\"]}]}";
         colorTemplate = colorTemplate.replace("SHEET_ID", sheetId);
         colorTemplate = colorTemplate.replace("RANG", "A1:" + FsTableUtil.getColumnNameByNuNumber(size) + maxLevel);
@@ -813,7 +977,11 @@ public class FsTableUtil {
     }
 
     public static CustomCellService.StyleCellsBatchBuilder getDefaultTableStyle(String sheetId, Map<String, FieldProperty> fieldsMap, TableConf tableConf) {
-        int maxLevel = getMaxLevel(fieldsMap);
+        return getDefaultTableStyle(sheetId, fieldsMap, getMaxLevel(fieldsMap), tableConf);
+    }
+
+    public static CustomCellService.StyleCellsBatchBuilder getDefaultTableStyle(String sheetId, Map<String, FieldProperty> fieldsMap,
+                                                                                int maxLevel, TableConf tableConf) {
         CustomCellService.StyleCellsBatchBuilder styleCellsBatchBuilder = CustomCellService.CellRequest.styleCellsBatch()
                 .addRange(sheetId, "A1", FsTableUtil.getColumnNameByNuNumber(fieldsMap.size()) + maxLevel)
                 .backColor(tableConf.headBackColor())
@@ -915,7 +1083,17 @@ public class FsTableUtil {
      * @return 多层级表头结构，外层为行，内层为列
      */
     public static List<List<HeaderCell>> buildHierarchicalHeaders(Map<String, FieldProperty> fieldsMap) {
-        int maxLevel = getMaxLevel(fieldsMap);
+        return buildHierarchicalHeaders(fieldsMap, getMaxLevel(fieldsMap));
+    }
+
+    /**
+     * 构建多层级表头结构
+     *
+     * @param fieldsMap 字段属性映射
+     * @param maxLevel 表头最大层级数
+     * @return 多层级表头结构，外层为行，内层为列
+     */
+    public static List<List<HeaderCell>> buildHierarchicalHeaders(Map<String, FieldProperty> fieldsMap, int maxLevel) {
         List<List<HeaderCell>> headerRows = new ArrayList<>();
 
         // 初始化每行的表头列表
@@ -926,7 +1104,7 @@ public class FsTableUtil {
         // 获取排序后的字段列表，按照特殊规则排序：
         // 1. 相同第一层级的字段必须相邻
         // 2. 在满足条件1的情况下，尽可能按order排序
-        List<Map.Entry<String, FieldProperty>> sortedFields = getSortedFieldsWithGrouping(fieldsMap);
+        List<Map.Entry<String, FieldProperty>> sortedFields = getSortedFieldsWithGrouping(fieldsMap, maxLevel);
 
         // 按排序后的顺序处理每个字段
         for (Map.Entry<String, FieldProperty> entry : sortedFields) {
@@ -975,11 +1153,10 @@ public class FsTableUtil {
      * 4. 三级及以上层级遵循约定大于配置，要求order连续
      *
      * @param fieldsMap 字段属性映射
+     * @param maxLevel 表头最大层级数
      * @return 排序后的字段列表
      */
-    private static List<Map.Entry<String, FieldProperty>> getSortedFieldsWithGrouping(Map<String, FieldProperty> fieldsMap) {
-        int maxLevel = getMaxLevel(fieldsMap);
-
+    private static List<Map.Entry<String, FieldProperty>> getSortedFieldsWithGrouping(Map<String, FieldProperty> fieldsMap, int maxLevel) {
         // 统一的分组排序逻辑，适用于所有层级
         // 按层级路径分组
         Map<String, List<Map.Entry<String, FieldProperty>>> groupedFields = groupFieldsByFirstLevel(fieldsMap);
@@ -1053,10 +1230,14 @@ public class FsTableUtil {
     }
 
     public static List<CustomCellService.CellRequest> getMergeCell(String sheetId, Map<String, FieldProperty> fieldsMap) {
+        return getMergeCell(sheetId, fieldsMap, getMaxLevel(fieldsMap));
+    }
+
+    public static List<CustomCellService.CellRequest> getMergeCell(String sheetId, Map<String, FieldProperty> fieldsMap, int maxLevel) {
         List<CustomCellService.CellRequest> mergeRequests = new ArrayList<>();
 
         // 构建层级表头结构
-        List<List<HeaderCell>> headerRows = buildHierarchicalHeaders(fieldsMap);
+        List<List<HeaderCell>> headerRows = buildHierarchicalHeaders(fieldsMap, maxLevel);
 
         // 遍历每一行，查找需要合并的单元格
         for (int rowIndex = 0; rowIndex < headerRows.size(); rowIndex++) {
@@ -1247,6 +1428,122 @@ public class FsTableUtil {
         }
     }
 
+    /**
+     * 分组表头布局，用于分组数据读取
+     *
+     * 将分组行和标题行编译为按列索引访问的数组：列 -> 字段名称，分组 -> 所含列，
+     * 逐行处理时不再做字符串拆分或前缀匹配。
+     */
+    private static class GroupHeaderLayout {
+        private final int firstCol;
+        private final int width;
+        private final String[] fieldNames;
+        private final String[] categories;
+        private final int[][] categoryColumns;
+        private final Map<String, String>[] fieldsPositionMaps;
+
+        @SuppressWarnings("unchecked")
+        private GroupHeaderLayout(int firstCol, int width, String[] fieldNames, List<String> categories,
+                                  List<List<Integer>> categoryColumns) {
+            this.firstCol = firstCol;
+            this.width = width;
+            this.fieldNames = fieldNames;
+            this.categories = categories.toArray(new String[0]);
+            this.categoryColumns = new int[categories.size()][];
+            this.fieldsPositionMaps = new Map[categories.size()];
+            for (int g = 0; g < this.categories.length; g++) {
+                List<Integer> columns = categoryColumns.get(g);
+                int[] columnArray = new int[columns.size()];
+                Map<String, String> fieldsPositionMap = new HashMap<>();
+                for (int i = 0; i < columnArray.length; i++) {
+                    columnArray[i] = columns.get(i);
+                    fieldsPositionMap.put(fieldNames[columnArray[i]], getColumnName(firstCol + columnArray[i]));
+                }
+                this.categoryColumns[g] = columnArray;
+                this.fieldsPositionMaps[g] = fieldsPositionMap;
+            }
+        }
+
+        /**
+         * 编译分组表头布局
+         *
+         * @param tableData 表格数据对象
+         * @param categoryRowIndex 分组行索引（从0开始）
+         * @param titleRowIndex 标题行索引（从0开始）
+         * @param groupField 只保留该分组，为null时保留全部分组
+         * @return 分组表头布局
+         */
+        static GroupHeaderLayout compile(TableData tableData, int categoryRowIndex, int titleRowIndex, String groupField) {
+            List<Cell> categoryCells = null;
+            List<Cell> titleCells = null;
+            int firstCol = Integer.MAX_VALUE;
+            int lastCol = -1;
+            for (TableRow row : tableData.getRows()) {
+                List<Cell> cells = row.getCells();
+                if (cells.isEmpty()) {
+                    continue;
+                }
+                for (Cell cell : cells) {
+                    firstCol = Math.min(firstCol, cell.getCol());
+                    lastCol = Math.max(lastCol, cell.getCol());
+                }
+                int rowIndex = cells.get(0).getRow();
+                if (rowIndex == categoryRowIndex) {
+                    categoryCells = cells;
+                } else if (rowIndex == titleRowIndex) {
+                    titleCells = cells;
+                }
+            }
+
+            if (lastCol < 0) {
+                return new GroupHeaderLayout(0, 0, new String[0], new ArrayList<>(), new ArrayList<>());
+            }
+
+            int width = lastCol - firstCol + 1;
+            String[] fieldNames = new String[width];
+            if (titleCells != null) {
+                for (Cell cell : titleCells) {
+                    Object value = cell.getValue();
+                    if (value != null && !value.toString().isEmpty()) {
+                        fieldNames[cell.getCol() - firstCol] = value.toString();
+                    }
+                }
+            }
+
+            List<String> categories = new ArrayList<>();
+            List<List<Integer>> categoryColumns = new ArrayList<>();
+            if (categoryCells != null) {
+                Map<String, Integer> categoryIndex = new HashMap<>();
+                for (Cell cell : categoryCells) {
+                    Object value = cell.getValue();
+                    if (value == null || value.toString().isEmpty()) {
+                        continue;
+                    }
+                    String category = value.toString();
+                    if (groupField != null && !groupField.equals(category)) {
+                        continue;
+                    }
+
+                    Integer index = categoryIndex.get(category);
+                    if (index == null) {
+                        index = categories.size();
+                        categoryIndex.put(category, index);
+                        categories.add(category);
+                        categoryColumns.add(new ArrayList<>());
+                    }
+
+                    // 只有标题不为空的列才属于分组字段
+                    int column = cell.getCol() - firstCol;
+                    if (fieldNames[column] != null) {
+                        categoryColumns.get(index).add(column);
+                    }
+                }
+            }
+
+            return new GroupHeaderLayout(firstCol, width, fieldNames, categories, categoryColumns);
+        }
+    }
+
     /**
      * 表头单元格类，用于支持合并单元格
      */
@@ -4,9 +4,10 @@ import cn.isliu.core.FileData;
 import cn.isliu.core.annotation.TableConf;
 import cn.isliu.core.annotation.TableProperty;
 import cn.isliu.core.enums.BaseEnum;
+import cn.isliu.core.enums.EnumLookup;
 import cn.isliu.core.enums.FileType;
+import cn.isliu.core.pojo.FieldProperty;
 
-import java.lang.reflect.Field;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.math.BigDecimal;
@@ -33,39 +34,133 @@ public class GenerateUtil {
      * @return 实体类实例
      */
     public static <T> T generateInstance(List<String> fieldPathList, Class<T> clazz, Map<String, Object> dataMap) {
+        FieldAccessors.ClassAccessors accessors = FieldAccessors.of(clazz);
         T t;
         try {
-            t = clazz.getDeclaredConstructor().newInstance();
+            t = clazz.cast(accessors.newInstance());
         } catch (Exception e) {
             throw new RuntimeException("创建实例失败: " + clazz.getSimpleName(), e);
         }
 
-        fieldPathList.forEach(fieldPath -> {
+        for (String fieldPath : fieldPathList) {
             Object value = dataMap.get(fieldPath);
 
             if (value != null) {
                 try {
-                    setNestedField(t, fieldPath, value);
+                    setNestedFieldRecursive(t, accessors.path(fieldPath), 0, value);
                 } catch (Exception e) {
                     FsLogger.error(ErrorCode.DATA_CONVERSION_ERROR, "【飞书助手】 获取字段值异常！参数：" + fieldPath + "，异常：" + e.getMessage(), "generateList", e);
                 }
             }
-        });
+        }
 
         return t;
     }
 
     /**
-     * 递归设置嵌套字段值（支持List类型处理）
+     * 将多行表格数据转换为实体对象
+     *
+     * 按列解码：每列按字段类型只选择一次解码方式，整列解码到 {@link ColumnBuffer} 后逐行写入实体字段，
+     * 不再为每行构建中间的字段值 Map。结果与逐行调用 ConvertFieldUtil.convertPositionToField +
+     * {@link #generateInstance} 一致。
+     *
+     * @param fieldPathList 字段路径列表
+     * @param clazz 实体类Class对象
+     * @param rows 行数据列表，key为表头名称，value为单元格原始值
+     * @param fieldsMap 字段属性映射关系Map，key为表头名称
+     * @param <T> 实体类泛型
+     * @return 实体类实例列表，顺序与行数据一致
+     */
+    public static <T> List<T> generateInstances(List<String> fieldPathList, Class<T> clazz,
+                                                List<Map<String, Object>> rows, Map<String, FieldProperty> fieldsMap) {
+        FieldAccessors.ClassAccessors accessors = FieldAccessors.of(clazz);
+        int size = rows.size();
+        List<T> results = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            try {
+                results.add(clazz.cast(accessors.newInstance()));
+            } catch (Exception e) {
+                throw new RuntimeException("创建实例失败: " + clazz.getSimpleName(), e);
+            }
+        }
+        if (size == 0) {
+            return results;
+        }
+
+        Set<String> fieldPaths = new HashSet<>(fieldPathList);
+        Object[] cells = new Object[size];
+        for (Map.Entry<String, FieldProperty> entry : fieldsMap.entrySet()) {
+            String fieldPath = entry.getValue().getField();
+            if (fieldPath == null || !fieldPaths.contains(fieldPath)) {
+                continue;
+            }
+            String header = entry.getKey();
+            for (int i = 0; i < size; i++) {
+                cells[i] = rows.get(i).get(header);
+            }
+            String[] parts = accessors.path(fieldPath);
+            FieldAccessors.Accessor accessor = parts.length == 1 ? accessors.field(parts[0]) : null;
+            Object[] decoded = ConvertFieldUtil.decodeColumn(entry.getValue().getTableProperty(), cells, size);
+            writeColumn(results, fieldPath, parts, accessor, ColumnBuffer.of(accessor, decoded));
+        }
+        return results;
+    }
+
+    /**
+     * 将一列已解码的值写入各行实体
+     *
+     * @param results 实体列表，与列缓冲区的行一一对应
+     * @param fieldPath 字段路径，用于异常信息
+     * @param parts 已拆分的字段路径
+     * @param accessor 单级字段的访问器，嵌套字段为 null
+     * @param buffer 列缓冲区
+     */
+    static void writeColumn(List<?> results, String fieldPath, String[] parts,
+                            FieldAccessors.Accessor accessor, ColumnBuffer buffer) {
+        FieldAccessors.Kind kind = buffer.getKind();
+        for (int i = 0; i < buffer.size(); i++) {
+            byte state = buffer.state(i);
+            if (state == ColumnBuffer.ABSENT) {
+                continue;
+            }
+
+            Object t = results.get(i);
+            try {
+                if (state == ColumnBuffer.TYPED) {
+                    switch (kind) {
+                        case INTEGER:
+                            accessor.setInt(t, buffer.getInt(i));
+                            break;
+                        case LONG:
+                            accessor.setLong(t, buffer.getLong(i));
+                            break;
+                        case DOUBLE:
+                            accessor.setDouble(t, buffer.getDouble(i));
+                            break;
+                        default:
+                            accessor.setBoolean(t, buffer.getBoolean(i));
+                            break;
+                    }
+                } else if (accessor != null) {
+                    setFieldValue(t, accessor, parts[0], buffer.getObject(i));
+                } else {
+                    setNestedFieldRecursive(t, parts, 0, buffer.getObject(i));
+                }
+            } catch (Exception e) {
+                FsLogger.error(ErrorCode.DATA_CONVERSION_ERROR, "【飞书助手】 获取字段值异常！参数：" + fieldPath + "，异常：" + e.getMessage(), "generateList", e);
+            }
+        }
+    }
+
+    /**
+     * 按已拆分的字段路径设置字段值（支持嵌套和List类型）
      *
      * @param target 目标对象
-     * @param fieldPath 字段路径
+     * @param parts 字段路径分段数组
      * @param value 字段值
      * @throws Exception 设置字段时可能抛出的异常
      */
-    private static void setNestedField(Object target, String fieldPath, Object value)
-            throws Exception {
-        String[] parts = fieldPath.split("\\.");
+    static void setNestedFieldValue(Object target, String[] parts, Object value) throws Exception {
         setNestedFieldRecursive(target, parts, 0, value);
     }
 
@@ -87,30 +182,21 @@ public class GenerateUtil {
         }
 
         String fieldName = parts[index];
-        Field field = getDeclaredField(target.getClass(), fieldName);
-        if (field == null) {
-            // 尝试使用下划线转驼峰的方式查找字段
-            field = getDeclaredField(target.getClass(), StringUtil.toCamelCase(fieldName));
-            if (field == null) {
-                throw new NoSuchFieldException("Field not found: " + fieldName);
-            }
-        }
-
-        field.setAccessible(true);
-        Object nestedObj = field.get(target);
+        FieldAccessors.Accessor accessor = FieldAccessors.of(target.getClass()).requireField(fieldName);
+        Object nestedObj = accessor.get(target);
 
         // 处理List类型
-        if (List.class.isAssignableFrom(field.getType())) {
+        if (accessor.isList()) {
             // 确保List存在
             if (nestedObj == null) {
                 nestedObj = new ArrayList<>();
-                field.set(target, nestedObj);
+                accessor.set(target, nestedObj);
             }
 
             List<Object> list = (List<Object>) nestedObj;
             // 确保List中至少有一个元素
             if (list.isEmpty()) {
-                Object newElement = createListElement(field);
+                Object newElement = createListElement(accessor);
                 list.add(newElement);
             }
 
@@ -123,11 +209,11 @@ public class GenerateUtil {
             if (nestedObj == null) {
                 // 通过反射创建嵌套对象实例
                 try {
-                    nestedObj = field.getType().getDeclaredConstructor().newInstance();
-                    field.set(target, nestedObj);
+                    nestedObj = FieldAccessors.of(accessor.getType()).newInstance();
+                    accessor.set(target, nestedObj);
                 } catch (InstantiationException e) {
                     // 如果无法创建实例，则记录日志并跳过该字段
-                    FsLogger.warn("无法创建嵌套对象实例: {} , 字段: {}", field.getType().getName(), fieldName);
+                    FsLogger.warn("无法创建嵌套对象实例: {} , 字段: {}", accessor.getType().getName(), fieldName);
                     return;
                 }
             }
@@ -140,135 +226,101 @@ public class GenerateUtil {
     /**
      * 创建List元素实例
      */
-    private static Object createListElement(Field listField) throws Exception {
-        Type genericType = listField.getGenericType();
-        if (genericType instanceof ParameterizedType) {
-            Type[] typeArgs = ((ParameterizedType) genericType).getActualTypeArguments();
-            if (typeArgs.length > 0 && typeArgs[0] instanceof Class) {
-                Class<?> elementClass = (Class<?>) typeArgs[0];
-                // 通过反射创建List元素实例
-                try {
-                    return elementClass.getDeclaredConstructor().newInstance();
-                } catch (Exception e) {
-                    // 如果无法创建实例，则记录日志并返回null
-                    FsLogger.warn("无法创建List元素实例: {}", elementClass.getName());
-                    return null;
-                }
+    private static Object createListElement(FieldAccessors.Accessor listAccessor) throws Exception {
+        Class<?> elementClass = listAccessor.getElementClass();
+        if (elementClass != null) {
+            try {
+                return FieldAccessors.of(elementClass).newInstance();
+            } catch (Exception e) {
+                // 如果无法创建实例，则记录日志并返回null
+                FsLogger.warn("无法创建List元素实例: {}", elementClass.getName());
+                return null;
             }
         }
-        throw new InstantiationException("Cannot determine list element type for field: " + listField.getName());
+        throw new InstantiationException("Cannot determine list element type for field: " + listAccessor.getName());
     }
 
     /**
      * 设置字段值（支持基本类型转换）
+     *
+     * 转换方式由字段访问器在解析字段时预先确定
      */
     private static void setFieldValue(Object target, String fieldName, Object value)
             throws Exception {
-        Field field = getDeclaredField(target.getClass(), fieldName);
-        if (field == null) {
-            // 尝试使用下划线转驼峰的方式查找字段
-            field = getDeclaredField(target.getClass(), StringUtil.toCamelCase(fieldName));
-            if (field == null) {
-                throw new NoSuchFieldException("Field not found: " + fieldName);
-            }
-        }
-
-        field.setAccessible(true);
-        Class<?> fieldType = field.getType();
+        FieldAccessors.Accessor accessor = FieldAccessors.of(target.getClass()).requireField(fieldName);
+        setFieldValue(target, accessor, fieldName, value);
+    }
 
+    /**
+     * 通过已解析的字段访问器设置字段值（支持基本类型转换）
+     *
+     * @param target 目标对象
+     * @param accessor 字段访问器
+     * @param fieldName 字段名称，用于异常信息
+     * @param value 字段值
+     * @throws Exception 设置字段时可能抛出的异常
+     */
+    static void setFieldValue(Object target, FieldAccessors.Accessor accessor, String fieldName, Object value)
+            throws Exception {
         // 简单类型转换
         if (value != null && value != "") {
-            if (fieldType == String.class) {
-                field.set(target, convertStrValue(value));
-            } else if (fieldType == Integer.class || fieldType == int.class) {
-                String val = convertValue(value);
-                BigDecimal bd = new BigDecimal(val);
-                bd = bd.setScale(0, BigDecimal.ROUND_DOWN);
-                String result = bd.toPlainString();
-                field.set(target, Integer.parseInt(result));
-            } else if (fieldType == Double.class || fieldType == double.class) {
-                field.set(target, Double.parseDouble(convertValue(value)));
-            } else if (fieldType == Boolean.class || fieldType == boolean.class) {
-                field.set(target, Boolean.parseBoolean(convertValue(value)));
-            } else if (fieldType == Long.class || fieldType == long.class) {
-                String stringValue = convertValue(value);
-                try {
-                    field.set(target, Long.parseLong(stringValue));
-                } catch (NumberFormatException e) {
-                    try {
-                        field.set(target, ((Double) Double.parseDouble(stringValue)).longValue());
-                    } catch (NumberFormatException ex) {
-                        throw new IllegalArgumentException("无法将值 '" + stringValue + "' 转换为 long 或科学计数法表示的数值", ex);
+            switch (accessor.getKind()) {
+                case STRING:
+                    accessor.set(target, convertStrValue(value));
+                    break;
+                case INTEGER:
+                    accessor.setInt(target, NumberUtil.toInt(value));
+                    break;
+                case DOUBLE:
+                    accessor.setDouble(target, NumberUtil.toDouble(value));
+                    break;
+                case BOOLEAN:
+                    accessor.setBoolean(target, NumberUtil.toBoolean(value));
+                    break;
+                case LONG:
+                    accessor.setLong(target, NumberUtil.toLong(value));
+                    break;
+                case LIST: {
+                    // 获取泛型类型
+                    Type genericType = accessor.getField().getGenericType();
+                    if (!(genericType instanceof ParameterizedType)) {
+                        throw new IllegalArgumentException("无法获取字段的泛型信息：" + fieldName);
                     }
-                }
-
-            } else if (fieldType == List.class) {
-                // 获取泛型类型
-                Type genericType = field.getGenericType();
-                if (!(genericType instanceof ParameterizedType)) {
-                    throw new IllegalArgumentException("无法获取字段的泛型信息：" + fieldName);
-                }
 
-                Type elementType = ((ParameterizedType) genericType).getActualTypeArguments()[0];
-                if (!(elementType instanceof Class)) {
-                    throw new IllegalArgumentException("不支持非Class类型的泛型：" + elementType);
-                }
-
-                Class<?> elementClass = (Class<?>) elementType;
+                    Class<?> elementClass = accessor.getElementClass();
+                    if (elementClass == null) {
+                        throw new IllegalArgumentException("不支持非Class类型的泛型：" + ((ParameterizedType) genericType).getActualTypeArguments()[0]);
+                    }
 
-                List<Object> convertedList = new ArrayList<>();
+                    List<Object> convertedList = new ArrayList<>();
 
-                if (value instanceof List) {
-                    for (Object item : (List<?>) value) {
-                        convertedList.add(convertValue(item, elementClass));
+                    if (value instanceof List) {
+                        for (Object item : (List<?>) value) {
+                            convertedList.add(convertValue(item, elementClass));
+                        }
+                    } else {
+                        // 单个值转为单元素List，并做类型转换
+                        convertedList.add(convertValue(value, elementClass));
                     }
-                } else {
-                    // 单个值转为单元素List，并做类型转换
-                    convertedList.add(convertValue(value, elementClass));
-                }
 
-                field.set(target, convertedList);
-            }  // 新增：枚举类型支持
-            else if (BaseEnum.class.isAssignableFrom(fieldType)) {
-                if (value instanceof String) {
-                    field.set(target, parseEnum((Class<? extends BaseEnum>) fieldType, (String) value));
+                    accessor.set(target, convertedList);
+                    break;
                 }
-            }
-            else {
-                // 其他类型直接设置
-                field.set(target, value);
+                case ENUM:
+                    // 枚举类型支持
+                    if (value instanceof String) {
+                        accessor.set(target, parseEnum((Class<? extends BaseEnum>) accessor.getType(), (String) value));
+                    }
+                    break;
+                default:
+                    // 其他类型直接设置
+                    accessor.set(target, value);
             }
         } else {
-            field.set(target, null);
+            accessor.set(target, null);
         }
     }
 
-    /**
-     * 获取字段（包括父类）
-     */
-    private static Field getDeclaredField(Class<?> clazz, String fieldName) {
-        // 首先尝试直接查找字段（驼峰命名）
-        for (Class<?> c = clazz; c != null; c = c.getSuperclass()) {
-            try {
-                return c.getDeclaredField(fieldName);
-            } catch (NoSuchFieldException e) {
-                // 继续在父类中查找
-            }
-        }
-
-        // 如果直接查找失败，尝试使用下划线转驼峰的方式查找字段
-        String camelCaseFieldName = StringUtil.toCamelCase(fieldName);
-        for (Class<?> c = clazz; c != null; c = c.getSuperclass()) {
-            try {
-                return c.getDeclaredField(camelCaseFieldName);
-            } catch (NoSuchFieldException e) {
-                // 继续在父类中查找
-            }
-        }
-
-        return null;
-    }
-
     private static String convertStrValue(Object value) {
         String result = "";
         if (value instanceof BigDecimal) {
@@ -277,14 +329,9 @@ public class GenerateUtil {
         } else if (value instanceof Double) {
             String stringValue = convertValue(value);
 
-            // 判断是否为科学计数法
-            if (isScientificNotation(stringValue)) {
-                try {
-                    result = String.valueOf(((Double) Double.parseDouble(stringValue)).longValue());
-                } catch (NumberFormatException ex) {
-                    FsLogger.warn("无法将科学计数法值 '" + stringValue + "' 转换为 long, 直接返回原始值");
-                    result = stringValue;
-                }
+            // 判断是否为科学计数法，是则直接取整，无需再次解析字符串
+            if (NumberUtil.isScientificNotation(stringValue)) {
+                result = String.valueOf(((Double) value).longValue());
             } else {
                 // 不是科学计数法，直接返回原始字符串值
                 result = stringValue;
@@ -306,24 +353,6 @@ public class GenerateUtil {
         return result.trim();
     }
 
-    /**
-     * 判断字符串是否为科学计数法格式
-     * 科学计数法格式：数字 + E/e + 数字，如 1.23E+4, 1.23e-2
-     *
-     * @param value 要判断的字符串
-     * @return 如果是科学计数法返回true，否则返回false
-     */
-    private static boolean isScientificNotation(String value) {
-        if (value == null || value.trim().isEmpty()) {
-            return false;
-        }
-
-        String trimmed = value.trim();
-        // 使用正则表达式匹配科学计数法格式
-        // 匹配格式：数字(可选小数点) + E/e + 可选正负号 + 数字
-        return trimmed.matches("^[+-]?\\d+(\\.\\d+)?[eE][+-]?\\d+$");
-    }
-
     private static Object convertValue(Object value, Class<?> targetType) throws Exception {
         if (value == null) return null;
 
@@ -352,10 +381,11 @@ public class GenerateUtil {
 
     public static <T extends BaseEnum> T parseEnum(Class<T> enumClass, String value) {
         String val = value.trim();
-        return Arrays.stream(enumClass.getEnumConstants())
-                .filter(e -> e.getCode().equals(val) || e.getDesc().equals(val))
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("No matching enum for value: " + val));
+        T result = EnumLookup.of(enumClass).getByCodeOrDesc(val);
+        if (result == null) {
+            throw new IllegalArgumentException("No matching enum for value: " + val);
+        }
+        return result;
     }
 
     /**
@@ -368,14 +398,16 @@ public class GenerateUtil {
     public static Map<String, Object> getFieldValue(Object target, Map<String, String> fieldMap) {
         // 遍历字段映射关系，获取字段值
         Map<String, Object> result = new HashMap<>();
+        FieldAccessors.ClassAccessors accessors = FieldAccessors.of(target.getClass());
         for (Map.Entry<String, String> entry : fieldMap.entrySet()) {
             String fieldName = entry.getKey();
             String fieldPath = entry.getValue();
 
             try {
-                Object value = getNestedFieldValue(target, fieldPath);
-                if (fieldPath.split("\\.").length == 1) {
-                    result.put(fieldName, value);
+                // 只收集单级字段的值，嵌套字段无需读取
+                String[] parts = accessors.path(fieldPath);
+                if (parts.length == 1) {
+                    result.put(fieldName, getNestedFieldValueRecursive(target, parts, 0));
                 }
             } catch (Exception e) {
                 FsLogger.warn("获取字段值异常，字段路径：{}", fieldPath);
@@ -388,7 +420,10 @@ public class GenerateUtil {
      * 递归获取嵌套字段值（支持List类型处理）
      */
     public static Object getNestedFieldValue(Object target, String fieldPath) throws Exception {
-        String[] parts = fieldPath.split("\\.");
+        if (target == null) {
+            return null;
+        }
+        String[] parts = FieldAccessors.of(target.getClass()).path(fieldPath);
         return getNestedFieldValueRecursive(target, parts, 0);
     }
 
@@ -402,18 +437,7 @@ public class GenerateUtil {
             return getFieldValue(target, parts[index]);
         }
 
-        String fieldName = parts[index];
-        Field field = getDeclaredField(target.getClass(), fieldName);
-        if (field == null) {
-            // 尝试使用下划线转驼峰的方式查找字段
-            field = getDeclaredField(target.getClass(), StringUtil.toCamelCase(fieldName));
-            if (field == null) {
-                throw new NoSuchFieldException("Field not found: " + fieldName);
-            }
-        }
-
-        field.setAccessible(true);
-        Object nestedObj = field.get(target);
+        Object nestedObj = FieldAccessors.of(target.getClass()).requireField(parts[index]).get(target);
 
         // 处理List类型
         if (nestedObj instanceof List) {
@@ -434,29 +458,32 @@ public class GenerateUtil {
      * 获取字段值
      */
     private static Object getFieldValue(Object target, String fieldName) throws Exception {
-        Field field = getDeclaredField(target.getClass(), fieldName);
-        if (field == null) {
-            // 尝试使用下划线转驼峰的方式查找字段
-            field = getDeclaredField(target.getClass(), StringUtil.toCamelCase(fieldName));
-            if (field == null) {
-                throw new NoSuchFieldException("Field not found: " + fieldName);
-            }
-        }
+        return getFieldValue(target, FieldAccessors.of(target.getClass()).requireField(fieldName));
+    }
+
+    /**
+     * 通过已解析的字段访问器获取字段值，并按注解配置做反向转换
+     *
+     * @param target 目标对象
+     * @param accessor 字段访问器
+     * @return 字段值
+     * @throws Exception 获取字段时可能抛出的异常
+     */
+    static Object getFieldValue(Object target, FieldAccessors.Accessor accessor) throws Exception {
+        TableProperty tableProperty = accessor.getTableProperty();
 
-        field.setAccessible(true);
-        Object newObject = field.get(target);
+        Object newObject = accessor.get(target);
         // 处理List类型
         if (newObject instanceof List) {
             List<?> list = (List<?>) newObject;
             if (!list.isEmpty()) {
-                Field finalField = field;
-                newObject = list.stream().map(obj -> ConvertFieldUtil.reverseValueConversion(finalField.getAnnotation(TableProperty.class), obj))
+                newObject = list.stream().map(obj -> ConvertFieldUtil.reverseValueConversion(tableProperty, obj))
                         .collect(Collectors.toList());
             } else {
                 return null;
             }
         } else {
-            newObject =  ConvertFieldUtil.reverseValueConversion(field.getAnnotation(TableProperty.class), newObject);
+            newObject =  ConvertFieldUtil.reverseValueConversion(tableProperty, newObject);
         }
         return newObject;
     }
@@ -17,32 +17,37 @@ public class JSONUtil {
     public static JsonObject convertMapToJsonObject(Map<String, Object> data) {
         JsonObject jsonObject = new JsonObject();
         for (Map.Entry<String, Object> entry : data.entrySet()) {
-            String key = entry.getKey();
-            Object value = entry.getValue();
+            jsonObject.add(entry.getKey(), toJsonElement(entry.getValue()));
+        }
+        return jsonObject;
+    }
 
-            // 根据值的类型添加到JsonObject中
-            if (value instanceof String) {
-                // 检查字符串是否已经包含引号，如果是则去除
-                String strValue = (String) value;
-                if (strValue.length() >= 2 && strValue.startsWith("\"") && strValue.endsWith("\"")) {
-                    strValue = strValue.substring(1, strValue.length() - 1);
-                }
-                jsonObject.addProperty(key, strValue);
-            } else if (value instanceof Number) {
-                jsonObject.addProperty(key, (Number) value);
-            } else if (value instanceof Boolean) {
-                jsonObject.addProperty(key, (Boolean) value);
-            } else if (value instanceof Character) {
-                jsonObject.addProperty(key, (Character) value);
-            } else if (value == null) {
-                jsonObject.add(key, null);
-            } else {
-                // 对于其他类型，使用Gson转换
-                JsonElement element = gson.toJsonTree(value);
-                jsonObject.add(key, element);
+    /**
+     * 将单个单元格值转换为JsonElement，避免Gson添加额外引号
+     * @param value 单元格值
+     * @return 转换后的JsonElement，null值返回JsonNull
+     */
+    public static JsonElement toJsonElement(Object value) {
+        // 根据值的类型转换
+        if (value instanceof String) {
+            // 检查字符串是否已经包含引号，如果是则去除
+            String strValue = (String) value;
+            if (strValue.length() >= 2 && strValue.startsWith("\"") && strValue.endsWith("\"")) {
+                strValue = strValue.substring(1, strValue.length() - 1);
             }
+            return new JsonPrimitive(strValue);
+        } else if (value instanceof Number) {
+            return new JsonPrimitive((Number) value);
+        } else if (value instanceof Boolean) {
+            return new JsonPrimitive((Boolean) value);
+        } else if (value instanceof Character) {
+            return new JsonPrimitive((Character) value);
+        } else if (value == null) {
+            return JsonNull.INSTANCE;
+        } else {
+            // 对于其他类型，使用Gson转换
+            return gson.toJsonTree(value);
         }
-        return jsonObject;
     }
 
     public static boolean isValidJson(String json) {
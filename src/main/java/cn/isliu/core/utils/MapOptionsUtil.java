@@ -2,10 +2,10 @@ package cn.isliu.core.utils;
 
 import cn.isliu.core.converters.OptionsValueProcess;
 import cn.isliu.core.enums.BaseEnum;
+import cn.isliu.core.enums.EnumLookup;
 import cn.isliu.core.pojo.FieldProperty;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Map 选项工具类
@@ -30,9 +30,7 @@ public class MapOptionsUtil {
             return new ArrayList<>();
         }
         
-        return Arrays.stream(enumClass.getEnumConstants())
-            .map(BaseEnum::getDesc)
-            .collect(Collectors.toList());
+        return new ArrayList<>(EnumLookup.of(enumClass).getDescs());
     }
     
     /**
@@ -48,10 +46,7 @@ public class MapOptionsUtil {
             return new HashMap<>();
         }
         
-        Map<String, String> optionsMap = new LinkedHashMap<>();
-        Arrays.stream(enumClass.getEnumConstants())
-            .forEach(e -> optionsMap.put(e.getCode(), e.getDesc()));
-        return optionsMap;
+        return new LinkedHashMap<>(EnumLookup.of(enumClass).getCodeToDesc());
     }
     
     /**
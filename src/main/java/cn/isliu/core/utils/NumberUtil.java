@@ -0,0 +1,303 @@
+package cn.isliu.core.utils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+/**
+ * 数值转换工具类
+ *
+ * 将单元格值转换为 int、long、double、boolean。Number 实例直接取值，
+ * 普通整数字符串直接解析，只有小数、科学计数法等情况才回退到 BigDecimal 或 Double 解析，
+ * 转换结果与按字符串解析一致。
+ */
+public final class NumberUtil {
+
+    /**
+     * long 范围内一定不会溢出的最大十进制位数
+     */
+    private static final int MAX_SAFE_LONG_DIGITS = 18;
+
+    /**
+     * 预检查时接受的指数最大位数，超出 double 范围的指数交由原有逻辑处理
+     */
+    private static final int MAX_EXPONENT_DIGITS = 3;
+
+    private static final BigDecimal INT_LOWER_EXCLUSIVE = BigDecimal.valueOf(Integer.MIN_VALUE - 1L);
+    private static final BigDecimal INT_UPPER_EXCLUSIVE = BigDecimal.valueOf(Integer.MAX_VALUE + 1L);
+
+    private NumberUtil() {
+    }
+
+    /**
+     * 转换为 int，小数部分向零截断
+     *
+     * @param value 单元格值
+     * @return int 值
+     * @throws NumberFormatException 无法转换或超出 int 范围
+     */
+    public static int toInt(Object value) {
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).intValue();
+        } else if (value instanceof Long) {
+            return checkedInt(((Long) value).longValue(), value);
+        } else if (value instanceof Double || value instanceof Float) {
+            double d = ((Number) value).doubleValue();
+            if (Double.isNaN(d) || Double.isInfinite(d)) {
+                throw new NumberFormatException("For input string: \"" + value + "\"");
+            }
+            return checkedInt((long) d, value);
+        } else if (value instanceof BigDecimal) {
+            BigInteger integer = ((BigDecimal) value).setScale(0, RoundingMode.DOWN).unscaledValue();
+            if (integer.bitLength() > 31) {
+                throw new NumberFormatException("For input string: \"" + integer + "\"");
+            }
+            return integer.intValue();
+        }
+
+        String str = stringValue(value);
+        if (isPlainInteger(str)) {
+            return checkedInt(Long.parseLong(str), str);
+        }
+        BigDecimal bd = new BigDecimal(str).setScale(0, RoundingMode.DOWN);
+        return Integer.parseInt(bd.toPlainString());
+    }
+
+    /**
+     * 转换为 long，小数和科学计数法按 double 解析后向零截断
+     *
+     * @param value 单元格值
+     * @return long 值
+     * @throws IllegalArgumentException 无法转换
+     */
+    public static long toLong(Object value) {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        } else if (value instanceof Double || value instanceof Float) {
+            return (long) ((Number) value).doubleValue();
+        } else if (value instanceof BigDecimal) {
+            BigDecimal bd = ((BigDecimal) value).stripTrailingZeros();
+            if (bd.scale() <= 0) {
+                BigInteger integer = bd.toBigInteger();
+                if (integer.bitLength() <= 63) {
+                    return integer.longValue();
+                }
+            }
+            return (long) bd.doubleValue();
+        }
+
+        String str = stringValue(value);
+        if (isPlainInteger(str)) {
+            return Long.parseLong(str);
+        }
+        if (isInteger(str)) {
+            // 位数较多的整数，超出 long 范围时按 double 处理
+            try {
+                return Long.parseLong(str);
+            } catch (NumberFormatException e) {
+                // 继续按 double 解析
+            }
+        }
+        try {
+            return (long) Double.parseDouble(str);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("无法将值 '" + str + "' 转换为 long 或科学计数法表示的数值", ex);
+        }
+    }
+
+    /**
+     * 转换为 double
+     *
+     * @param value 单元格值
+     * @return double 值
+     * @throws NumberFormatException 无法转换
+     */
+    public static double toDouble(Object value) {
+        if (value instanceof Double) {
+            return (Double) value;
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        } else if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).doubleValue();
+        }
+        return Double.parseDouble(stringValue(value));
+    }
+
+    /**
+     * 转换为 boolean，只有忽略大小写的 "true" 为 true
+     *
+     * @param value 单元格值
+     * @return boolean 值
+     */
+    public static boolean toBoolean(Object value) {
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        return Boolean.parseBoolean(stringValue(value));
+    }
+
+    /**
+     * 判断值能否由 {@link #toInt} 转换而不抛出异常，用于批量转换前的预检查
+     *
+     * @param value 单元格值
+     * @return 可以转换时返回 true
+     */
+    public static boolean isIntConvertible(Object value) {
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return true;
+        } else if (value instanceof Long) {
+            long l = (Long) value;
+            return l >= Integer.MIN_VALUE && l <= Integer.MAX_VALUE;
+        } else if (value instanceof Double || value instanceof Float) {
+            double d = ((Number) value).doubleValue();
+            if (Double.isNaN(d) || Double.isInfinite(d)) {
+                return false;
+            }
+            long l = (long) d;
+            return l >= Integer.MIN_VALUE && l <= Integer.MAX_VALUE;
+        }
+
+        BigDecimal bd;
+        if (value instanceof BigDecimal) {
+            bd = (BigDecimal) value;
+        } else {
+            String str = stringValue(value);
+            if (isPlainInteger(str)) {
+                long l = Long.parseLong(str);
+                return l >= Integer.MIN_VALUE && l <= Integer.MAX_VALUE;
+            }
+            if (!isDecimal(str)) {
+                return false;
+            }
+            bd = new BigDecimal(str);
+        }
+        return bd.compareTo(INT_LOWER_EXCLUSIVE) > 0 && bd.compareTo(INT_UPPER_EXCLUSIVE) < 0;
+    }
+
+    /**
+     * 判断值能否由 {@link #toLong} 和 {@link #toDouble} 转换而不抛出异常，用于批量转换前的预检查
+     *
+     * @param value 单元格值
+     * @return Number 实例或十进制数字字符串返回 true
+     */
+    public static boolean isNumeric(Object value) {
+        return value instanceof Number || isDecimal(stringValue(value));
+    }
+
+    /**
+     * 判断字符串是否为十进制数字：可选正负号 + 整数部分和/或小数部分 + 可选指数
+     */
+    private static boolean isDecimal(String str) {
+        int len = str.length();
+        int i = signLength(str);
+        int integerStart = i;
+        i = skipDigits(str, i);
+        int digits = i - integerStart;
+        if (i < len && str.charAt(i) == '.') {
+            int fractionStart = ++i;
+            i = skipDigits(str, i);
+            digits += i - fractionStart;
+        }
+        if (digits == 0) {
+            return false;
+        }
+        if (i < len && (str.charAt(i) == 'e' || str.charAt(i) == 'E')) {
+            i++;
+            if (i < len && (str.charAt(i) == '+' || str.charAt(i) == '-')) {
+                i++;
+            }
+            int exponentStart = i;
+            i = skipDigits(str, i);
+            if (i == exponentStart || i - exponentStart > MAX_EXPONENT_DIGITS) {
+                return false;
+            }
+        }
+        return i == len;
+    }
+
+    /**
+     * 判断字符串是否为科学计数法格式
+     * 科学计数法格式：数字(可选小数部分) + E/e + 可选正负号 + 数字，如 1.23E+4, 1.23e-2
+     *
+     * @param value 要判断的字符串
+     * @return 如果是科学计数法返回true，否则返回false
+     */
+    public static boolean isScientificNotation(String value) {
+        if (value == null) {
+            return false;
+        }
+        String str = value.trim();
+        int len = str.length();
+        int i = 0;
+        if (i < len && (str.charAt(i) == '+' || str.charAt(i) == '-')) {
+            i++;
+        }
+        int start = i;
+        i = skipDigits(str, i);
+        if (i == start) {
+            return false;
+        }
+        if (i < len && str.charAt(i) == '.') {
+            int fractionStart = ++i;
+            i = skipDigits(str, i);
+            if (i == fractionStart) {
+                return false;
+            }
+        }
+        if (i >= len || (str.charAt(i) != 'e' && str.charAt(i) != 'E')) {
+            return false;
+        }
+        i++;
+        if (i < len && (str.charAt(i) == '+' || str.charAt(i) == '-')) {
+            i++;
+        }
+        int exponentStart = i;
+        i = skipDigits(str, i);
+        return i > exponentStart && i == len;
+    }
+
+    /**
+     * 判断字符串是否为不会溢出 long 的普通整数（可选正负号 + 最多18位数字）
+     */
+    private static boolean isPlainInteger(String str) {
+        return isInteger(str) && digitCount(str) <= MAX_SAFE_LONG_DIGITS;
+    }
+
+    /**
+     * 判断字符串是否为整数（可选正负号 + 数字）
+     */
+    private static boolean isInteger(String str) {
+        int start = signLength(str);
+        return str.length() > start && skipDigits(str, start) == str.length();
+    }
+
+    private static int digitCount(String str) {
+        return str.length() - signLength(str);
+    }
+
+    private static int signLength(String str) {
+        return (!str.isEmpty() && (str.charAt(0) == '+' || str.charAt(0) == '-')) ? 1 : 0;
+    }
+
+    private static int skipDigits(String str, int index) {
+        int i = index;
+        while (i < str.length() && str.charAt(i) >= '0' && str.charAt(i) <= '9') {
+            i++;
+        }
+        return i;
+    }
+
+    private static int checkedInt(long value, Object source) {
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new NumberFormatException("For input string: \"" + source + "\"");
+        }
+        return (int) value;
+    }
+
+    private static String stringValue(Object value) {
+        if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).stripTrailingZeros().toPlainString();
+        }
+        return String.valueOf(value).trim();
+    }
+}
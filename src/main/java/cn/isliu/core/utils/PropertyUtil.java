@@ -7,6 +7,7 @@ import cn.isliu.core.converters.OptionsValueProcess;
 import cn.isliu.core.enums.BaseEnum;
 import cn.isliu.core.enums.TypeEnum;
 import cn.isliu.core.pojo.FieldProperty;
+import cn.isliu.core.pojo.TableSchema;
 import org.jetbrains.annotations.NotNull;
 
 import java.lang.annotation.Annotation;
@@ -24,6 +25,81 @@ import java.util.stream.Collectors;
  */
 public class PropertyUtil {
 
+    /**
+     * 未声明@TableConf注解时使用的默认表格配置
+     */
+    private static final TableConf DEFAULT_TABLE_CONF = createDefaultTableConf();
+
+    /**
+     * 按类缓存的表格结构信息，实体类只在首次使用时解析
+     */
+    private static final ClassValue<TableSchema> TABLE_SCHEMAS = new ClassValue<TableSchema>() {
+        @Override
+        protected TableSchema computeValue(Class<?> type) {
+            return buildTableSchema(type);
+        }
+    };
+
+    /**
+     * 获取实体类的表格结构信息
+     *
+     * 结果按类缓存，返回的字段映射、表头等集合均不可修改。
+     *
+     * @param clazz 实体类
+     * @return 表格结构信息
+     */
+    public static TableSchema getTableSchema(Class<?> clazz) {
+        return TABLE_SCHEMAS.get(clazz);
+    }
+
+    private static TableSchema buildTableSchema(Class<?> clazz) {
+        TableConf tableConf = clazz.isAnnotationPresent(TableConf.class) ? clazz.getAnnotation(TableConf.class) : DEFAULT_TABLE_CONF;
+        Map<String, FieldProperty> fieldsMap = Collections.unmodifiableMap(computeTablePropertyFieldsMap(clazz));
+
+        List<String> fieldPaths = new ArrayList<>(fieldsMap.size());
+        int maxLevel = 1;
+        for (FieldProperty fieldProperty : fieldsMap.values()) {
+            fieldPaths.add(fieldProperty.getField());
+            TableProperty tableProperty = fieldProperty.getTableProperty();
+            if (tableProperty != null && tableProperty.value().length > maxLevel) {
+                maxLevel = tableProperty.value().length;
+            }
+        }
+
+        return new TableSchema(clazz, tableConf, fieldsMap,
+                Collections.unmodifiableList(getSortedHeaders(fieldsMap)),
+                Collections.unmodifiableList(fieldPaths),
+                maxLevel,
+                Collections.unmodifiableSet(getUniKeyNames(fieldsMap, tableConf.uniKeys())));
+    }
+
+    /**
+     * 获取唯一键对应的表头名称
+     *
+     * 字段名或字段名的下划线形式出现在uniKeys中时，该字段对应的表头即为唯一键列。
+     *
+     * @param fieldsMap 字段属性映射
+     * @param uniKeys 唯一键配置
+     * @return 唯一键对应的表头名称集合
+     */
+    @NotNull
+    public static Set<String> getUniKeyNames(Map<String, FieldProperty> fieldsMap, String[] uniKeys) {
+        Set<String> uniKeyNames = new HashSet<>();
+        if (uniKeys == null || uniKeys.length == 0) {
+            return uniKeyNames;
+        }
+        List<String> uniKeyList = Arrays.asList(uniKeys);
+        fieldsMap.forEach((k, v) -> {
+            String field = v.getField();
+            if (field != null && !field.isEmpty()) {
+                if (uniKeyList.contains(field) || uniKeyList.contains(StringUtil.toUnderscoreCase(field))) {
+                    uniKeyNames.add(k);
+                }
+            }
+        });
+        return uniKeyNames;
+    }
+
     /**
      * 获取类及其嵌套类上@TableProperty注解的字段映射关系
      *
@@ -34,10 +110,16 @@ public class PropertyUtil {
      * 对于嵌套属性，使用'.'连接符来表示层级关系。
      * 该方法会过滤掉有子级的字段，只返回最底层的字段映射。
      *
+     * 结果按类缓存，返回的Map不可修改。
+     *
      * @param clazz 要处理的类
      * @return 包含所有@TableProperty注解字段映射关系的Map，嵌套属性使用'.'连接
      */
     public static Map<String, FieldProperty> getTablePropertyFieldsMap(Class<?> clazz) {
+        return getTableSchema(clazz).getFieldsMap();
+    }
+
+    private static Map<String, FieldProperty> computeTablePropertyFieldsMap(Class<?> clazz) {
         Map<String, FieldProperty> allFields = new TreeMap<>();
         Map<String, String> fieldsWithChildren = new TreeMap<>();
         getTablePropertyFieldsMapRecursive(clazz, allFields, "", "", new HashMap<>(), fieldsWithChildren, false);
@@ -434,64 +516,71 @@ public class PropertyUtil {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * 获取实体类的表格配置
+     *
+     * 实体类未声明@TableConf注解时返回默认配置，结果按类缓存。
+     *
+     * @param clazz 实体类
+     * @param <T> 实体类泛型
+     * @return 表格配置
+     */
     public static <T> TableConf getTableConf(Class<T> clazz) {
-        TableConf tableConf;
-        if (clazz.isAnnotationPresent(TableConf.class)) {
-            tableConf = clazz.getAnnotation(TableConf.class);
-        } else {
-            tableConf = new TableConf() {
+        return getTableSchema(clazz).getTableConf();
+    }
 
-                @Override
-                public Class<? extends Annotation> annotationType() {
-                    return TableConf.class;
-                }
+    private static TableConf createDefaultTableConf() {
+        return new TableConf() {
 
-                @Override
-                public String[] uniKeys() {
-                    return new String[0];
-                }
+            @Override
+            public Class<? extends Annotation> annotationType() {
+                return TableConf.class;
+            }
 
-                @Override
-                public int headLine() {
-                    return 1;
-                }
+            @Override
+            public String[] uniKeys() {
+                return new String[0];
+            }
 
-                @Override
-                public int titleRow() {
-                    return 1;
-                }
+            @Override
+            public int headLine() {
+                return 1;
+            }
 
-                @Override
-                public boolean enableCover() {
-                    return false;
-                }
+            @Override
+            public int titleRow() {
+                return 1;
+            }
 
-                @Override
-                public boolean isText() {
-                    return false;
-                }
-                @Override
-                public boolean enableDesc() {
-                    return false;
-                }
+            @Override
+            public boolean enableCover() {
+                return false;
+            }
 
-                @Override
-                public String headFontColor() {
-                    return "#000000";
-                }
+            @Override
+            public boolean isText() {
+                return false;
+            }
+            @Override
+            public boolean enableDesc() {
+                return false;
+            }
 
-                @Override
-                public String headBackColor() {
-                    return "#cccccc";
-                }
+            @Override
+            public String headFontColor() {
+                return "#000000";
+            }
 
+            @Override
+            public String headBackColor() {
+                return "#cccccc";
+            }
 
-                @Override
-                public boolean upsert() {
-                    return true;
-                }
-            };
-        }
-        return tableConf;
+
+            @Override
+            public boolean upsert() {
+                return true;
+            }
+        };
     }
-}
\ No newline at end of file
+}